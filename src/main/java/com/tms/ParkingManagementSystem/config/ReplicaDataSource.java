@@ -0,0 +1,127 @@
+package com.tms.ParkingManagementSystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource {
+
+    static final String LAG_QUERY = """
+            select case
+                       when not pg_is_in_recovery() then 0
+                       when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                       else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   end
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public ReplicaDataSource(DataSource primary, List<DataSource> replicas, long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            Replica replica = replicas.get(index);
+            if (!replica.healthy) {
+                continue;
+            }
+
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException ex) {
+                replica.healthy = false;
+                log.warn("Replica connection failed, replica = {}, falling back", index, ex);
+            }
+        }
+
+        fallbacks.incrementAndGet();
+        Connection connection = primary.getConnection();
+        connection.setReadOnly(true);
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    public void checkLag() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                recordLag(i, resultSet.getLong(1));
+            } catch (SQLException ex) {
+                if (replica.healthy) {
+                    log.warn("Replica lag check failed, replica = {}", i, ex);
+                }
+                replica.lagMillis = -1;
+                replica.healthy = false;
+            }
+        }
+    }
+
+    void recordLag(int index, long lagMillis) {
+        Replica replica = replicas.get(index);
+        boolean healthy = lagMillis <= maxLagMillis;
+
+        if (healthy != replica.healthy) {
+            log.info("Replica {} is {}, lag = {} ms", index, healthy ? "in rotation" : "out of rotation", lagMillis);
+        }
+
+        replica.lagMillis = lagMillis;
+        replica.healthy = healthy;
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    public long getLagMillis(int index) {
+        return replicas.get(index).lagMillis;
+    }
+
+    public boolean isHealthy(int index) {
+        return replicas.get(index).healthy;
+    }
+
+    public long getFallbackCount() {
+        return fallbacks.get();
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMillis = -1;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.tms.ParkingManagementSystem.controller;
+
+import com.tms.ParkingManagementSystem.enums.AggregateType;
+import com.tms.ParkingManagementSystem.model.dto.DomainEventDto;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
+import com.tms.ParkingManagementSystem.service.DomainEventStream;
+import com.tms.ParkingManagementSystem.service.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@RestController
+@RequestMapping("/events")
+public class DomainEventController {
+
+    private final OutboxService outboxService;
+    private final DomainEventStream domainEventStream;
+
+    public DomainEventController(OutboxService outboxService, DomainEventStream domainEventStream) {
+        this.outboxService = outboxService;
+        this.domainEventStream = domainEventStream;
+    }
+
+    @GetMapping
+    public ResponseEntity<KeysetPageDto<DomainEventDto>> getEvents(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) AggregateType aggregateType
+    ) {
+        log.info("Request: get domain events, afterId = {}, limit = {}, aggregateType = {}", afterId, limit, aggregateType);
+        KeysetPageDto<DomainEventDto> events = outboxService.getPublishedEvents(afterId, limit, aggregateType);
+        if (events.getItems().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) AggregateType aggregateType
+    ) {
+        // event ids on the stream are publish sequences, so Last-Event-ID resumes in publish order
+        Long resumeAfter = lastEventId != null ? lastEventId : afterId;
+        log.info("Request: stream domain events, afterId = {}, aggregateType = {}", resumeAfter, aggregateType);
+        return domainEventStream.subscribe(resumeAfter, aggregateType);
+    }
+}
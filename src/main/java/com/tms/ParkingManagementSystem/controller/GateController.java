@@ -0,0 +1,55 @@
+package com.tms.ParkingManagementSystem.controller;
+
+import com.tms.ParkingManagementSystem.model.dto.GateEventBatchDto;
+import com.tms.ParkingManagementSystem.model.dto.GateEventBatchResponseDto;
+import com.tms.ParkingManagementSystem.service.GateEventQueue;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/gate")
+public class GateController {
+
+    private final GateEventQueue gateEventQueue;
+
+    public GateController(GateEventQueue gateEventQueue) {
+        this.gateEventQueue = gateEventQueue;
+    }
+
+    @PostMapping("/events")
+    public ResponseEntity<GateEventBatchResponseDto> ingestEvents(@Valid @RequestBody GateEventBatchDto batch) {
+        log.debug("Request: ingest gate events, count = {}", batch.getEvents().size());
+
+        int accepted = gateEventQueue.offerAll(batch.getEvents());
+        int rejected = batch.getEvents().size() - accepted;
+
+        GateEventBatchResponseDto response = new GateEventBatchResponseDto(
+                accepted, rejected, gateEventQueue.depth(), gateEventQueue.remainingCapacity()
+        );
+
+        if (accepted == 0) {
+            log.warn("Gate event queue full, batch rejected, count = {}", rejected);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(response);
+        }
+
+        // events are queued in order, so the rejected ones are the last `rejected` events of the batch
+        if (rejected > 0) {
+            log.warn("Gate event queue full, accepted = {}, rejected = {}", accepted, rejected);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(response);
+        }
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+}
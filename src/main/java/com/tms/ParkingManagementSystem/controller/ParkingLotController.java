@@ -1,13 +1,19 @@
 package com.tms.ParkingManagementSystem.controller;
 
+import com.tms.ParkingManagementSystem.enums.ParkingStatus;
 import com.tms.ParkingManagementSystem.enums.SpotType;
 import com.tms.ParkingManagementSystem.model.ParkingLot;
 import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.dto.FleetDashboardDto;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
 import com.tms.ParkingManagementSystem.model.dto.ParkingLotCreateUpdateDto;
 import com.tms.ParkingManagementSystem.model.dto.ParkingLotCreateWithSpotsDto;
 import com.tms.ParkingManagementSystem.model.dto.ParkingLotDashboardDto;
 import com.tms.ParkingManagementSystem.model.dto.ParkingLotUpdateStatusDto;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionAllocateDto;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionResponseDto;
 import com.tms.ParkingManagementSystem.service.ParkingLotService;
+import com.tms.ParkingManagementSystem.service.ParkingSessionService;
 import com.tms.ParkingManagementSystem.service.SpotService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -34,21 +40,30 @@ import java.util.List;
 public class ParkingLotController {
     private final ParkingLotService parkingLotService;
     private final SpotService spotService;
+    private final ParkingSessionService parkingSessionService;
 
-    public ParkingLotController(ParkingLotService parkingLotService, SpotService spotService) {
+    public ParkingLotController(ParkingLotService parkingLotService,
+                                SpotService spotService,
+                                ParkingSessionService parkingSessionService) {
         this.parkingLotService = parkingLotService;
         this.spotService = spotService;
+        this.parkingSessionService = parkingSessionService;
     }
 
     @GetMapping
-    public ResponseEntity<List<ParkingLot>> getAllParkingLots() {
-        log.info("Request: get all parking lots");
-        List<ParkingLot> parkingLots = parkingLotService.getAllParkingLots();
-        if (parkingLots.isEmpty()) {
+    public ResponseEntity<KeysetPageDto<ParkingLot>> getAllParkingLots(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) ParkingStatus status,
+            @RequestParam(required = false) Long tariffId
+    ) {
+        log.info("Request: get parking lots, afterId = {}, limit = {}", afterId, limit);
+        KeysetPageDto<ParkingLot> parkingLots = parkingLotService.getAllParkingLots(afterId, limit, status, tariffId);
+        if (parkingLots.getItems().isEmpty()) {
             log.warn("No parking lots found");
             return ResponseEntity.noContent().build();
         }
-        log.info("Found {} parking lots", parkingLots.size());
+        log.info("Found {} parking lots", parkingLots.getItems().size());
         return ResponseEntity.ok(parkingLots);
     }
 
@@ -135,6 +150,24 @@ public class ParkingLotController {
         return ResponseEntity.ok(spots);
     }
 
+    @PostMapping("/{id}/allocate")
+    public ResponseEntity<ParkingSessionResponseDto> allocateSession(
+            @PathVariable Long id,
+            @Valid @RequestBody ParkingSessionAllocateDto dto) {
+        log.info("Request: allocate spot and create parking session, parkingLotId = {}", id);
+        log.debug("Allocate session payload: {}", dto);
+        ParkingSessionResponseDto created = parkingSessionService.allocateSessionDto(id, dto);
+        log.info("Parking session allocated id = {}, spotId = {}", created.getId(), created.getSpot().getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @GetMapping("/fleet/dashboard")
+    public ResponseEntity<FleetDashboardDto> getFleetDashboard() {
+        log.info("Request: get fleet dashboard");
+        FleetDashboardDto dashboard = parkingLotService.getFleetDashboard();
+        return ResponseEntity.ok(dashboard);
+    }
+
     @GetMapping("/{id}/dashboard")
     public ResponseEntity<ParkingLotDashboardDto> getDashboard(@PathVariable Long id) {
         log.info("Request: get parking lot dashboard, parkingLotId = {}", id);
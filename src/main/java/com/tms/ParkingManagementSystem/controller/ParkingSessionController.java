@@ -1,10 +1,15 @@
 package com.tms.ParkingManagementSystem.controller;
 
+import com.tms.ParkingManagementSystem.enums.SessionStatus;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
 import com.tms.ParkingManagementSystem.model.dto.ParkingSessionCreateDto;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionQuoteDto;
 import com.tms.ParkingManagementSystem.model.dto.ParkingSessionResponseDto;
+import com.tms.ParkingManagementSystem.service.IdempotencyService;
 import com.tms.ParkingManagementSystem.service.ParkingSessionService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,9 +17,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -23,20 +31,33 @@ import java.util.List;
 public class ParkingSessionController {
 
     private final ParkingSessionService parkingSessionService;
+    private final IdempotencyService idempotencyService;
 
-    public ParkingSessionController(ParkingSessionService parkingSessionService) {
+    public ParkingSessionController(ParkingSessionService parkingSessionService,
+                                    IdempotencyService idempotencyService) {
         this.parkingSessionService = parkingSessionService;
+        this.idempotencyService = idempotencyService;
     }
 
     @GetMapping
-    public ResponseEntity<List<ParkingSessionResponseDto>> getAllSessions() {
-        log.info("Request: get all parking sessions");
-        List<ParkingSessionResponseDto> sessions = parkingSessionService.getAllSessionsDto();
-        if (sessions.isEmpty()) {
+    public ResponseEntity<KeysetPageDto<ParkingSessionResponseDto>> getAllSessions(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Long parkingLotId,
+            @RequestParam(required = false) SessionStatus status,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        log.info("Request: get parking sessions, afterId = {}, limit = {}", afterId, limit);
+        KeysetPageDto<ParkingSessionResponseDto> sessions =
+                parkingSessionService.getAllSessionsDto(afterId, limit, parkingLotId, status, from, to);
+        if (sessions.getItems().isEmpty()) {
             log.warn("No parking sessions found");
             return ResponseEntity.noContent().build();
         }
-        log.info("Found {} parking sessions", sessions.size());
+        log.info("Found {} parking sessions", sessions.getItems().size());
         return ResponseEntity.ok(sessions);
     }
 
@@ -49,12 +70,24 @@ public class ParkingSessionController {
     }
 
     @PostMapping
-    public ResponseEntity<ParkingSessionResponseDto> createSession(@Valid @RequestBody ParkingSessionCreateDto dto) {
+    public ResponseEntity<ParkingSessionResponseDto> createSession(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody ParkingSessionCreateDto dto) {
         log.info("Request: create parking session");
         log.debug("Create session payload: {}", dto);
-        ParkingSessionResponseDto created = parkingSessionService.createSessionDto(dto);
-        log.info("Parking session created id = {}", created.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        IdempotencyService.IdempotentResult<ParkingSessionResponseDto> result = idempotencyService.execute(
+                idempotencyKey,
+                "parkingSession.create",
+                "vehicle=" + dto.getVehicleId() + ";spot=" + dto.getSpotId() + ";reservation=" + dto.getReservationId(),
+                HttpStatus.CREATED.value(),
+                () -> parkingSessionService.createSessionDto(dto),
+                ParkingSessionResponseDto::getId,
+                ParkingSessionResponseDto.class
+        );
+        log.info("Parking session created id = {}, replayed = {}", result.body().getId(), result.replayed());
+        return ResponseEntity.status(result.status())
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.body());
     }
 
     @PostMapping("/from-reservation/{reservationId}")
@@ -78,9 +111,15 @@ public class ParkingSessionController {
     }
 
     @GetMapping("/spot/{spotId}")
-    public ResponseEntity<List<ParkingSessionResponseDto>> getSessionsBySpotId(@PathVariable Long spotId) {
+    public ResponseEntity<List<ParkingSessionResponseDto>> getSessionsBySpotId(
+            @PathVariable Long spotId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
         log.info("Request: get parking sessions by spotId = {}", spotId);
-        List<ParkingSessionResponseDto> sessions = parkingSessionService.getSessionsBySpotIdDto(spotId);
+        List<ParkingSessionResponseDto> sessions = parkingSessionService.getSessionsBySpotIdDto(spotId, from, to);
         if (sessions.isEmpty()) {
             log.warn("No parking sessions found for spotId = {}", spotId);
             return ResponseEntity.noContent().build();
@@ -90,9 +129,15 @@ public class ParkingSessionController {
     }
 
     @GetMapping("/vehicle/{vehicleId}")
-    public ResponseEntity<List<ParkingSessionResponseDto>> getSessionsByVehicleId(@PathVariable Long vehicleId) {
+    public ResponseEntity<List<ParkingSessionResponseDto>> getSessionsByVehicleId(
+            @PathVariable Long vehicleId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
         log.info("Request: get parking sessions by vehicleId = {}", vehicleId);
-        List<ParkingSessionResponseDto> sessions = parkingSessionService.getSessionsByVehicleIdDto(vehicleId);
+        List<ParkingSessionResponseDto> sessions = parkingSessionService.getSessionsByVehicleIdDto(vehicleId, from, to);
         if (sessions.isEmpty()) {
             log.warn("No parking sessions found for vehicleId = {}", vehicleId);
             return ResponseEntity.noContent().build();
@@ -102,10 +147,42 @@ public class ParkingSessionController {
     }
 
     @PostMapping("/{id}/finish")
-    public ResponseEntity<ParkingSessionResponseDto> finishSession(@PathVariable Long id) {
+    public ResponseEntity<ParkingSessionResponseDto> finishSession(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @PathVariable Long id) {
         log.info("Request: finish parking session id = {}", id);
-        ParkingSessionResponseDto finished = parkingSessionService.finishSessionDto(id);
-        log.info("Parking session finished id = {}", id);
-        return ResponseEntity.ok(finished);
+        IdempotencyService.IdempotentResult<ParkingSessionResponseDto> result = idempotencyService.execute(
+                idempotencyKey,
+                "parkingSession.finish",
+                "session=" + id,
+                HttpStatus.OK.value(),
+                () -> parkingSessionService.finishSessionDto(id),
+                ParkingSessionResponseDto::getId,
+                ParkingSessionResponseDto.class
+        );
+        log.info("Parking session finished id = {}, replayed = {}", id, result.replayed());
+        return ResponseEntity.status(result.status())
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.body());
+    }
+
+    @GetMapping("/{id}/quote")
+    public ResponseEntity<ParkingSessionQuoteDto> quoteSession(@PathVariable Long id) {
+        log.info("Request: quote parking session id = {}", id);
+        ParkingSessionQuoteDto quote = parkingSessionService.quoteSession(id);
+        log.info("Parking session quoted id = {}, cost = {}", id, quote.getCost());
+        return ResponseEntity.ok(quote);
+    }
+
+    @GetMapping("/parkingLot/{parkingLotId}/quotes")
+    public ResponseEntity<List<ParkingSessionQuoteDto>> quoteActiveSessions(@PathVariable Long parkingLotId) {
+        log.info("Request: quote active parking sessions by parkingLotId = {}", parkingLotId);
+        List<ParkingSessionQuoteDto> quotes = parkingSessionService.quoteActiveSessions(parkingLotId);
+        if (quotes.isEmpty()) {
+            log.warn("No active parking sessions found for parkingLotId = {}", parkingLotId);
+            return ResponseEntity.noContent().build();
+        }
+        log.info("Quoted {} active parking sessions for parkingLotId = {}", quotes.size(), parkingLotId);
+        return ResponseEntity.ok(quotes);
     }
 }
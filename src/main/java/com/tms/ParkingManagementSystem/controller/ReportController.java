@@ -0,0 +1,57 @@
+package com.tms.ParkingManagementSystem.controller;
+
+import com.tms.ParkingManagementSystem.model.dto.LotHourlyReportDto;
+import com.tms.ParkingManagementSystem.model.dto.LotReportSummaryDto;
+import com.tms.ParkingManagementSystem.service.LotRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/report")
+public class ReportController {
+
+    private final LotRollupService lotRollupService;
+
+    public ReportController(LotRollupService lotRollupService) {
+        this.lotRollupService = lotRollupService;
+    }
+
+    @GetMapping("/parkingLot/{parkingLotId}/hourly")
+    public ResponseEntity<List<LotHourlyReportDto>> getHourlyReport(
+            @PathVariable Long parkingLotId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        log.info("Request: get hourly report, parkingLotId = {}, from = {}, to = {}", parkingLotId, from, to);
+
+        List<LotHourlyReportDto> report = lotRollupService.getHourlyReport(parkingLotId, from, to);
+        if (report.isEmpty()) {
+            log.warn("No report data found, parkingLotId = {}", parkingLotId);
+            return ResponseEntity.noContent().build();
+        }
+
+        log.info("Found {} hourly buckets, parkingLotId = {}", report.size(), parkingLotId);
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/parkingLot/{parkingLotId}/summary")
+    public ResponseEntity<LotReportSummaryDto> getSummaryReport(
+            @PathVariable Long parkingLotId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        log.info("Request: get summary report, parkingLotId = {}, from = {}, to = {}", parkingLotId, from, to);
+        LotReportSummaryDto summary = lotRollupService.getSummaryReport(parkingLotId, from, to);
+        return ResponseEntity.ok(summary);
+    }
+}
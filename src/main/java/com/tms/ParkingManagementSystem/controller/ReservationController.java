@@ -1,12 +1,15 @@
 package com.tms.ParkingManagementSystem.controller;
 
-import com.tms.ParkingManagementSystem.model.Reservation;
+import com.tms.ParkingManagementSystem.enums.ReservationStatus;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
 import com.tms.ParkingManagementSystem.model.dto.ReservationCreateDto;
+import com.tms.ParkingManagementSystem.model.dto.ReservationResponseDto;
 import com.tms.ParkingManagementSystem.model.dto.ReservationStatusUpdateDto;
 import com.tms.ParkingManagementSystem.model.dto.ReservationUpdateDto;
 import com.tms.ParkingManagementSystem.service.ReservationService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,8 +20,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -33,56 +38,66 @@ public class ReservationController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Reservation>> getAllReservations() {
-        log.info("Request: get all reservations");
-        List<Reservation> reservations = reservationService.getAllReservations();
-        if (reservations.isEmpty()) {
+    public ResponseEntity<KeysetPageDto<ReservationResponseDto>> getAllReservations(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Long parkingLotId,
+            @RequestParam(required = false) ReservationStatus status,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        log.info("Request: get reservations, afterId = {}, limit = {}", afterId, limit);
+        KeysetPageDto<ReservationResponseDto> reservations =
+                reservationService.getAllReservations(afterId, limit, parkingLotId, status, from, to);
+        if (reservations.getItems().isEmpty()) {
             log.warn("No reservations found");
             return ResponseEntity.noContent().build();
         }
-        log.info("Found {} reservations", reservations.size());
+        log.info("Found {} reservations", reservations.getItems().size());
         return ResponseEntity.ok(reservations);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Reservation> getReservationById(@PathVariable Long id) {
+    public ResponseEntity<ReservationResponseDto> getReservationById(@PathVariable Long id) {
         log.info("Request: get reservation by id = {}", id);
-        Reservation reservation = reservationService.getReservationById(id);
+        ReservationResponseDto reservation = reservationService.getReservationById(id);
         log.info("Reservation found id = {}", id);
         return ResponseEntity.ok(reservation);
     }
 
     @PostMapping
-    public ResponseEntity<Reservation> createReservation(@Valid @RequestBody ReservationCreateDto dto) {
+    public ResponseEntity<ReservationResponseDto> createReservation(@Valid @RequestBody ReservationCreateDto dto) {
         log.info("Request: create reservation");
         log.debug("Create reservation payload: {}", dto);
-        Reservation created = reservationService.createReservation(dto);
+        ReservationResponseDto created = reservationService.createReservation(dto);
         log.info("Reservation created id = {}", created.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Reservation> updateReservation(
+    public ResponseEntity<ReservationResponseDto> updateReservation(
             @PathVariable Long id,
             @Valid @RequestBody ReservationUpdateDto dto) {
 
         log.info("Request: update reservation id = {}", id);
         log.debug("Update reservation payload: {}", dto);
 
-        Reservation updated = reservationService.updateReservation(id, dto);
+        ReservationResponseDto updated = reservationService.updateReservation(id, dto);
 
         log.info("Reservation updated id = {}", id);
         return ResponseEntity.ok(updated);
     }
 
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Reservation> changeStatus(
+    public ResponseEntity<ReservationResponseDto> changeStatus(
             @PathVariable Long id,
             @Valid @RequestBody ReservationStatusUpdateDto dto) {
 
         log.info("Request: change reservation status id = {}", id);
         log.debug("Change status payload: {}", dto);
-        Reservation updated = reservationService.changeStatus(id, dto);
+        ReservationResponseDto updated = reservationService.changeStatus(id, dto);
         log.info("Reservation status updated id = {}", id);
         return ResponseEntity.ok(updated);
     }
@@ -101,9 +116,15 @@ public class ReservationController {
     }
 
     @GetMapping("/vehicle/{vehicleId}")
-    public ResponseEntity<List<Reservation>> getReservationsByVehicleId(@PathVariable Long vehicleId) {
+    public ResponseEntity<List<ReservationResponseDto>> getReservationsByVehicleId(
+            @PathVariable Long vehicleId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
         log.info("Request: get reservations by vehicleId = {}", vehicleId);
-        List<Reservation> reservations = reservationService.getReservationsByVehicleId(vehicleId);
+        List<ReservationResponseDto> reservations = reservationService.getReservationsByVehicleId(vehicleId, from, to);
         if (reservations.isEmpty()) {
             log.warn("No reservations found for vehicleId = {}", vehicleId);
             return ResponseEntity.noContent().build();
@@ -114,9 +135,15 @@ public class ReservationController {
     }
 
     @GetMapping("/spot/{spotId}")
-    public ResponseEntity<List<Reservation>> getReservationsBySpotId(@PathVariable Long spotId) {
+    public ResponseEntity<List<ReservationResponseDto>> getReservationsBySpotId(
+            @PathVariable Long spotId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
         log.info("Request: get reservations by spotId = {}", spotId);
-        List<Reservation> reservations = reservationService.getReservationsBySpotId(spotId);
+        List<ReservationResponseDto> reservations = reservationService.getReservationsBySpotId(spotId, from, to);
         if (reservations.isEmpty()) {
             log.warn("No reservations found for spotId = {}", spotId);
             return ResponseEntity.noContent().build();
@@ -127,9 +154,9 @@ public class ReservationController {
     }
 
     @PostMapping("/{id}/cancel")
-    public ResponseEntity<Reservation> cancelReservation(@PathVariable Long id) {
+    public ResponseEntity<ReservationResponseDto> cancelReservation(@PathVariable Long id) {
         log.info("Request: cancel reservation id = {}", id);
-        Reservation updated = reservationService.cancelReservation(id);
+        ReservationResponseDto updated = reservationService.cancelReservation(id);
         log.info("Reservation cancelled id = {}", id);
         return ResponseEntity.ok(updated);
     }
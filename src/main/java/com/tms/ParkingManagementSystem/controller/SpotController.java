@@ -1,6 +1,9 @@
 package com.tms.ParkingManagementSystem.controller;
 
+import com.tms.ParkingManagementSystem.enums.SpotStatus;
+import com.tms.ParkingManagementSystem.enums.SpotType;
 import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
 import com.tms.ParkingManagementSystem.model.dto.SpotCreateDto;
 import com.tms.ParkingManagementSystem.model.dto.SpotStatusUpdateDto;
 import com.tms.ParkingManagementSystem.model.dto.SpotUpdateDto;
@@ -17,6 +20,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -33,15 +37,21 @@ public class SpotController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Spot>> getAllSpots() {
-        log.info("Request: get all spots");
-        List<Spot> spots = spotService.getAllSpots();
-
-        if (spots.isEmpty()) {
+    public ResponseEntity<KeysetPageDto<Spot>> getAllSpots(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Long parkingLotId,
+            @RequestParam(required = false) SpotStatus status,
+            @RequestParam(required = false) SpotType type
+    ) {
+        log.info("Request: get spots, afterId = {}, limit = {}", afterId, limit);
+        KeysetPageDto<Spot> spots = spotService.getAllSpots(afterId, limit, parkingLotId, status, type);
+
+        if (spots.getItems().isEmpty()) {
             log.warn("No spots found");
             return ResponseEntity.noContent().build();
         }
-        log.info("Found {} spots", spots.size());
+        log.info("Found {} spots", spots.getItems().size());
         return ResponseEntity.ok(spots);
     }
 
@@ -1,7 +1,10 @@
 package com.tms.ParkingManagementSystem.controller;
 
+import com.tms.ParkingManagementSystem.enums.TariffStatus;
 import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
 import com.tms.ParkingManagementSystem.model.dto.TariffCreateUpdateDto;
+import com.tms.ParkingManagementSystem.model.dto.TariffRulesDto;
 import com.tms.ParkingManagementSystem.service.TariffService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -14,10 +17,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @Slf4j
 @RestController
 @RequestMapping("/tariff")
@@ -30,16 +32,20 @@ public class TariffController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Tariff>> getAllTariffs() {
-        log.info("Request: get all tariffs");
-        List<Tariff> tariffs = tariffService.getAllTariffs();
-
-        if (tariffs.isEmpty()) {
+    public ResponseEntity<KeysetPageDto<Tariff>> getAllTariffs(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) TariffStatus status
+    ) {
+        log.info("Request: get tariffs, afterId = {}, limit = {}", afterId, limit);
+        KeysetPageDto<Tariff> tariffs = tariffService.getAllTariffs(afterId, limit, status);
+
+        if (tariffs.getItems().isEmpty()) {
             log.warn("No tariffs found");
             return ResponseEntity.noContent().build();
         }
 
-        log.info("Found {} tariffs", tariffs.size());
+        log.info("Found {} tariffs", tariffs.getItems().size());
         return ResponseEntity.ok(tariffs);
     }
 
@@ -87,4 +93,24 @@ public class TariffController {
         log.error("Failed to delete tariff id = {}", id);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
+
+    @GetMapping("/{id}/rules")
+    public ResponseEntity<TariffRulesDto> getTariffRules(@PathVariable Long id) {
+        log.info("Request: get tariff rules id = {}", id);
+        TariffRulesDto rules = tariffService.getTariffRules(id);
+        return ResponseEntity.ok(rules);
+    }
+
+    @PutMapping("/{id}/rules")
+    public ResponseEntity<TariffRulesDto> updateTariffRules(
+            @PathVariable Long id,
+            @Valid @RequestBody TariffRulesDto rulesDto) {
+
+        log.info("Request: update tariff rules id = {}", id);
+        log.debug("Update tariff rules payload: {}", rulesDto);
+        TariffRulesDto updated = tariffService.updateTariffRules(id, rulesDto);
+
+        log.info("Tariff rules updated id = {}", id);
+        return ResponseEntity.ok(updated);
+    }
 }
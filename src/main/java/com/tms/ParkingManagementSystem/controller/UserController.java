@@ -1,11 +1,14 @@
 package com.tms.ParkingManagementSystem.controller;
 
+import com.tms.ParkingManagementSystem.enums.UserStatus;
 import com.tms.ParkingManagementSystem.model.User;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
 import com.tms.ParkingManagementSystem.model.dto.UserCreateUpdateDto;
 import com.tms.ParkingManagementSystem.model.dto.UserStatusUpdateDto;
 import com.tms.ParkingManagementSystem.service.UserService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,9 +19,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @Slf4j
 @RestController
@@ -32,15 +36,23 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        log.info("Request: get all users");
-        List<User> users = userService.getAllUsers();
-        if (users.isEmpty()) {
+    public ResponseEntity<KeysetPageDto<User>> getAllUsers(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        log.info("Request: get users, afterId = {}, limit = {}", afterId, limit);
+        KeysetPageDto<User> users = userService.getAllUsers(afterId, limit, status, from, to);
+        if (users.getItems().isEmpty()) {
             log.warn("No users found");
             return ResponseEntity.noContent().build();
         }
 
-        log.info("Found {} users", users.size());
+        log.info("Found {} users", users.getItems().size());
         return ResponseEntity.ok(users);
     }
 
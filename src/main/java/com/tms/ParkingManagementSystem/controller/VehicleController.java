@@ -1,6 +1,9 @@
 package com.tms.ParkingManagementSystem.controller;
 
+import com.tms.ParkingManagementSystem.enums.VehicleType;
 import com.tms.ParkingManagementSystem.model.Vehicle;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
+import com.tms.ParkingManagementSystem.model.dto.PlateMatchDto;
 import com.tms.ParkingManagementSystem.model.dto.VehicleCreateUpdateDto;
 import com.tms.ParkingManagementSystem.service.VehicleService;
 import jakarta.validation.Valid;
@@ -14,6 +17,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -30,15 +34,20 @@ public class VehicleController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Vehicle>> getAllVehicles() {
-        log.info("Request: get all vehicles");
-        List<Vehicle> vehicles = vehicleService.getAllVehicles();
-        if (vehicles.isEmpty()) {
+    public ResponseEntity<KeysetPageDto<Vehicle>> getAllVehicles(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) VehicleType type
+    ) {
+        log.info("Request: get vehicles, afterId = {}, limit = {}", afterId, limit);
+        KeysetPageDto<Vehicle> vehicles = vehicleService.getAllVehicles(afterId, limit, userId, type);
+        if (vehicles.getItems().isEmpty()) {
             log.warn("No vehicles found");
             return ResponseEntity.noContent().build();
         }
 
-        log.info("Found {} vehicles", vehicles.size());
+        log.info("Found {} vehicles", vehicles.getItems().size());
         return ResponseEntity.ok(vehicles);
     }
 
@@ -103,4 +112,21 @@ public class VehicleController {
         log.info("Found {} vehicles for userId = {}", vehicles.size(), userId);
         return ResponseEntity.ok(vehicles);
     }
+
+    @GetMapping("/plates/search")
+    public ResponseEntity<List<PlateMatchDto>> searchPlates(
+            @RequestParam String plate,
+            @RequestParam(defaultValue = "2") int maxDistance,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        log.info("Request: search plates, plate = {}, maxDistance = {}", plate, maxDistance);
+        List<PlateMatchDto> matches = vehicleService.searchPlates(plate, maxDistance, limit);
+        if (matches.isEmpty()) {
+            log.warn("No plates found similar to {}", plate);
+            return ResponseEntity.noContent().build();
+        }
+
+        log.info("Found {} plates similar to {}", matches.size(), plate);
+        return ResponseEntity.ok(matches);
+    }
 }
@@ -0,0 +1,7 @@
+package com.tms.ParkingManagementSystem.enums;
+
+public enum AggregateType {
+    SPOT,
+    PARKING_SESSION,
+    RESERVATION
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.tms.ParkingManagementSystem.enums;
+
+public enum DomainEventType {
+    SPOT_CREATED,
+    SPOT_UPDATED,
+    SPOT_STATUS_CHANGED,
+    SPOT_DELETED,
+    SESSION_STARTED,
+    SESSION_FINISHED,
+    SESSION_DELETED,
+    RESERVATION_CREATED,
+    RESERVATION_UPDATED,
+    RESERVATION_STATUS_CHANGED,
+    RESERVATION_CANCELLED,
+    RESERVATION_EXPIRED,
+    RESERVATION_DELETED
+}
\ No newline at end of file
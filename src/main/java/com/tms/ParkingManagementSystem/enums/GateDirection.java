@@ -0,0 +1,6 @@
+package com.tms.ParkingManagementSystem.enums;
+
+public enum GateDirection {
+    ENTRY,
+    EXIT
+}
@@ -0,0 +1,9 @@
+package com.tms.ParkingManagementSystem.exception;
+
+import java.time.YearMonth;
+
+public class ArchivedRangeException extends RuntimeException {
+    public ArchivedRangeException(String table, YearMonth month, YearMonth availableFrom) {
+        super("Data in " + table + " for " + month + " is archived, pass from " + availableFrom + " or later");
+    }
+}
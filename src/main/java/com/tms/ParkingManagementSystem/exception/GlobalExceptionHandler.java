@@ -1,6 +1,7 @@
 package com.tms.ParkingManagementSystem.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -52,7 +53,8 @@ public class GlobalExceptionHandler {
             ParkingLotInUseException.class,
             UserInUseException.class,
             ReservationConflictException.class,
-            UsernameAlreadyExistsException.class
+            UsernameAlreadyExistsException.class,
+            IdempotencyKeyConflictException.class
     })
     public ResponseEntity<Map<String, Object>> handleConflict(RuntimeException ex) {
         log.warn("CONFLICT: {}", ex.getMessage());
@@ -62,6 +64,26 @@ public class GlobalExceptionHandler {
         ));
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        log.warn("CONFLICT: concurrent update, {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "error", "CONFLICT",
+                "message", "Resource was modified concurrently, please retry"
+        ));
+    }
+
+    // 410 GONE
+
+    @ExceptionHandler(ArchivedRangeException.class)
+    public ResponseEntity<Map<String, Object>> handleArchived(ArchivedRangeException ex) {
+        log.warn("GONE: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(Map.of(
+                "error", "ARCHIVED",
+                "message", ex.getMessage()
+        ));
+    }
+
     // 400 BAD REQUEST
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
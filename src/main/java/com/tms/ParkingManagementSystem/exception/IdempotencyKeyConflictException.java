@@ -0,0 +1,8 @@
+package com.tms.ParkingManagementSystem.exception;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException(String key) {
+        super("Idempotency-Key " + key + " was already used for a different request");
+    }
+}
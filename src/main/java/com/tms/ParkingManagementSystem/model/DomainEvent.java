@@ -0,0 +1,67 @@
+package com.tms.ParkingManagementSystem.model;
+
+import com.tms.ParkingManagementSystem.enums.AggregateType;
+import com.tms.ParkingManagementSystem.enums.DomainEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "domain_events")
+@Data
+@NoArgsConstructor
+public class DomainEvent {
+
+    @Id
+    @SequenceGenerator(
+            name = "domain_event_generator",
+            sequenceName = "domain_events_id_seq",
+            allocationSize = 50
+    )
+    @GeneratedValue(generator = "domain_event_generator")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false)
+    private AggregateType aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private DomainEventType type;
+
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime created;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "publish_seq")
+    private Long publishSeq;
+
+    public DomainEvent(AggregateType aggregateType,
+                       Long aggregateId,
+                       DomainEventType type,
+                       String payload,
+                       LocalDateTime created) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.type = type;
+        this.payload = payload;
+        this.created = created;
+    }
+}
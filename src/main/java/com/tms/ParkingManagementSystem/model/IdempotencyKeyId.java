@@ -0,0 +1,25 @@
+package com.tms.ParkingManagementSystem.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKeyId implements Serializable {
+
+    @Column(nullable = false, length = 64)
+    private String principal;
+
+    @Column(nullable = false, length = 64)
+    private String operation;
+
+    @Column(name = "idempotency_key", nullable = false, length = 128)
+    private String key;
+}
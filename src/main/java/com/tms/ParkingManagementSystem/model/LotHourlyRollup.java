@@ -0,0 +1,38 @@
+package com.tms.ParkingManagementSystem.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "lot_hourly_rollups")
+@Data
+@NoArgsConstructor
+public class LotHourlyRollup {
+
+    @EmbeddedId
+    private LotHourlyRollupId id;
+
+    @Column(name = "sessions_started", nullable = false)
+    private long sessionsStarted;
+
+    @Column(name = "sessions_finished", nullable = false)
+    private long sessionsFinished;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "occupied_seconds", nullable = false)
+    private long occupiedSeconds;
+
+    @Column(name = "reservations_created", nullable = false)
+    private long reservationsCreated;
+
+    @Column(name = "reservations_expired", nullable = false)
+    private long reservationsExpired;
+}
@@ -14,6 +14,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
@@ -65,4 +66,8 @@ public class ParkingSession {
 
     @Column(name = "total_cost", precision = 10, scale = 2)
     private BigDecimal totalCost;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
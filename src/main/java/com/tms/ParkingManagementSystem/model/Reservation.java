@@ -13,6 +13,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
@@ -60,4 +61,7 @@ public class Reservation {
     @Column(nullable = false)
     private LocalDateTime changed;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -16,6 +16,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -41,7 +42,7 @@ public class Spot {
     @SequenceGenerator(
             name = "spot_generator",
             sequenceName = "spots_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @GeneratedValue(generator = "spot_generator")
     private Long id;
@@ -70,4 +71,8 @@ public class Spot {
 
     @Column(nullable = false)
     private LocalDateTime changed;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
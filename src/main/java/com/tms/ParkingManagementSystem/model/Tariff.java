@@ -1,6 +1,7 @@
 package com.tms.ParkingManagementSystem.model;
 
 import com.tms.ParkingManagementSystem.enums.TariffStatus;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -12,12 +13,16 @@ import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "tariffs")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tariffs")
 @Data
 @NoArgsConstructor(force = true)
 @RequiredArgsConstructor
@@ -44,6 +49,12 @@ public class Tariff {
     @Column(nullable = false)
     private Integer freeMinutes;
 
+    @Column(name = "daily_cap", precision = 10, scale = 2)
+    private BigDecimal dailyCap;
+
+    @Column(name = "session_cap", precision = 10, scale = 2)
+    private BigDecimal sessionCap;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private TariffStatus status;
@@ -0,0 +1,58 @@
+package com.tms.ParkingManagementSystem.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+
+@Entity
+@Table(name = "tariff_bands", indexes = {
+        @Index(name = "ix_tariff_bands_tariff_id", columnList = "tariff_id")
+})
+@Data
+@NoArgsConstructor(force = true)
+@RequiredArgsConstructor
+public class TariffBand {
+
+    @Id
+    @SequenceGenerator(
+            name = "tariff_band_generator",
+            sequenceName = "tariff_bands_id_seq",
+            allocationSize = 1
+    )
+    @GeneratedValue(generator = "tariff_band_generator")
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "tariff_id", nullable = false)
+    private final Tariff tariff;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @Column(name = "start_minute", nullable = false)
+    private Integer startMinute;
+
+    @Column(name = "end_minute", nullable = false)
+    private Integer endMinute;
+
+    @Column(name = "hour_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal hourPrice;
+}
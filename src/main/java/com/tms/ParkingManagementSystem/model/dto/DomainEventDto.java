@@ -0,0 +1,23 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.tms.ParkingManagementSystem.enums.AggregateType;
+import com.tms.ParkingManagementSystem.enums.DomainEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class DomainEventDto {
+    private Long sequence;
+    private Long id;
+    private AggregateType aggregateType;
+    private Long aggregateId;
+    private DomainEventType type;
+    private LocalDateTime created;
+
+    @JsonRawValue
+    private String payload;
+}
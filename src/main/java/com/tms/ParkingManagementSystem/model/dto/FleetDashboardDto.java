@@ -0,0 +1,14 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class FleetDashboardDto {
+    private LocalDateTime generatedAt;
+    private List<ParkingLotOccupancyDto> parkingLots;
+}
@@ -0,0 +1,17 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class GateEventBatchDto {
+
+    @NotEmpty(message = "Events must be specified")
+    @Size(max = 1000, message = "At most 1000 events per batch")
+    private List<@Valid @NotNull GateEventDto> events;
+}
@@ -0,0 +1,14 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class GateEventBatchResponseDto {
+
+    private int accepted;
+    private int rejected;
+    private int queueDepth;
+    private int remainingCapacity;
+}
@@ -0,0 +1,30 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import com.tms.ParkingManagementSystem.enums.GateDirection;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GateEventDto {
+
+    @NotBlank(message = "Plate number must be specified")
+    @Size(max = 32, message = "Plate number must be at most 32 characters")
+    private String plateNumber;
+
+    @NotNull(message = "Parking lot id must be specified")
+    private Long parkingLotId;
+
+    @NotNull(message = "Direction must be specified")
+    private GateDirection direction;
+
+    @NotNull(message = "Timestamp must be specified")
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,14 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class KeysetPageDto<T> {
+
+    private List<T> items;
+    private Long nextAfterId;
+}
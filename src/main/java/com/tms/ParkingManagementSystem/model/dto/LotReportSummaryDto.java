@@ -0,0 +1,23 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class LotReportSummaryDto {
+
+    private Long parkingLotId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    private long sessionsStarted;
+    private long sessionsFinished;
+    private BigDecimal revenue;
+    private long occupiedMinutes;
+    private long reservationsCreated;
+    private long reservationsExpired;
+}
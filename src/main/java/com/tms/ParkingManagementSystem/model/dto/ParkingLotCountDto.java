@@ -0,0 +1,12 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ParkingLotCountDto {
+
+    private Long parkingLotId;
+    private long count;
+}
@@ -0,0 +1,18 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ParkingLotOccupancyDto {
+    private Long parkingLotId;
+    private String parkingLotName;
+    private Long totalSpots;
+    private Long availableSpots;
+    private Long occupiedSpots;
+    private Long reservedSpots;
+    private Long outOfServiceSpots;
+    private Long activeReservations;
+    private Long activeSessions;
+}
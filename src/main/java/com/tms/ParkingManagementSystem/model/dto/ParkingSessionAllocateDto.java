@@ -0,0 +1,11 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ParkingSessionAllocateDto {
+
+    @NotNull(message = "Vehicle id must be specified")
+    private Long vehicleId;
+}
@@ -0,0 +1,23 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ParkingSessionQuoteDto {
+
+    private Long sessionId;
+    private Long spotId;
+    private Long parkingLotId;
+    private Long tariffId;
+
+    private LocalDateTime startTime;
+    private LocalDateTime quotedAt;
+    private long durationMinutes;
+
+    private BigDecimal cost;
+}
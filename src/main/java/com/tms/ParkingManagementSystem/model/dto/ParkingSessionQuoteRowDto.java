@@ -0,0 +1,28 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import com.tms.ParkingManagementSystem.enums.SessionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ParkingSessionQuoteRowDto {
+
+    private Long sessionId;
+    private SessionStatus status;
+    private LocalDateTime startTime;
+    private Long ownerId;
+
+    private Long spotId;
+    private Long parkingLotId;
+
+    private Long tariffId;
+    private BigDecimal hourPrice;
+    private Integer billingStepMinutes;
+    private Integer freeMinutes;
+    private BigDecimal dailyCap;
+    private BigDecimal sessionCap;
+}
@@ -1,13 +1,18 @@
 package com.tms.ParkingManagementSystem.model.dto;
 
+import com.tms.ParkingManagementSystem.enums.ReservationStatus;
 import com.tms.ParkingManagementSystem.enums.SessionStatus;
+import com.tms.ParkingManagementSystem.enums.SpotType;
+import com.tms.ParkingManagementSystem.enums.VehicleType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class ParkingSessionResponseDto {
 
@@ -23,4 +28,36 @@ public class ParkingSessionResponseDto {
     private ReservationShortDto reservation;
 
     private BigDecimal totalCost;
+
+    public ParkingSessionResponseDto(Long id,
+                                     SessionStatus status,
+                                     LocalDateTime startTime,
+                                     LocalDateTime endTime,
+                                     Long vehicleId,
+                                     String plateNumber,
+                                     VehicleType vehicleType,
+                                     Long spotId,
+                                     Integer spotNumber,
+                                     Integer spotLevel,
+                                     SpotType spotType,
+                                     Long parkingLotId,
+                                     String parkingLotName,
+                                     Long reservationId,
+                                     ReservationStatus reservationStatus,
+                                     LocalDateTime reservationStartTime,
+                                     LocalDateTime reservationEndTime,
+                                     BigDecimal totalCost) {
+        this(
+                id,
+                status,
+                startTime,
+                endTime,
+                new VehicleShortDto(vehicleId, plateNumber, vehicleType),
+                new SpotShortDto(spotId, spotNumber, spotLevel, spotType, parkingLotId, parkingLotName),
+                reservationId == null
+                        ? null
+                        : new ReservationShortDto(reservationId, reservationStatus, reservationStartTime, reservationEndTime),
+                totalCost
+        );
+    }
 }
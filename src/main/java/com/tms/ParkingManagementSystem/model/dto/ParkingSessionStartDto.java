@@ -0,0 +1,14 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ParkingSessionStartDto {
+
+    private Long id;
+    private LocalDateTime startTime;
+}
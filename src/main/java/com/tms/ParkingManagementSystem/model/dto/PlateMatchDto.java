@@ -0,0 +1,13 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PlateMatchDto {
+
+    private Long vehicleId;
+    private String plateNumber;
+    private int distance;
+}
@@ -0,0 +1,28 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import com.tms.ParkingManagementSystem.enums.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ReservationExportDto {
+
+    private Long id;
+    private ReservationStatus status;
+
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    private Long vehicleId;
+    private String plateNumber;
+
+    private Long spotId;
+    private Integer spotNumber;
+    private Long parkingLotId;
+
+    private LocalDateTime created;
+    private LocalDateTime changed;
+}
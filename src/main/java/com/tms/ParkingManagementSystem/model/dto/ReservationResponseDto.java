@@ -0,0 +1,53 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import com.tms.ParkingManagementSystem.enums.ReservationStatus;
+import com.tms.ParkingManagementSystem.enums.SpotType;
+import com.tms.ParkingManagementSystem.enums.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ReservationResponseDto {
+
+    private Long id;
+    private ReservationStatus status;
+
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    private VehicleShortDto vehicle;
+    private SpotShortDto spot;
+
+    private LocalDateTime created;
+    private LocalDateTime changed;
+
+    public ReservationResponseDto(Long id,
+                                  ReservationStatus status,
+                                  LocalDateTime startTime,
+                                  LocalDateTime endTime,
+                                  Long vehicleId,
+                                  String plateNumber,
+                                  VehicleType vehicleType,
+                                  Long spotId,
+                                  Integer spotNumber,
+                                  Integer spotLevel,
+                                  SpotType spotType,
+                                  Long parkingLotId,
+                                  String parkingLotName,
+                                  LocalDateTime created,
+                                  LocalDateTime changed) {
+        this(
+                id,
+                status,
+                startTime,
+                endTime,
+                new VehicleShortDto(vehicleId, plateNumber, vehicleType),
+                new SpotShortDto(spotId, spotNumber, spotLevel, spotType, parkingLotId, parkingLotName),
+                created,
+                changed
+        );
+    }
+}
@@ -3,10 +3,12 @@ package com.tms.ParkingManagementSystem.model.dto;
 import com.tms.ParkingManagementSystem.enums.ReservationStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class ReservationShortDto {
 
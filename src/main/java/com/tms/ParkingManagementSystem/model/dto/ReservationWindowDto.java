@@ -0,0 +1,16 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ReservationWindowDto {
+
+    private Long id;
+    private Long spotId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -3,8 +3,10 @@ package com.tms.ParkingManagementSystem.model.dto;
 import com.tms.ParkingManagementSystem.enums.SpotType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class SpotShortDto {
 
@@ -0,0 +1,16 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import com.tms.ParkingManagementSystem.enums.SpotStatus;
+import com.tms.ParkingManagementSystem.enums.SpotType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SpotStateDto {
+
+    private Long id;
+    private Long parkingLotId;
+    private SpotType type;
+    private SpotStatus status;
+}
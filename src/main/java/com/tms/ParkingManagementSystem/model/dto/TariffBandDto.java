@@ -0,0 +1,35 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TariffBandDto {
+
+    @NotNull(message = "Day of week must not be null")
+    private DayOfWeek dayOfWeek;
+
+    @NotNull(message = "Start minute must not be null")
+    @Min(value = 0, message = "Start minute must be between 0 and 1439")
+    @Max(value = 1439, message = "Start minute must be between 0 and 1439")
+    private Integer startMinute;
+
+    @NotNull(message = "End minute must not be null")
+    @Min(value = 1, message = "End minute must be between 1 and 1440")
+    @Max(value = 1440, message = "End minute must be between 1 and 1440")
+    private Integer endMinute;
+
+    @NotNull(message = "Hour price must not be null")
+    @DecimalMin(value = "0.0", message = "Hour price must be zero or positive")
+    private BigDecimal hourPrice;
+}
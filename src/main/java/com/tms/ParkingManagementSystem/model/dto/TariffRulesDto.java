@@ -0,0 +1,26 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TariffRulesDto {
+
+    @NotNull(message = "Bands must be specified")
+    private List<@Valid @NotNull TariffBandDto> bands;
+
+    @DecimalMin(value = "0.0", message = "Daily cap must be zero or positive")
+    private BigDecimal dailyCap;
+
+    @DecimalMin(value = "0.0", message = "Session cap must be zero or positive")
+    private BigDecimal sessionCap;
+}
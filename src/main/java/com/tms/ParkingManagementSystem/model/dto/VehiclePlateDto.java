@@ -0,0 +1,12 @@
+package com.tms.ParkingManagementSystem.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class VehiclePlateDto {
+
+    private Long id;
+    private String plateNumber;
+}
@@ -0,0 +1,89 @@
+package com.tms.ParkingManagementSystem.repository;
+
+import com.tms.ParkingManagementSystem.enums.AggregateType;
+import com.tms.ParkingManagementSystem.model.DomainEvent;
+import com.tms.ParkingManagementSystem.model.dto.DomainEventDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DomainEventRepository extends JpaRepository<DomainEvent, Long> {
+
+    String RESPONSE_SELECT = """
+        select new com.tms.ParkingManagementSystem.model.dto.DomainEventDto(
+            e.publishSeq, e.id, e.aggregateType, e.aggregateId, e.type, e.created, e.payload
+        )
+        from DomainEvent e
+        """;
+
+    @Query(value = """
+        select *
+        from domain_events
+        where published_at is null
+        order by id
+        limit :limit
+        for update skip locked
+        """, nativeQuery = true)
+    List<DomainEvent> claimUnpublished(@Param("limit") int limit);
+
+    // held until commit, so publish sequences are handed out by one relay at a time
+    @Query(value = "select pg_try_advisory_xact_lock(hashtext('domain_events_relay'))", nativeQuery = true)
+    boolean tryLockRelay();
+
+    // returns the last of :count consecutive sequence values; callers must hold the relay lock
+    @Query(value = """
+        select setval('domain_events_publish_seq', nextval('domain_events_publish_seq') + :count - 1)
+        """, nativeQuery = true)
+    long allocatePublishSeq(@Param("count") int count);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "domain_events"))
+    @Query(value = """
+        update domain_events d
+        set published_at = :publishedAt,
+            publish_seq  = :firstSeq + o.rn - 1
+        from (select id, row_number() over (order by id) as rn
+              from domain_events
+              where id in (:ids)) o
+        where d.id = o.id
+        """, nativeQuery = true)
+    int markPublished(@Param("ids") List<Long> ids,
+                      @Param("firstSeq") long firstSeq,
+                      @Param("publishedAt") LocalDateTime publishedAt);
+
+    default List<DomainEventDto> findPublishedPage(long afterSeq, AggregateType aggregateType, Pageable pageable) {
+        if (aggregateType == null) {
+            return findPublishedPageAfter(afterSeq, pageable);
+        }
+        return findPublishedPageByAggregateType(afterSeq, aggregateType, pageable);
+    }
+
+    @Query(RESPONSE_SELECT + """
+        where e.publishSeq > :afterSeq
+        order by e.publishSeq
+        """)
+    List<DomainEventDto> findPublishedPageAfter(@Param("afterSeq") long afterSeq, Pageable pageable);
+
+    @Query(RESPONSE_SELECT + """
+        where e.publishSeq > :afterSeq
+          and e.aggregateType = :aggregateType
+        order by e.publishSeq
+        """)
+    List<DomainEventDto> findPublishedPageByAggregateType(@Param("afterSeq") long afterSeq,
+                                                          @Param("aggregateType") AggregateType aggregateType,
+                                                          Pageable pageable);
+
+    @Modifying
+    @Query("delete from DomainEvent e where e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
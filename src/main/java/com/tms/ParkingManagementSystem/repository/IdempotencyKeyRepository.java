@@ -0,0 +1,48 @@
+package com.tms.ParkingManagementSystem.repository;
+
+import com.tms.ParkingManagementSystem.model.IdempotencyKey;
+import com.tms.ParkingManagementSystem.model.IdempotencyKeyId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, IdempotencyKeyId> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = """
+        insert into idempotency_keys (principal, operation, idempotency_key, fingerprint, created)
+        values (:principal, :operation, :key, :fingerprint, :created)
+        on conflict (principal, operation, idempotency_key) do nothing
+        """, nativeQuery = true)
+    int claim(@Param("principal") String principal,
+              @Param("operation") String operation,
+              @Param("key") String key,
+              @Param("fingerprint") String fingerprint,
+              @Param("created") LocalDateTime created);
+
+    @Modifying
+    @Query("""
+        update IdempotencyKey k
+        set k.resourceId = :resourceId,
+            k.responseStatus = :responseStatus,
+            k.responseBody = :responseBody
+        where k.id = :id
+        """)
+    int complete(@Param("id") IdempotencyKeyId id,
+                 @Param("resourceId") Long resourceId,
+                 @Param("responseStatus") int responseStatus,
+                 @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.created < :time")
+    int deleteByCreatedBefore(@Param("time") LocalDateTime time);
+}
@@ -0,0 +1,83 @@
+package com.tms.ParkingManagementSystem.repository;
+
+import com.tms.ParkingManagementSystem.model.LotHourlyRollup;
+import com.tms.ParkingManagementSystem.model.LotHourlyRollupId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LotHourlyRollupRepository extends JpaRepository<LotHourlyRollup, LotHourlyRollupId> {
+
+    @Query("""
+        select r
+        from LotHourlyRollup r
+        where r.id.parkingLotId = :parkingLotId
+          and r.id.bucketStart >= :from
+          and r.id.bucketStart < :to
+        order by r.id.bucketStart
+        """)
+    List<LotHourlyRollup> findBuckets(@Param("parkingLotId") Long parkingLotId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "lot_rollup_deltas"))
+    @Query(value = """
+        insert into lot_rollup_deltas (parking_lot_id, bucket_start, sessions_started, sessions_finished, revenue,
+                                       occupied_seconds, reservations_created, reservations_expired)
+        values (:parkingLotId, :bucketStart, :sessionsStarted, :sessionsFinished, :revenue,
+                :occupiedSeconds, :reservationsCreated, :reservationsExpired)
+        """, nativeQuery = true)
+    void insertDelta(@Param("parkingLotId") Long parkingLotId,
+                     @Param("bucketStart") LocalDateTime bucketStart,
+                     @Param("sessionsStarted") long sessionsStarted,
+                     @Param("sessionsFinished") long sessionsFinished,
+                     @Param("revenue") BigDecimal revenue,
+                     @Param("occupiedSeconds") long occupiedSeconds,
+                     @Param("reservationsCreated") long reservationsCreated,
+                     @Param("reservationsExpired") long reservationsExpired);
+
+    // claims the oldest delta rows, folds them into their hourly buckets and returns how many rows were claimed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "lot_rollup_deltas,lot_hourly_rollups"))
+    @Query(value = """
+        with claimed as (
+            delete from lot_rollup_deltas
+            where id in (select id
+                         from lot_rollup_deltas
+                         order by id
+                         limit :limit
+                         for update skip locked)
+            returning parking_lot_id, bucket_start, sessions_started, sessions_finished, revenue,
+                      occupied_seconds, reservations_created, reservations_expired
+        ),
+        folded as (
+            insert into lot_hourly_rollups (parking_lot_id, bucket_start, sessions_started, sessions_finished, revenue,
+                                            occupied_seconds, reservations_created, reservations_expired)
+            select parking_lot_id, bucket_start, sum(sessions_started), sum(sessions_finished), sum(revenue),
+                   sum(occupied_seconds), sum(reservations_created), sum(reservations_expired)
+            from claimed
+            group by parking_lot_id, bucket_start
+            order by parking_lot_id, bucket_start
+            on conflict (parking_lot_id, bucket_start)
+            do update set sessions_started = lot_hourly_rollups.sessions_started + excluded.sessions_started,
+                          sessions_finished = lot_hourly_rollups.sessions_finished + excluded.sessions_finished,
+                          revenue = lot_hourly_rollups.revenue + excluded.revenue,
+                          occupied_seconds = lot_hourly_rollups.occupied_seconds + excluded.occupied_seconds,
+                          reservations_created = lot_hourly_rollups.reservations_created + excluded.reservations_created,
+                          reservations_expired = lot_hourly_rollups.reservations_expired + excluded.reservations_expired
+            returning 1
+        )
+        select count(*) from claimed
+        """, nativeQuery = true)
+    int foldDeltas(@Param("limit") int limit);
+}
@@ -1,9 +1,17 @@
 package com.tms.ParkingManagementSystem.repository;
 
+import com.tms.ParkingManagementSystem.enums.ParkingStatus;
 import com.tms.ParkingManagementSystem.model.ParkingLot;
+import com.tms.ParkingManagementSystem.model.dto.ParkingLotOccupancyDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface ParkingLotRepository extends JpaRepository<ParkingLot, Long> {
 
@@ -12,4 +20,96 @@ public interface ParkingLotRepository extends JpaRepository<ParkingLot, Long> {
     boolean existsByTariffId(Long id);
 
     int countByTariffId(Long tariffId);
+
+    default List<ParkingLot> findPage(long afterId, ParkingStatus status, Long tariffId, Pageable pageable) {
+        if (status == null && tariffId == null) {
+            return findPageAfter(afterId, pageable);
+        }
+        if (tariffId == null) {
+            return findPageByStatus(afterId, status, pageable);
+        }
+        if (status == null) {
+            return findPageByTariffId(afterId, tariffId, pageable);
+        }
+        return findPageByStatusAndTariffId(afterId, status, tariffId, pageable);
+    }
+
+    @Query("""
+        select pl
+        from ParkingLot pl
+        where pl.id > :afterId
+        order by pl.id
+        """)
+    List<ParkingLot> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("""
+        select pl
+        from ParkingLot pl
+        where pl.id > :afterId
+          and pl.status = :status
+        order by pl.id
+        """)
+    List<ParkingLot> findPageByStatus(
+            @Param("afterId") long afterId,
+            @Param("status") ParkingStatus status,
+            Pageable pageable
+    );
+
+    @Query("""
+        select pl
+        from ParkingLot pl
+        where pl.id > :afterId
+          and pl.tariff.id = :tariffId
+        order by pl.id
+        """)
+    List<ParkingLot> findPageByTariffId(
+            @Param("afterId") long afterId,
+            @Param("tariffId") Long tariffId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select pl
+        from ParkingLot pl
+        where pl.id > :afterId
+          and pl.status = :status
+          and pl.tariff.id = :tariffId
+        order by pl.id
+        """)
+    List<ParkingLot> findPageByStatusAndTariffId(
+            @Param("afterId") long afterId,
+            @Param("status") ParkingStatus status,
+            @Param("tariffId") Long tariffId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select new com.tms.ParkingManagementSystem.model.dto.ParkingLotOccupancyDto(
+            pl.id,
+            pl.name,
+            count(s),
+            count(s) filter (where s.status = com.tms.ParkingManagementSystem.enums.SpotStatus.AVAILABLE),
+            count(s) filter (where s.status = com.tms.ParkingManagementSystem.enums.SpotStatus.OCCUPIED),
+            count(s) filter (where s.status = com.tms.ParkingManagementSystem.enums.SpotStatus.RESERVED),
+            count(s) filter (where s.status = com.tms.ParkingManagementSystem.enums.SpotStatus.OUT_OF_SERVICE),
+            (select count(r)
+             from Reservation r
+             where r.spot.parkingLot = pl
+               and r.status = com.tms.ParkingManagementSystem.enums.ReservationStatus.ACTIVE
+               and r.endTime > :now),
+            (select count(ps)
+             from ParkingSession ps
+             where ps.spot.parkingLot = pl
+               and ps.status = com.tms.ParkingManagementSystem.enums.SessionStatus.ACTIVE)
+        )
+        from ParkingLot pl
+        left join Spot s on s.parkingLot = pl
+        where :parkingLotId is null or pl.id = :parkingLotId
+        group by pl.id, pl.name
+        order by pl.id
+        """)
+    List<ParkingLotOccupancyDto> findOccupancy(
+            @Param("parkingLotId") Long parkingLotId,
+            @Param("now") LocalDateTime now
+    );
 }
@@ -2,24 +2,180 @@ package com.tms.ParkingManagementSystem.repository;
 
 import com.tms.ParkingManagementSystem.enums.SessionStatus;
 import com.tms.ParkingManagementSystem.model.ParkingSession;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionQuoteRowDto;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionResponseDto;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionStartDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ParkingSessionRepository extends JpaRepository<ParkingSession, Long> {
 
+    String RESPONSE_SELECT = """
+        select new com.tms.ParkingManagementSystem.model.dto.ParkingSessionResponseDto(
+            ps.id, ps.status, ps.startTime, ps.endTime,
+            v.id, v.plateNumber, v.type,
+            s.id, s.number, s.level, s.type, pl.id, pl.name,
+            r.id, r.status, r.startTime, r.endTime,
+            ps.totalCost)
+        from ParkingSession ps
+        join ps.vehicle v
+        join ps.spot s
+        join s.parkingLot pl
+        left join ps.reservation r
+        """;
+
+    String PAGE_RANGE = """
+          and ps.startTime >= :from
+          and ps.startTime < :to
+        order by ps.id
+        """;
+
     boolean existsBySpotIdAndStatus(Long spotId, SessionStatus status);
 
     boolean existsByVehicleIdAndStatus(Long vehicleId, SessionStatus status);
 
     boolean existsByReservationId(Long reservationId);
 
-    List<ParkingSession> findBySpotId(Long spotId);
-
-    List<ParkingSession> findByVehicleId(Long vehicleId);
+    Optional<ParkingSession> findFirstByVehicleIdAndStatus(Long vehicleId, SessionStatus status);
 
     long countBySpotParkingLotIdAndStatus(Long parkingLotId, SessionStatus status);
 
+    @Query("select ps.spot.id from ParkingSession ps where ps.status = :status")
+    List<Long> findSpotIdsByStatus(@Param("status") SessionStatus status);
+
+    @Query("""
+        select new com.tms.ParkingManagementSystem.model.dto.ParkingSessionStartDto(ps.id, ps.startTime)
+        from ParkingSession ps
+        where ps.status = :status
+        """)
+    List<ParkingSessionStartDto> findStartsByStatus(@Param("status") SessionStatus status);
+
+    @Query("""
+        select new com.tms.ParkingManagementSystem.model.dto.ParkingSessionQuoteRowDto(
+            ps.id, ps.status, ps.startTime, v.user.id,
+            s.id, pl.id,
+            t.id, t.hourPrice, t.billingStepMinutes, t.freeMinutes, t.dailyCap, t.sessionCap)
+        from ParkingSession ps
+        join ps.vehicle v
+        join ps.spot s
+        join s.parkingLot pl
+        join pl.tariff t
+        where ps.id = :id
+        """)
+    Optional<ParkingSessionQuoteRowDto> findQuoteRowById(@Param("id") Long id);
+
+    @Query("""
+        select new com.tms.ParkingManagementSystem.model.dto.ParkingSessionQuoteRowDto(
+            ps.id, ps.status, ps.startTime, v.user.id,
+            s.id, pl.id,
+            t.id, t.hourPrice, t.billingStepMinutes, t.freeMinutes, t.dailyCap, t.sessionCap)
+        from ParkingSession ps
+        join ps.vehicle v
+        join ps.spot s
+        join s.parkingLot pl
+        join pl.tariff t
+        where pl.id = :parkingLotId and ps.status = :status
+        order by ps.id
+        """)
+    List<ParkingSessionQuoteRowDto> findQuoteRowsByParkingLotIdAndStatus(@Param("parkingLotId") Long parkingLotId,
+                                                                         @Param("status") SessionStatus status);
+
+    default List<ParkingSessionResponseDto> findResponsePage(long afterId,
+                                                             Long parkingLotId,
+                                                             SessionStatus status,
+                                                             LocalDateTime from,
+                                                             LocalDateTime to,
+                                                             Pageable pageable) {
+        if (parkingLotId == null && status == null) {
+            return findResponsePageAfter(afterId, from, to, pageable);
+        }
+        if (status == null) {
+            return findResponsePageByParkingLotId(afterId, parkingLotId, from, to, pageable);
+        }
+        if (parkingLotId == null) {
+            return findResponsePageByStatus(afterId, status, from, to, pageable);
+        }
+        return findResponsePageByParkingLotIdAndStatus(afterId, parkingLotId, status, from, to, pageable);
+    }
+
+    @Query(RESPONSE_SELECT + """
+        where ps.id > :afterId
+        """ + PAGE_RANGE)
+    List<ParkingSessionResponseDto> findResponsePageAfter(@Param("afterId") long afterId,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to,
+                                                          Pageable pageable);
+
+    @Query(RESPONSE_SELECT + """
+        where ps.id > :afterId
+          and pl.id = :parkingLotId
+        """ + PAGE_RANGE)
+    List<ParkingSessionResponseDto> findResponsePageByParkingLotId(@Param("afterId") long afterId,
+                                                                   @Param("parkingLotId") Long parkingLotId,
+                                                                   @Param("from") LocalDateTime from,
+                                                                   @Param("to") LocalDateTime to,
+                                                                   Pageable pageable);
+
+    @Query(RESPONSE_SELECT + """
+        where ps.id > :afterId
+          and ps.status = :status
+        """ + PAGE_RANGE)
+    List<ParkingSessionResponseDto> findResponsePageByStatus(@Param("afterId") long afterId,
+                                                             @Param("status") SessionStatus status,
+                                                             @Param("from") LocalDateTime from,
+                                                             @Param("to") LocalDateTime to,
+                                                             Pageable pageable);
+
+    @Query(RESPONSE_SELECT + """
+        where ps.id > :afterId
+          and pl.id = :parkingLotId
+          and ps.status = :status
+        """ + PAGE_RANGE)
+    List<ParkingSessionResponseDto> findResponsePageByParkingLotIdAndStatus(
+            @Param("afterId") long afterId,
+            @Param("parkingLotId") Long parkingLotId,
+            @Param("status") SessionStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable
+    );
+
+    @Query(RESPONSE_SELECT + """
+        where s.id = :spotId and ps.startTime >= :from and ps.startTime < :to
+        order by ps.startTime, ps.id
+        """)
+    List<ParkingSessionResponseDto> findResponsesBySpotId(@Param("spotId") Long spotId,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to);
+
+    @Query(RESPONSE_SELECT + """
+        where v.id = :vehicleId and ps.startTime >= :from and ps.startTime < :to
+        order by ps.startTime, ps.id
+        """)
+    List<ParkingSessionResponseDto> findResponsesByVehicleId(@Param("vehicleId") Long vehicleId,
+                                                             @Param("from") LocalDateTime from,
+                                                             @Param("to") LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(RESPONSE_SELECT + """
+        where (:parkingLotId is null or pl.id = :parkingLotId)
+          and ps.startTime >= :from
+          and ps.startTime < :to
+        order by ps.id
+        """)
+    Stream<ParkingSessionResponseDto> streamResponses(@Param("parkingLotId") Long parkingLotId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
 }
@@ -2,18 +2,43 @@ package com.tms.ParkingManagementSystem.repository;
 
 import com.tms.ParkingManagementSystem.enums.ReservationStatus;
 import com.tms.ParkingManagementSystem.model.Reservation;
+import com.tms.ParkingManagementSystem.model.dto.ParkingLotCountDto;
+import com.tms.ParkingManagementSystem.model.dto.ReservationExportDto;
+import com.tms.ParkingManagementSystem.model.dto.ReservationResponseDto;
+import com.tms.ParkingManagementSystem.model.dto.ReservationWindowDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
-    List<Reservation> findByVehicleId(Long vehicleId);
+    String RESPONSE_SELECT = """
+        select new com.tms.ParkingManagementSystem.model.dto.ReservationResponseDto(
+            r.id, r.status, r.startTime, r.endTime,
+            v.id, v.plateNumber, v.type,
+            s.id, s.number, s.level, s.type, pl.id, pl.name,
+            r.created, r.changed)
+        from Reservation r
+        join r.vehicle v
+        join r.spot s
+        join s.parkingLot pl
+        """;
 
-    List<Reservation> findBySpotId(Long spotId);
+    String PAGE_RANGE = """
+          and r.startTime >= :from
+          and r.startTime < :to
+        order by r.id
+        """;
 
     boolean existsBySpotIdAndStatusAndStartTimeLessThanAndEndTimeGreaterThan(
             Long spotId,
@@ -21,7 +46,6 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             LocalDateTime endTime,
             LocalDateTime startTime
     );
-    List<Reservation> findByStatusAndEndTimeBefore(ReservationStatus status, LocalDateTime time);
 
     boolean existsBySpotIdAndStatusAndEndTimeAfter(Long spotId, ReservationStatus status, LocalDateTime time);
 
@@ -31,18 +55,188 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             LocalDateTime time
     );
 
-    boolean existsBySpotIdAndStatusAndIdNotAndStartTimeLessThanAndEndTimeGreaterThan(
-            Long spotId,
-            ReservationStatus status,
-            Long id,
-            LocalDateTime endTime,
-            LocalDateTime startTime
+    @Query("""
+        select new com.tms.ParkingManagementSystem.model.dto.ReservationWindowDto(r.id, r.spot.id, r.startTime, r.endTime)
+        from Reservation r
+        where r.status = :status
+        """)
+    List<ReservationWindowDto> findWindowsByStatus(@Param("status") ReservationStatus status);
+
+    @Query("""
+        select new com.tms.ParkingManagementSystem.model.dto.ReservationWindowDto(r.id, r.spot.id, r.startTime, r.endTime)
+        from Reservation r
+        where r.id in :ids
+          and r.status = :status
+        """)
+    List<ReservationWindowDto> findWindowsByIdsAndStatus(@Param("ids") List<Long> ids,
+                                                         @Param("status") ReservationStatus status);
+
+    @Query("""
+        select r.id
+        from Reservation r
+        where r.status = :status
+          and r.endTime < :time
+        order by r.endTime asc
+        """)
+    List<Long> findIdsByStatusAndEndTimeBefore(
+            @Param("status") ReservationStatus status,
+            @Param("time") LocalDateTime time,
+            Pageable pageable
     );
 
-    long countBySpotParkingLotIdAndStatusAndEndTimeAfter(
-            Long parkingLotId,
-            ReservationStatus status,
-            LocalDateTime time
+    @Query("""
+        select min(r.endTime)
+        from Reservation r
+        where r.status = :status
+          and r.endTime < :time
+        """)
+    LocalDateTime findOldestEndTimeByStatusAndEndTimeBefore(
+            @Param("status") ReservationStatus status,
+            @Param("time") LocalDateTime time
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reservations"))
+    @Query(value = """
+        with expired as (
+            update reservations
+            set status = 'EXPIRED',
+                changed = :time,
+                version = version + 1
+            where id in (:ids)
+              and status = 'ACTIVE'
+              and end_time < :time
+            returning id
+        )
+        select id from expired
+        """, nativeQuery = true)
+    List<Long> expireByIds(@Param("ids") List<Long> ids, @Param("time") LocalDateTime time);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reservations"))
+    @Query(value = """
+        with expired as (
+            update reservations r
+            set status = 'EXPIRED',
+                changed = :time,
+                version = r.version + 1
+            where r.id in (:ids)
+              and r.status = 'ACTIVE'
+              and r.start_time <= :cutoff
+              and not exists (
+                  select 1
+                  from parking_sessions ps
+                  where ps.reservation_id = r.id
+              )
+            returning r.id
+        )
+        select id from expired
+        """, nativeQuery = true)
+    List<Long> expireNoShowsByIds(
+            @Param("ids") List<Long> ids,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("time") LocalDateTime time
+    );
+
+    @Query("""
+        select new com.tms.ParkingManagementSystem.model.dto.ParkingLotCountDto(s.parkingLot.id, count(r))
+        from Reservation r
+        join r.spot s
+        where r.id in :ids
+        group by s.parkingLot.id
+        """)
+    List<ParkingLotCountDto> countByParkingLotForIds(@Param("ids") List<Long> ids);
+
+    default List<ReservationResponseDto> findResponsePage(long afterId,
+                                                          Long parkingLotId,
+                                                          ReservationStatus status,
+                                                          LocalDateTime from,
+                                                          LocalDateTime to,
+                                                          Pageable pageable) {
+        if (parkingLotId == null && status == null) {
+            return findResponsePageAfter(afterId, from, to, pageable);
+        }
+        if (status == null) {
+            return findResponsePageByParkingLotId(afterId, parkingLotId, from, to, pageable);
+        }
+        if (parkingLotId == null) {
+            return findResponsePageByStatus(afterId, status, from, to, pageable);
+        }
+        return findResponsePageByParkingLotIdAndStatus(afterId, parkingLotId, status, from, to, pageable);
+    }
+
+    @Query(RESPONSE_SELECT + """
+        where r.id > :afterId
+        """ + PAGE_RANGE)
+    List<ReservationResponseDto> findResponsePageAfter(@Param("afterId") long afterId,
+                                                       @Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to,
+                                                       Pageable pageable);
+
+    @Query(RESPONSE_SELECT + """
+        where r.id > :afterId
+          and pl.id = :parkingLotId
+        """ + PAGE_RANGE)
+    List<ReservationResponseDto> findResponsePageByParkingLotId(@Param("afterId") long afterId,
+                                                                @Param("parkingLotId") Long parkingLotId,
+                                                                @Param("from") LocalDateTime from,
+                                                                @Param("to") LocalDateTime to,
+                                                                Pageable pageable);
+
+    @Query(RESPONSE_SELECT + """
+        where r.id > :afterId
+          and r.status = :status
+        """ + PAGE_RANGE)
+    List<ReservationResponseDto> findResponsePageByStatus(@Param("afterId") long afterId,
+                                                          @Param("status") ReservationStatus status,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to,
+                                                          Pageable pageable);
+
+    @Query(RESPONSE_SELECT + """
+        where r.id > :afterId
+          and pl.id = :parkingLotId
+          and r.status = :status
+        """ + PAGE_RANGE)
+    List<ReservationResponseDto> findResponsePageByParkingLotIdAndStatus(
+            @Param("afterId") long afterId,
+            @Param("parkingLotId") Long parkingLotId,
+            @Param("status") ReservationStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable
     );
 
+    @Query(RESPONSE_SELECT + """
+        where s.id = :spotId and r.startTime >= :from and r.startTime < :to
+        order by r.startTime, r.id
+        """)
+    List<ReservationResponseDto> findResponsesBySpotId(@Param("spotId") Long spotId,
+                                                       @Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to);
+
+    @Query(RESPONSE_SELECT + """
+        where v.id = :vehicleId and r.startTime >= :from and r.startTime < :to
+        order by r.startTime, r.id
+        """)
+    List<ReservationResponseDto> findResponsesByVehicleId(@Param("vehicleId") Long vehicleId,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+        select new com.tms.ParkingManagementSystem.model.dto.ReservationExportDto(
+            r.id, r.status, r.startTime, r.endTime,
+            v.id, v.plateNumber,
+            s.id, s.number, s.parkingLot.id,
+            r.created, r.changed)
+        from Reservation r
+        join r.vehicle v
+        join r.spot s
+        where (:parkingLotId is null or s.parkingLot.id = :parkingLotId)
+          and r.startTime >= :from
+          and r.startTime < :to
+        order by r.id
+        """)
+    Stream<ReservationExportDto> streamExportRows(@Param("parkingLotId") Long parkingLotId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
 }
@@ -4,7 +4,10 @@ import com.tms.ParkingManagementSystem.enums.SessionStatus;
 import com.tms.ParkingManagementSystem.enums.SpotStatus;
 import com.tms.ParkingManagementSystem.enums.SpotType;
 import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.dto.SpotStateDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -23,6 +26,9 @@ public interface SpotRepository extends JpaRepository<Spot,Long> {
 
     boolean existsByParkingLotIdAndLevelAndNumber(Long parkingLotId, Integer level, Integer number);
 
+    @Query("select s.number from Spot s where s.parkingLot.id = :parkingLotId")
+    List<Integer> findNumbersByParkingLotId(@Param("parkingLotId") Long parkingLotId);
+
     @Query("""
         select s
         from Spot s
@@ -53,7 +59,168 @@ public interface SpotRepository extends JpaRepository<Spot,Long> {
             @Param("activeSessionStatus") SessionStatus activeSessionStatus
     );
 
-    Long countByParkingLotId(Long parkingLotId);
+    @Query("""
+        select new com.tms.ParkingManagementSystem.model.dto.SpotStateDto(s.id, s.parkingLot.id, s.type, s.status)
+        from Spot s
+        """)
+    List<SpotStateDto> findAllStates();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update Spot s
+        set s.status = com.tms.ParkingManagementSystem.enums.SpotStatus.OCCUPIED,
+            s.changed = :changed,
+            s.version = s.version + 1
+        where s.id = :spotId
+          and s.status = com.tms.ParkingManagementSystem.enums.SpotStatus.AVAILABLE
+          and not exists (
+              select 1
+              from ParkingSession ps
+              where ps.spot.id = :spotId
+                and ps.status = :activeSessionStatus
+          )
+        """)
+    int claimAvailableSpot(
+            @Param("spotId") Long spotId,
+            @Param("changed") LocalDateTime changed,
+            @Param("activeSessionStatus") SessionStatus activeSessionStatus
+    );
+
+    default List<Spot> findPage(long afterId,
+                                Long parkingLotId,
+                                SpotStatus status,
+                                SpotType type,
+                                Pageable pageable) {
+        if (parkingLotId == null && status == null && type == null) {
+            return findPageAfter(afterId, pageable);
+        }
+        if (status == null && type == null) {
+            return findPageByParkingLotId(afterId, parkingLotId, pageable);
+        }
+        if (parkingLotId == null && type == null) {
+            return findPageByStatus(afterId, status, pageable);
+        }
+        if (parkingLotId == null && status == null) {
+            return findPageByType(afterId, type, pageable);
+        }
+        if (type == null) {
+            return findPageByParkingLotIdAndStatus(afterId, parkingLotId, status, pageable);
+        }
+        if (status == null) {
+            return findPageByParkingLotIdAndType(afterId, parkingLotId, type, pageable);
+        }
+        if (parkingLotId == null) {
+            return findPageByStatusAndType(afterId, status, type, pageable);
+        }
+        return findPageByParkingLotIdAndStatusAndType(afterId, parkingLotId, status, type, pageable);
+    }
+
+    @Query("""
+        select s
+        from Spot s
+        where s.id > :afterId
+        order by s.id
+        """)
+    List<Spot> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("""
+        select s
+        from Spot s
+        where s.id > :afterId
+          and s.parkingLot.id = :parkingLotId
+        order by s.id
+        """)
+    List<Spot> findPageByParkingLotId(
+            @Param("afterId") long afterId,
+            @Param("parkingLotId") Long parkingLotId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select s
+        from Spot s
+        where s.id > :afterId
+          and s.status = :status
+        order by s.id
+        """)
+    List<Spot> findPageByStatus(
+            @Param("afterId") long afterId,
+            @Param("status") SpotStatus status,
+            Pageable pageable
+    );
+
+    @Query("""
+        select s
+        from Spot s
+        where s.id > :afterId
+          and s.type = :type
+        order by s.id
+        """)
+    List<Spot> findPageByType(
+            @Param("afterId") long afterId,
+            @Param("type") SpotType type,
+            Pageable pageable
+    );
+
+    @Query("""
+        select s
+        from Spot s
+        where s.id > :afterId
+          and s.parkingLot.id = :parkingLotId
+          and s.status = :status
+        order by s.id
+        """)
+    List<Spot> findPageByParkingLotIdAndStatus(
+            @Param("afterId") long afterId,
+            @Param("parkingLotId") Long parkingLotId,
+            @Param("status") SpotStatus status,
+            Pageable pageable
+    );
 
-    Long countByParkingLotIdAndStatus(Long parkingLotId, SpotStatus status);
+    @Query("""
+        select s
+        from Spot s
+        where s.id > :afterId
+          and s.parkingLot.id = :parkingLotId
+          and s.type = :type
+        order by s.id
+        """)
+    List<Spot> findPageByParkingLotIdAndType(
+            @Param("afterId") long afterId,
+            @Param("parkingLotId") Long parkingLotId,
+            @Param("type") SpotType type,
+            Pageable pageable
+    );
+
+    @Query("""
+        select s
+        from Spot s
+        where s.id > :afterId
+          and s.status = :status
+          and s.type = :type
+        order by s.id
+        """)
+    List<Spot> findPageByStatusAndType(
+            @Param("afterId") long afterId,
+            @Param("status") SpotStatus status,
+            @Param("type") SpotType type,
+            Pageable pageable
+    );
+
+    @Query("""
+        select s
+        from Spot s
+        where s.id > :afterId
+          and s.parkingLot.id = :parkingLotId
+          and s.status = :status
+          and s.type = :type
+        order by s.id
+        """)
+    List<Spot> findPageByParkingLotIdAndStatusAndType(
+            @Param("afterId") long afterId,
+            @Param("parkingLotId") Long parkingLotId,
+            @Param("status") SpotStatus status,
+            @Param("type") SpotType type,
+            Pageable pageable
+    );
 }
@@ -0,0 +1,15 @@
+package com.tms.ParkingManagementSystem.repository;
+
+import com.tms.ParkingManagementSystem.model.TariffBand;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TariffBandRepository extends JpaRepository<TariffBand, Long> {
+
+    List<TariffBand> findByTariffIdOrderByDayOfWeekAscStartMinuteAsc(Long tariffId);
+
+    void deleteAllByTariffId(Long tariffId);
+}
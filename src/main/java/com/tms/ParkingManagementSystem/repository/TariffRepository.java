@@ -1,9 +1,43 @@
 package com.tms.ParkingManagementSystem.repository;
 
+import com.tms.ParkingManagementSystem.enums.TariffStatus;
 import com.tms.ParkingManagementSystem.model.Tariff;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface TariffRepository extends JpaRepository<Tariff, Long> {
 
     boolean existsByName(String name);
+
+    default List<Tariff> findPage(long afterId, TariffStatus status, Pageable pageable) {
+        if (status == null) {
+            return findPageAfter(afterId, pageable);
+        }
+        return findPageByStatus(afterId, status, pageable);
+    }
+
+    @Query("""
+        select t
+        from Tariff t
+        where t.id > :afterId
+        order by t.id
+        """)
+    List<Tariff> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("""
+        select t
+        from Tariff t
+        where t.id > :afterId
+          and t.status = :status
+        order by t.id
+        """)
+    List<Tariff> findPageByStatus(
+            @Param("afterId") long afterId,
+            @Param("status") TariffStatus status,
+            Pageable pageable
+    );
 }
@@ -1,11 +1,61 @@
 package com.tms.ParkingManagementSystem.repository;
 
+import com.tms.ParkingManagementSystem.enums.UserStatus;
 import com.tms.ParkingManagementSystem.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    String PAGE_RANGE = """
+          and u.created >= :from
+          and u.created < :to
+        order by u.id
+        """;
+
     boolean existsByEmail(String email);
+
+    default List<User> findPage(long afterId,
+                                UserStatus status,
+                                LocalDateTime from,
+                                LocalDateTime to,
+                                Pageable pageable) {
+        if (status == null) {
+            return findPageAfter(afterId, from, to, pageable);
+        }
+        return findPageByStatus(afterId, status, from, to, pageable);
+    }
+
+    @Query("""
+        select u
+        from User u
+        where u.id > :afterId
+        """ + PAGE_RANGE)
+    List<User> findPageAfter(
+            @Param("afterId") long afterId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable
+    );
+
+    @Query("""
+        select u
+        from User u
+        where u.id > :afterId
+          and u.status = :status
+        """ + PAGE_RANGE)
+    List<User> findPageByStatus(
+            @Param("afterId") long afterId,
+            @Param("status") UserStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable
+    );
 }
@@ -1,8 +1,14 @@
 package com.tms.ParkingManagementSystem.repository;
 
+import com.tms.ParkingManagementSystem.enums.VehicleType;
 import com.tms.ParkingManagementSystem.model.Vehicle;
+import com.tms.ParkingManagementSystem.model.dto.VehiclePlateDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
@@ -12,4 +18,76 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     List<Vehicle> findAllByUserId(Long userId);
 
     void deleteAllByUserId(Long userId);
+
+    @Query("""
+        select new com.tms.ParkingManagementSystem.model.dto.VehiclePlateDto(v.id, v.plateNumber)
+        from Vehicle v
+        where v.plateNumber in :plates
+        """)
+    List<VehiclePlateDto> findPlatesByPlateNumberIn(@Param("plates") Collection<String> plates);
+
+    @Query("select new com.tms.ParkingManagementSystem.model.dto.VehiclePlateDto(v.id, v.plateNumber) from Vehicle v")
+    List<VehiclePlateDto> findAllPlates();
+
+    default List<Vehicle> findPage(long afterId, Long userId, VehicleType type, Pageable pageable) {
+        if (userId == null && type == null) {
+            return findPageAfter(afterId, pageable);
+        }
+        if (type == null) {
+            return findPageByUserId(afterId, userId, pageable);
+        }
+        if (userId == null) {
+            return findPageByType(afterId, type, pageable);
+        }
+        return findPageByUserIdAndType(afterId, userId, type, pageable);
+    }
+
+    @Query("""
+        select v
+        from Vehicle v
+        where v.id > :afterId
+        order by v.id
+        """)
+    List<Vehicle> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("""
+        select v
+        from Vehicle v
+        where v.id > :afterId
+          and v.user.id = :userId
+        order by v.id
+        """)
+    List<Vehicle> findPageByUserId(
+            @Param("afterId") long afterId,
+            @Param("userId") Long userId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select v
+        from Vehicle v
+        where v.id > :afterId
+          and v.type = :type
+        order by v.id
+        """)
+    List<Vehicle> findPageByType(
+            @Param("afterId") long afterId,
+            @Param("type") VehicleType type,
+            Pageable pageable
+    );
+
+    @Query("""
+        select v
+        from Vehicle v
+        where v.id > :afterId
+          and v.user.id = :userId
+          and v.type = :type
+        order by v.id
+        """)
+    List<Vehicle> findPageByUserIdAndType(
+            @Param("afterId") long afterId,
+            @Param("userId") Long userId,
+            @Param("type") VehicleType type,
+            Pageable pageable
+    );
 }
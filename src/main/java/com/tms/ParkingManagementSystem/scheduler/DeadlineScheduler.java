@@ -0,0 +1,259 @@
+package com.tms.ParkingManagementSystem.scheduler;
+
+import com.tms.ParkingManagementSystem.enums.ReservationStatus;
+import com.tms.ParkingManagementSystem.enums.SessionStatus;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionStartDto;
+import com.tms.ParkingManagementSystem.model.dto.ReservationWindowDto;
+import com.tms.ParkingManagementSystem.repository.ParkingSessionRepository;
+import com.tms.ParkingManagementSystem.repository.ReservationRepository;
+import com.tms.ParkingManagementSystem.service.LotRollupService;
+import com.tms.ParkingManagementSystem.service.OutboxService;
+import com.tms.ParkingManagementSystem.service.SpotReservationIndex;
+import com.tms.ParkingManagementSystem.service.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Component
+public class DeadlineScheduler {
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final ReservationRepository reservationRepository;
+    private final ParkingSessionRepository parkingSessionRepository;
+    private final SpotReservationIndex spotReservationIndex;
+    private final LotRollupService lotRollupService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration noShowGrace;
+    private final Duration overstayThreshold;
+    private final HierarchicalTimingWheel<Deadline> wheel;
+
+    private final Counter reservationsExpired;
+    private final Counter noShowsExpired;
+    private final Counter sessionsOverstayed;
+
+    private volatile boolean ready;
+
+    public DeadlineScheduler(ReservationRepository reservationRepository,
+                             ParkingSessionRepository parkingSessionRepository,
+                             SpotReservationIndex spotReservationIndex,
+                             LotRollupService lotRollupService,
+                             OutboxService outboxService,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${deadline.tick-ms:1000}") long tickMillis,
+                             @Value("${reservation.no-show-grace-minutes:0}") long noShowGraceMinutes,
+                             @Value("${parking-session.overstay-minutes:0}") long overstayMinutes) {
+        this.reservationRepository = reservationRepository;
+        this.parkingSessionRepository = parkingSessionRepository;
+        this.spotReservationIndex = spotReservationIndex;
+        this.lotRollupService = lotRollupService;
+        this.outboxService = outboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.noShowGrace = Duration.ofMinutes(noShowGraceMinutes);
+        this.overstayThreshold = Duration.ofMinutes(overstayMinutes);
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, System.currentTimeMillis());
+
+        meterRegistry.gauge("deadlines.pending", wheel, HierarchicalTimingWheel::size);
+        this.reservationsExpired = Counter.builder("deadlines.reservations.expired").register(meterRegistry);
+        this.noShowsExpired = Counter.builder("deadlines.reservations.no-show").register(meterRegistry);
+        this.sessionsOverstayed = Counter.builder("deadlines.sessions.overstay").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        log.info("Load reservation and session deadlines");
+
+        List<ReservationWindowDto> reservations = reservationRepository.findWindowsByStatus(ReservationStatus.ACTIVE);
+        for (ReservationWindowDto reservation : reservations) {
+            scheduleReservation(reservation.getId(), reservation.getStartTime(), reservation.getEndTime());
+        }
+
+        int sessions = 0;
+        if (isOverstayTracked()) {
+            List<ParkingSessionStartDto> starts = parkingSessionRepository.findStartsByStatus(SessionStatus.ACTIVE);
+            for (ParkingSessionStartDto start : starts) {
+                scheduleSession(start.getId(), start.getStartTime());
+            }
+            sessions = starts.size();
+        }
+
+        ready = true;
+
+        log.info("Deadlines loaded, reservations = {}, sessions = {}, pending = {}",
+                reservations.size(), sessions, wheel.size());
+    }
+
+    public void scheduleReservation(Long reservationId, LocalDateTime startTime, LocalDateTime endTime) {
+        scheduleEnd(reservationId, endTime);
+
+        if (isNoShowTracked()) {
+            wheel.schedule(new Deadline(DeadlineType.RESERVATION_NO_SHOW, reservationId),
+                    toMillis(startTime.plus(noShowGrace)));
+        }
+    }
+
+    public void cancelReservation(Long reservationId) {
+        wheel.cancel(new Deadline(DeadlineType.RESERVATION_END, reservationId));
+        wheel.cancel(new Deadline(DeadlineType.RESERVATION_NO_SHOW, reservationId));
+    }
+
+    public void scheduleSession(Long sessionId, LocalDateTime startTime) {
+        if (isOverstayTracked()) {
+            wheel.schedule(new Deadline(DeadlineType.SESSION_OVERSTAY, sessionId),
+                    toMillis(startTime.plus(overstayThreshold)));
+        }
+    }
+
+    public void cancelSession(Long sessionId) {
+        wheel.cancel(new Deadline(DeadlineType.SESSION_OVERSTAY, sessionId));
+    }
+
+    @Scheduled(fixedRateString = "${deadline.tick-ms:1000}")
+    public void tick() {
+        if (!ready) {
+            return;
+        }
+
+        List<Deadline> fired = wheel.advance(System.currentTimeMillis());
+        if (fired.isEmpty()) {
+            return;
+        }
+
+        List<Long> ended = new ArrayList<>();
+        List<Long> noShows = new ArrayList<>();
+
+        for (Deadline deadline : fired) {
+            switch (deadline.type()) {
+                case RESERVATION_END -> ended.add(deadline.id());
+                case RESERVATION_NO_SHOW -> noShows.add(deadline.id());
+                case SESSION_OVERSTAY -> {
+                    sessionsOverstayed.increment();
+                    log.warn("Parking session exceeded overstay threshold, sessionId = {}, threshold = {}",
+                            deadline.id(), overstayThreshold);
+                }
+            }
+        }
+
+        try {
+            if (!ended.isEmpty()) {
+                expireEnded(ended);
+            }
+            if (!noShows.isEmpty()) {
+                expireNoShows(noShows);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to apply fired deadlines, reservations = {}, noShows = {}",
+                    ended.size(), noShows.size(), ex);
+        }
+    }
+
+    private void expireEnded(List<Long> reservationIds) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> expiredIds;
+        try {
+            expiredIds = transactionTemplate.execute(status -> {
+                List<Long> ids = reservationRepository.expireByIds(reservationIds, now);
+                lotRollupService.recordReservationsExpired(ids, now);
+                outboxService.recordReservationsExpired(ids, now);
+                TransactionCallbacks.afterCommit(() -> spotReservationIndex.removeAll(ids));
+                return ids;
+            });
+        } catch (RuntimeException ex) {
+            // the fired timers are gone from the wheel, so retry them instead of waiting for a restart
+            long retryAt = System.currentTimeMillis() + RETRY_DELAY.toMillis();
+            reservationIds.forEach(id -> wheel.schedule(new Deadline(DeadlineType.RESERVATION_END, id), retryAt));
+            throw ex;
+        }
+
+        int expired = expiredIds == null ? 0 : expiredIds.size();
+        reservationsExpired.increment(expired);
+        log.info("Reservations expired by deadline, fired = {}, expired = {}", reservationIds.size(), expired);
+
+        if (expired < reservationIds.size()) {
+            rearmEnded(reservationIds, expiredIds == null ? List.of() : expiredIds);
+        }
+    }
+
+    // rows that are still active were extended or fired early, so wait for their current end time
+    private void rearmEnded(List<Long> reservationIds, List<Long> expiredIds) {
+        Set<Long> expired = new HashSet<>(expiredIds);
+        List<Long> remaining = reservationIds.stream().filter(id -> !expired.contains(id)).toList();
+
+        List<ReservationWindowDto> windows = reservationRepository.findWindowsByIdsAndStatus(
+                remaining, ReservationStatus.ACTIVE);
+        for (ReservationWindowDto window : windows) {
+            scheduleEnd(window.getId(), window.getEndTime());
+        }
+
+        log.debug("Reservation end deadlines re-armed, remaining = {}, active = {}", remaining.size(), windows.size());
+    }
+
+    private void expireNoShows(List<Long> reservationIds) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(noShowGrace);
+
+        List<Long> expiredIds = transactionTemplate.execute(status -> {
+            List<Long> noShowIds = reservationRepository.expireNoShowsByIds(reservationIds, cutoff, now);
+            if (noShowIds.isEmpty()) {
+                return noShowIds;
+            }
+
+            lotRollupService.recordReservationsExpired(noShowIds, now);
+            outboxService.recordReservationsExpired(noShowIds, now);
+            TransactionCallbacks.afterCommit(() -> {
+                spotReservationIndex.removeAll(noShowIds);
+                noShowIds.forEach(this::cancelReservation);
+            });
+            return noShowIds;
+        });
+
+        int count = expiredIds == null ? 0 : expiredIds.size();
+        noShowsExpired.increment(count);
+        log.info("Reservations expired as no-show, fired = {}, expired = {}", reservationIds.size(), count);
+    }
+
+    private void scheduleEnd(Long reservationId, LocalDateTime endTime) {
+        wheel.schedule(new Deadline(DeadlineType.RESERVATION_END, reservationId), toMillis(endTime) + 1);
+    }
+
+    private boolean isNoShowTracked() {
+        return !noShowGrace.isZero() && !noShowGrace.isNegative();
+    }
+
+    private boolean isOverstayTracked() {
+        return !overstayThreshold.isZero() && !overstayThreshold.isNegative();
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private enum DeadlineType {
+        RESERVATION_END,
+        RESERVATION_NO_SHOW,
+        SESSION_OVERSTAY
+    }
+
+    private record Deadline(DeadlineType type, Long id) {
+    }
+}
@@ -0,0 +1,161 @@
+package com.tms.ParkingManagementSystem.scheduler;
+
+import com.tms.ParkingManagementSystem.enums.GateDirection;
+import com.tms.ParkingManagementSystem.model.dto.GateEventDto;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionAllocateDto;
+import com.tms.ParkingManagementSystem.model.dto.VehiclePlateDto;
+import com.tms.ParkingManagementSystem.repository.VehicleRepository;
+import com.tms.ParkingManagementSystem.service.GateEventQueue;
+import com.tms.ParkingManagementSystem.service.ParkingSessionService;
+import com.tms.ParkingManagementSystem.service.PlateIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class GateEventProcessor {
+
+    private final GateEventQueue gateEventQueue;
+    private final VehicleRepository vehicleRepository;
+    private final PlateIndex plateIndex;
+    private final ParkingSessionService parkingSessionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int plateMaxDistance;
+
+    private final Counter processedCounter;
+    private final Counter failedCounter;
+    private final Counter unknownPlateCounter;
+    private final Timer lotBatchTimer;
+    private final Timer eventLagTimer;
+
+    public GateEventProcessor(GateEventQueue gateEventQueue,
+                              VehicleRepository vehicleRepository,
+                              PlateIndex plateIndex,
+                              ParkingSessionService parkingSessionService,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${gate.events.batch-size:500}") int batchSize,
+                              @Value("${gate.events.plate-max-distance:1}") int plateMaxDistance) {
+        this.gateEventQueue = gateEventQueue;
+        this.vehicleRepository = vehicleRepository;
+        this.plateIndex = plateIndex;
+        this.parkingSessionService = parkingSessionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.plateMaxDistance = plateMaxDistance;
+
+        this.processedCounter = Counter.builder("gate.events.processed").register(meterRegistry);
+        this.failedCounter = Counter.builder("gate.events.failed").register(meterRegistry);
+        this.unknownPlateCounter = Counter.builder("gate.events.unknown-plate").register(meterRegistry);
+        this.lotBatchTimer = Timer.builder("gate.events.lot-batch").register(meterRegistry);
+        this.eventLagTimer = Timer.builder("gate.events.lag").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${gate.events.drain-interval-ms:50}")
+    public void drain() {
+        List<GateEventDto> events;
+        while (!(events = gateEventQueue.drain(batchSize)).isEmpty()) {
+            process(events);
+        }
+    }
+
+    public void process(List<GateEventDto> events) {
+        Map<String, Long> vehicleIdsByPlate = resolvePlates(events);
+
+        Map<Long, List<GateEvent>> byLot = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (GateEventDto event : events) {
+            eventLagTimer.record(Duration.between(event.getTimestamp(), now).abs());
+
+            Long vehicleId = vehicleIdsByPlate.get(event.getPlateNumber());
+            if (vehicleId == null) {
+                unknownPlateCounter.increment();
+                log.warn("Gate event skipped: unknown plate, plate = {}, parkingLotId = {}",
+                        event.getPlateNumber(), event.getParkingLotId());
+                continue;
+            }
+
+            // camera clocks can run ahead; a session never starts or ends later than it was processed
+            LocalDateTime timestamp = event.getTimestamp().isAfter(now) ? now : event.getTimestamp();
+            byLot.computeIfAbsent(event.getParkingLotId(), id -> new ArrayList<>())
+                    .add(new GateEvent(vehicleId, event.getDirection(), timestamp));
+        }
+
+        byLot.forEach((lotId, lotEvents) -> lotBatchTimer.record(() -> applyLotBatch(lotId, lotEvents)));
+    }
+
+    private Map<String, Long> resolvePlates(List<GateEventDto> events) {
+        Set<String> plates = events.stream()
+                .map(GateEventDto::getPlateNumber)
+                .collect(Collectors.toSet());
+
+        if (!plateIndex.isReady()) {
+            return vehicleRepository.findPlatesByPlateNumberIn(plates).stream()
+                    .collect(Collectors.toMap(VehiclePlateDto::getPlateNumber, VehiclePlateDto::getId, (a, b) -> a));
+        }
+
+        Map<String, Long> vehicleIdsByPlate = new HashMap<>();
+        for (String plate : plates) {
+            Long vehicleId = plateIndex.resolve(plate, plateMaxDistance);
+            if (vehicleId != null) {
+                vehicleIdsByPlate.put(plate, vehicleId);
+            }
+        }
+        return vehicleIdsByPlate;
+    }
+
+    private void applyLotBatch(Long parkingLotId, List<GateEvent> events) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> events.forEach(event -> apply(parkingLotId, event)));
+            processedCounter.increment(events.size());
+            log.debug("Gate events applied, parkingLotId = {}, count = {}", parkingLotId, events.size());
+            return;
+        } catch (RuntimeException ex) {
+            log.warn("Gate event batch failed, retrying one by one, parkingLotId = {}, count = {}, reason = {}",
+                    parkingLotId, events.size(), ex.getMessage());
+        }
+
+        for (GateEvent event : events) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(parkingLotId, event));
+                processedCounter.increment();
+            } catch (RuntimeException ex) {
+                failedCounter.increment();
+                log.warn("Gate event rejected, parkingLotId = {}, vehicleId = {}, direction = {}, reason = {}",
+                        parkingLotId, event.vehicleId(), event.direction(), ex.getMessage());
+            }
+        }
+    }
+
+    private void apply(Long parkingLotId, GateEvent event) {
+        if (event.direction() == GateDirection.ENTRY) {
+            ParkingSessionAllocateDto dto = new ParkingSessionAllocateDto();
+            dto.setVehicleId(event.vehicleId());
+            parkingSessionService.allocateSession(parkingLotId, dto, event.timestamp());
+        } else {
+            parkingSessionService.finishActiveSessionForVehicle(event.vehicleId(), parkingLotId, event.timestamp());
+        }
+    }
+
+    private record GateEvent(Long vehicleId, GateDirection direction, LocalDateTime timestamp) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.tms.ParkingManagementSystem.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class HierarchicalTimingWheel<K> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final ArrayDeque<Timeout<K>>[][] buckets;
+    private final ArrayDeque<Timeout<K>> overflow = new ArrayDeque<>();
+    private final ArrayDeque<Timeout<K>> due = new ArrayDeque<>();
+    private final Map<K, Timeout<K>> timeouts = new HashMap<>();
+
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.buckets = new ArrayDeque[LEVELS][WHEEL_SIZE];
+
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                buckets[level][slot] = new ArrayDeque<>();
+            }
+        }
+    }
+
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+
+        Timeout<K> timeout = new Timeout<>(key, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        timeouts.put(key, timeout);
+        place(timeout);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Timeout<K> timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+
+        timeout.cancelled = true;
+        return true;
+    }
+
+    public synchronized boolean contains(K key) {
+        return timeouts.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    public synchronized List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<K> fired = new ArrayList<>();
+
+        drain(due, fired);
+
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            for (int level = LEVELS - 1; level > 0; level--) {
+                long levelMask = (1L << (WHEEL_BITS * level)) - 1;
+                if ((currentTick & levelMask) == 0) {
+                    cascade(buckets[level][(int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK)]);
+                }
+            }
+
+            if ((currentTick & ((1L << (WHEEL_BITS * LEVELS)) - 1)) == 0) {
+                cascade(overflow);
+            }
+
+            drain(buckets[0][(int) (currentTick & WHEEL_MASK)], fired);
+            drain(due, fired);
+        }
+
+        return fired;
+    }
+
+    private void place(Timeout<K> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+
+        if (delta <= 0) {
+            due.add(timeout);
+            return;
+        }
+
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (WHEEL_BITS * (level + 1))) {
+                int slot = (int) ((timeout.deadlineTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                buckets[level][slot].add(timeout);
+                return;
+            }
+        }
+
+        overflow.add(timeout);
+    }
+
+    private void cascade(ArrayDeque<Timeout<K>> bucket) {
+        int size = bucket.size();
+        for (int i = 0; i < size; i++) {
+            Timeout<K> timeout = bucket.poll();
+            if (!timeout.cancelled) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void drain(ArrayDeque<Timeout<K>> bucket, List<K> fired) {
+        Timeout<K> timeout;
+        while ((timeout = bucket.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+
+            timeouts.remove(timeout.key);
+            fired.add(timeout.key);
+        }
+    }
+
+    private static final class Timeout<K> {
+
+        private final K key;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        private Timeout(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.tms.ParkingManagementSystem.scheduler;
+
+import com.tms.ParkingManagementSystem.model.DomainEvent;
+import com.tms.ParkingManagementSystem.model.dto.DomainEventDto;
+import com.tms.ParkingManagementSystem.repository.DomainEventRepository;
+import com.tms.ParkingManagementSystem.service.DomainEventBatch;
+import com.tms.ParkingManagementSystem.service.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final DomainEventRepository domainEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+
+    private final Counter publishedCounter;
+
+    public OutboxRelay(DomainEventRepository domainEventRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun,
+                       @Value("${outbox.retention-hours:72}") long retentionHours) {
+        this.domainEventRepository = domainEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = Duration.ofHours(retentionHours);
+
+        this.publishedCounter = Counter.builder("outbox.events.published")
+                .description("Domain events relayed from the outbox to subscribers")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${outbox.relay.interval-ms:200}",
+            fixedDelayString = "${outbox.relay.interval-ms:200}"
+    )
+    public void relay() {
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer relayed = transactionTemplate.execute(status -> relayBatch());
+            if (relayed == null || relayed < batchSize) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${outbox.purge-interval-ms:3600000}",
+            fixedDelayString = "${outbox.purge-interval-ms:3600000}"
+    )
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Integer purged = transactionTemplate.execute(status -> domainEventRepository.deletePublishedBefore(cutoff));
+
+        log.info("Published domain events purged, cutoff = {}, purged = {}", cutoff, purged);
+    }
+
+    private int relayBatch() {
+        if (!domainEventRepository.tryLockRelay()) {
+            log.debug("Outbox relay skipped, another instance holds the relay lock");
+            return 0;
+        }
+
+        List<DomainEvent> events = domainEventRepository.claimUnpublished(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = events.stream().map(DomainEvent::getId).toList();
+        long firstSeq = domainEventRepository.allocatePublishSeq(events.size()) - events.size() + 1;
+        domainEventRepository.markPublished(ids, firstSeq, LocalDateTime.now());
+
+        List<DomainEventDto> batch = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            DomainEvent event = events.get(i);
+            batch.add(new DomainEventDto(
+                    firstSeq + i,
+                    event.getId(),
+                    event.getAggregateType(),
+                    event.getAggregateId(),
+                    event.getType(),
+                    event.getCreated(),
+                    event.getPayload()
+            ));
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            eventPublisher.publishEvent(new DomainEventBatch(batch));
+            publishedCounter.increment(batch.size());
+        });
+
+        log.debug("Domain events relayed, count = {}, firstSeq = {}, lastSeq = {}",
+                batch.size(), firstSeq, firstSeq + batch.size() - 1);
+        return events.size();
+    }
+}
@@ -0,0 +1,79 @@
+package com.tms.ParkingManagementSystem.scheduler;
+
+import com.tms.ParkingManagementSystem.service.PartitionMaintenanceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+@Slf4j
+@Component
+public class PartitionMaintenanceScheduler {
+
+    private final PartitionMaintenanceService partitionMaintenanceService;
+    private final int monthsAhead;
+    private final boolean archiveEnabled;
+    private final int retentionMonths;
+
+    public PartitionMaintenanceScheduler(PartitionMaintenanceService partitionMaintenanceService,
+                                         @Value("${partition.maintenance.months-ahead:3}") int monthsAhead,
+                                         @Value("${partition.maintenance.archive-enabled:false}") boolean archiveEnabled,
+                                         @Value("${partition.maintenance.retention-months:24}") int retentionMonths) {
+        if (archiveEnabled && retentionMonths < 1) {
+            throw new IllegalArgumentException("partition.maintenance.retention-months must be at least 1");
+        }
+
+        this.partitionMaintenanceService = partitionMaintenanceService;
+        this.monthsAhead = monthsAhead;
+        this.archiveEnabled = archiveEnabled;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${partition.maintenance.cron:0 30 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+
+        try {
+            partitionMaintenanceService.ensurePartitions(current, current.plusMonths(monthsAhead));
+            partitionMaintenanceService.refreshArchivedMonths();
+        } catch (RuntimeException ex) {
+            log.error("Failed to create monthly partitions", ex);
+            return;
+        }
+
+        if (!archiveEnabled) {
+            return;
+        }
+
+        YearMonth cutoff = current.minusMonths(retentionMonths);
+        int archived = 0;
+
+        for (String table : PartitionMaintenanceService.PARTITIONED_TABLES) {
+            for (YearMonth month : partitionMaintenanceService.getAttachedMonths(table)) {
+                if (!month.isBefore(cutoff)) {
+                    break;
+                }
+
+                try {
+                    if (partitionMaintenanceService.archivePartition(table, month)) {
+                        archived++;
+                    }
+                } catch (RuntimeException ex) {
+                    log.error("Failed to archive partition, table = {}, month = {}", table, month, ex);
+                }
+            }
+        }
+
+        log.info("Partition maintenance done, monthsAhead = {}, retentionMonths = {}, archived = {}",
+                monthsAhead, retentionMonths, archived);
+    }
+}
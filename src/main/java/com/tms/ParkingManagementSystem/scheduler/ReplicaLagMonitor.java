@@ -0,0 +1,42 @@
+package com.tms.ParkingManagementSystem.scheduler;
+
+import com.tms.ParkingManagementSystem.config.ReplicaDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnExpression("!'${datasource.replica.urls:}'.isBlank()")
+public class ReplicaLagMonitor {
+
+    private final ReplicaDataSource replicaDataSource;
+
+    public ReplicaLagMonitor(ReplicaDataSource replicaDataSource, MeterRegistry meterRegistry) {
+        this.replicaDataSource = replicaDataSource;
+
+        for (int i = 0; i < replicaDataSource.getReplicaCount(); i++) {
+            int index = i;
+            Gauge.builder("datasource.replica.lag", replicaDataSource, ds -> ds.getLagMillis(index))
+                    .tag("replica", String.valueOf(index))
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", replicaDataSource, ds -> ds.isHealthy(index) ? 1 : 0)
+                    .tag("replica", String.valueOf(index))
+                    .register(meterRegistry);
+        }
+
+        FunctionCounter.builder("datasource.replica.fallbacks", replicaDataSource, ReplicaDataSource::getFallbackCount)
+                .description("Read-only connections served by the primary because no replica was in rotation")
+                .register(meterRegistry);
+
+        replicaDataSource.checkLag();
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        replicaDataSource.checkLag();
+    }
+}
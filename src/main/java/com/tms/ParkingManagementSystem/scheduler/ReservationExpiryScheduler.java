@@ -0,0 +1,81 @@
+package com.tms.ParkingManagementSystem.scheduler;
+
+import com.tms.ParkingManagementSystem.service.ReservationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class ReservationExpiryScheduler {
+
+    private final ReservationService reservationService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final DistributionSummary batchSizeSummary;
+    private final Counter expiredCounter;
+
+    public ReservationExpiryScheduler(ReservationService reservationService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${reservation.expiry.batch-size:500}") int batchSize,
+                                      @Value("${reservation.expiry.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.reservationService = reservationService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+
+        meterRegistry.gauge("reservations.expiry.lag.seconds", lagSeconds);
+        this.batchSizeSummary = DistributionSummary.builder("reservations.expiry.batch.size")
+                .description("Reservations expired per bulk update")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("reservations.expiry.expired")
+                .description("Reservations moved from ACTIVE to EXPIRED")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${reservation.expiry.initial-delay-ms:10000}",
+            fixedDelayString = "${reservation.expiry.interval-ms:30000}"
+    )
+    public void expireOutdatedReservations() {
+        LocalDateTime now = LocalDateTime.now();
+
+        LocalDateTime oldest = reservationService.getOldestOutdatedEndTime(now);
+        lagSeconds.set(oldest == null ? 0 : Duration.between(oldest, now).toSeconds());
+
+        if (oldest == null) {
+            return;
+        }
+
+        int total = 0;
+        int batches = 0;
+
+        while (batches < maxBatchesPerRun) {
+            int expired = reservationService.expireOutdatedReservations(now, batchSize);
+            if (expired == 0) {
+                break;
+            }
+
+            batches++;
+            total += expired;
+            batchSizeSummary.record(expired);
+            expiredCounter.increment(expired);
+
+            if (expired < batchSize) {
+                break;
+            }
+        }
+
+        log.info("Expired outdated reservations, count = {}, batches = {}, lagSeconds = {}",
+                total, batches, lagSeconds.get());
+    }
+}
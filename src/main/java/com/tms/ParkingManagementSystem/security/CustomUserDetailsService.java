@@ -4,6 +4,7 @@ import com.tms.ParkingManagementSystem.model.Security;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -16,7 +17,10 @@ public class CustomUserDetailsService implements UserDetailsService {
         this.securityRepository = securityRepository;
     }
 
+    // read-write on purpose: read-only transactions may be routed to a lagging replica, and a stale role
+    // or password would then be cached for the token's whole lifetime
     @Override
+    @Transactional(readOnly = false)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         Security sec = securityRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
@@ -0,0 +1,93 @@
+package com.tms.ParkingManagementSystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class JwtAuthenticationCache {
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, CachedAuthentication> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public JwtAuthenticationCache(JwtService jwtService,
+                                  UserDetailsService userDetailsService,
+                                  @Value("${jwt.cache.max-size:10000}") long maxSize) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String key, CachedAuthentication value) ->
+                        Duration.between(Instant.now(), value.expiresAt())))
+                .build();
+    }
+
+    public UserDetails authenticate(String token) {
+        String key = hash(token);
+        CachedAuthentication cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.userDetails();
+        }
+
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("Rejected bearer token: {}", ex.getMessage());
+            return null;
+        }
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            return null;
+        }
+
+        long loadedGeneration = generation.get();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+
+        cache.put(key, new CachedAuthentication(claims, userDetails, claims.getExpiration().toInstant()));
+        if (generation.get() != loadedGeneration) {
+            cache.invalidate(key);
+        }
+        return userDetails;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        log.info("Authentication cache invalidated");
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record CachedAuthentication(Claims claims, UserDetails userDetails, Instant expiresAt) {
+    }
+}
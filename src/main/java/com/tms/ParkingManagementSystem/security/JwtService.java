@@ -2,9 +2,9 @@ package com.tms.ParkingManagementSystem.security;
 
 import com.tms.ParkingManagementSystem.model.Security;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -16,17 +16,17 @@ import java.util.Date;
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final long expirationSeconds;
+    private final SecretKey key;
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration-seconds}")
-    private long expirationSeconds;
-
-    private SecretKey key;
-
-    @PostConstruct
-    void init() {
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiration-seconds}") long expirationSeconds) {
+        this.expirationSeconds = expirationSeconds;
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
     }
 
     public String generateToken(Security sec) {
@@ -41,24 +41,7 @@ public class JwtService {
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    public boolean isValid(String token) {
-        try {
-            extractAllClaims(token);
-            return true;
-        } catch (Exception ex) {
-            return false;
-        }
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
@@ -44,6 +44,7 @@ public class SecurityConfig {
                                 "/parkingLot/{id}",
                                 "/parkingLot/{id}/spots/available",
                                 "/parkingSession/{id}",
+                                "/parkingSession/{id}/quote",
                                 "/parkingSession/vehicle/{vehicleId}",
                                 "/reservation/{id}",
                                 "/reservation/vehicle/{vehicleId}",
@@ -52,19 +53,29 @@ public class SecurityConfig {
                                 "/spot/parkingLot/{parkingLotId}",
                                 "/tariff",
                                 "/tariff/{id}",
+                                "/tariff/{id}/rules",
                                 "/vehicle/{id}",
                                 "/vehicle/user/{userId}"
                         ).hasAnyAuthority("USER", "OPERATOR", "ADMIN")
 
                         .requestMatchers(HttpMethod.GET,
+                                "/events",
+                                "/events/stream",
+                                "/export/parkingSessions",
+                                "/export/reservations",
+                                "/parkingLot/fleet/dashboard",
                                 "/parkingLot/{id}/dashboard",
                                 "/parkingSession",
                                 "/parkingSession/spot/{spotId}",
+                                "/parkingSession/parkingLot/{parkingLotId}/quotes",
+                                "/report/parkingLot/{parkingLotId}/hourly",
+                                "/report/parkingLot/{parkingLotId}/summary",
                                 "/reservation",
                                 "/reservation/spot/{spotId}",
                                 "/user",
                                 "/user/{id}",
-                                "/vehicle"
+                                "/vehicle",
+                                "/vehicle/plates/search"
                         ).hasAnyAuthority("OPERATOR", "ADMIN")
 
                         .requestMatchers(HttpMethod.POST,
@@ -76,6 +87,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST,
                                 "/parkingLot",
                                 "/parkingLot/with-spots",
+                                "/parkingLot/{id}/allocate",
+                                "/gate/events",
                                 "/parkingSession",
                                 "/parkingSession/from-reservation/{reservationId}",
                                 "/parkingSession/{id}/finish",
@@ -86,7 +99,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT,
                                 "/parkingLot/{id}",
                                 "/spot/{id}",
-                                "/tariff/{id}"
+                                "/tariff/{id}",
+                                "/tariff/{id}/rules"
                         ).hasAnyAuthority("OPERATOR", "ADMIN")
 
                         .requestMatchers(HttpMethod.PUT,
@@ -129,6 +143,9 @@ public class SecurityConfig {
                         .requestMatchers("/security/**")
                         .hasAuthority("ADMIN")
 
+                        .requestMatchers("/actuator/**")
+                        .hasAuthority("ADMIN")
+
                         .anyRequest().authenticated()
                 );
         http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
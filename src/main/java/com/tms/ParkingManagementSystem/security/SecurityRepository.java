@@ -1,9 +1,12 @@
     package com.tms.ParkingManagementSystem.security;
 
     import com.tms.ParkingManagementSystem.model.Security;
+    import jakarta.persistence.QueryHint;
+    import org.hibernate.jpa.HibernateHints;
     import org.springframework.data.jpa.repository.JpaRepository;
     import org.springframework.data.jpa.repository.Modifying;
     import org.springframework.data.jpa.repository.Query;
+    import org.springframework.data.jpa.repository.QueryHints;
     import org.springframework.stereotype.Repository;
     import org.springframework.transaction.annotation.Transactional;
 
@@ -19,16 +22,19 @@
 
         @Transactional
         @Modifying
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "security"))
         @Query(nativeQuery = true, value = "UPDATE security SET role = 'ADMIN' WHERE user_id = :userId")
         int setAdminRoleByUserId(Long userId);
 
         @Transactional
         @Modifying
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "security"))
         @Query(nativeQuery = true, value = "UPDATE security SET role = 'OPERATOR' WHERE user_id = :userId")
         int setOperatorRoleByUserId(Long userId);
 
         @Transactional
         @Modifying
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "security"))
         @Query(nativeQuery = true, value = "UPDATE security SET role = 'USER' WHERE user_id = :userId")
         int setUserRoleByUserId(Long userId);
 
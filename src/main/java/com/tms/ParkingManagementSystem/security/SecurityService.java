@@ -20,13 +20,16 @@ public class SecurityService {
     private final UserRepository userRepository;
     private final SecurityRepository securityRepository;
     private final PasswordEncoder passwordEncoder;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
 
     public SecurityService(UserRepository userRepository,
                            SecurityRepository securityRepository,
-                           PasswordEncoder passwordEncoder) {
+                           PasswordEncoder passwordEncoder,
+                           JwtAuthenticationCache jwtAuthenticationCache) {
         this.userRepository = userRepository;
         this.securityRepository = securityRepository;
         this.passwordEncoder = passwordEncoder;
+        this.jwtAuthenticationCache = jwtAuthenticationCache;
     }
 
     public Optional<Security> getSecurityById(Long id) {
@@ -37,7 +40,7 @@ public class SecurityService {
         if (!userRepository.existsById(id)) {
             throw new UserNotFoundException(id);
         }
-        return securityRepository.setAdminRoleByUserId(id) > 0;
+        return roleChanged(securityRepository.setAdminRoleByUserId(id));
     }
 
     public List<Security> getAllSecuritiesByRole(String role) {
@@ -48,7 +51,7 @@ public class SecurityService {
         if (!userRepository.existsById(id)) {
             throw new UserNotFoundException(id);
         }
-        return securityRepository.setOperatorRoleByUserId(id) > 0;
+        return roleChanged(securityRepository.setOperatorRoleByUserId(id));
     }
 
     public List<Security> getAllSecurities() {
@@ -59,7 +62,7 @@ public class SecurityService {
         if (!userRepository.existsById(id)) {
             throw new UserNotFoundException(id);
         }
-        return securityRepository.setUserRoleByUserId(id) > 0;
+        return roleChanged(securityRepository.setUserRoleByUserId(id));
     }
 
     public Security updateSecurity(Long id, SecurityUpdateDto dto) {
@@ -77,8 +80,16 @@ public class SecurityService {
         security.setPassword(passwordEncoder.encode(dto.getPassword()));
 
         Security saved = securityRepository.save(security);
+        jwtAuthenticationCache.invalidateAll();
 
         log.info("Security updated, id = {}, username = {}", saved.getId(), saved.getUsername());
         return saved;
     }
+
+    private boolean roleChanged(int updated) {
+        if (updated > 0) {
+            jwtAuthenticationCache.invalidateAll();
+        }
+        return updated > 0;
+    }
 }
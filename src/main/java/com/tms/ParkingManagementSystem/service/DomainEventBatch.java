@@ -0,0 +1,8 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.model.dto.DomainEventDto;
+
+import java.util.List;
+
+public record DomainEventBatch(List<DomainEventDto> events) {
+}
@@ -0,0 +1,140 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.AggregateType;
+import com.tms.ParkingManagementSystem.model.dto.DomainEventDto;
+import com.tms.ParkingManagementSystem.repository.DomainEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class DomainEventStream {
+
+    private final DomainEventRepository domainEventRepository;
+    private final long timeoutMs;
+    private final int replayBatchSize;
+    private final int maxReplay;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public DomainEventStream(DomainEventRepository domainEventRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${outbox.stream.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${outbox.stream.replay-batch-size:500}") int replayBatchSize,
+                             @Value("${outbox.stream.max-replay:10000}") int maxReplay) {
+        this.domainEventRepository = domainEventRepository;
+        this.timeoutMs = timeoutMs;
+        this.replayBatchSize = replayBatchSize;
+        this.maxReplay = maxReplay;
+
+        meterRegistry.gaugeCollectionSize("outbox.stream.subscribers", List.of(), subscribers);
+    }
+
+    public SseEmitter subscribe(Long afterSeq, AggregateType aggregateType) {
+        return subscribe(new SseEmitter(timeoutMs), afterSeq, aggregateType);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Long afterSeq, AggregateType aggregateType) {
+        Subscriber subscriber = new Subscriber(emitter, aggregateType, afterSeq == null ? 0 : afterSeq);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(ex -> subscribers.remove(subscriber));
+
+        synchronized (subscriber) {
+            subscribers.add(subscriber);
+            if (afterSeq != null) {
+                replay(subscriber, afterSeq);
+            }
+        }
+
+        log.info("Domain event subscriber connected, afterSeq = {}, aggregateType = {}, subscribers = {}",
+                afterSeq, aggregateType, subscribers.size());
+        return emitter;
+    }
+
+    @EventListener
+    public void onBatch(DomainEventBatch batch) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.send(batch.events())) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private void replay(Subscriber subscriber, long afterSeq) {
+        long cursor = afterSeq;
+        int replayed = 0;
+
+        while (replayed < maxReplay) {
+            List<DomainEventDto> events = domainEventRepository.findPublishedPage(
+                    cursor,
+                    subscriber.aggregateType,
+                    PageRequest.of(0, replayBatchSize)
+            );
+            if (events.isEmpty() || !subscriber.send(events)) {
+                return;
+            }
+
+            replayed += events.size();
+            cursor = events.get(events.size() - 1).getSequence();
+
+            if (events.size() < replayBatchSize) {
+                return;
+            }
+        }
+
+        log.warn("Domain event replay truncated, afterSeq = {}, replayed = {}", afterSeq, replayed);
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AggregateType aggregateType;
+
+        // live batches racing the replay may repeat events it already sent
+        private long lastSeq;
+
+        private Subscriber(SseEmitter emitter, AggregateType aggregateType, long lastSeq) {
+            this.emitter = emitter;
+            this.aggregateType = aggregateType;
+            this.lastSeq = lastSeq;
+        }
+
+        private synchronized boolean send(List<DomainEventDto> events) {
+            try {
+                for (DomainEventDto event : events) {
+                    if (event.getSequence() <= lastSeq) {
+                        continue;
+                    }
+                    lastSeq = event.getSequence();
+                    if (aggregateType == null || aggregateType == event.getAggregateType()) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(event.getSequence()))
+                                .name(event.getType().name())
+                                .data(event, MediaType.APPLICATION_JSON));
+                    }
+                }
+                return true;
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Domain event subscriber dropped: {}", ex.getMessage());
+                emitter.completeWithError(ex);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.ExportFormat;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionResponseDto;
+import com.tms.ParkingManagementSystem.model.dto.ReservationExportDto;
+import com.tms.ParkingManagementSystem.repository.ParkingSessionRepository;
+import com.tms.ParkingManagementSystem.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private static final List<String> SESSION_COLUMNS = List.of(
+            "id", "status", "startTime", "endTime",
+            "vehicleId", "plateNumber", "vehicleType",
+            "spotId", "spotNumber", "spotLevel", "spotType", "parkingLotId", "parkingLotName",
+            "reservationId", "totalCost"
+    );
+
+    private static final List<String> RESERVATION_COLUMNS = List.of(
+            "id", "status", "startTime", "endTime",
+            "vehicleId", "plateNumber",
+            "spotId", "spotNumber", "parkingLotId",
+            "created", "changed"
+    );
+
+    private final ParkingSessionRepository parkingSessionRepository;
+    private final ReservationRepository reservationRepository;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitionMaintenanceService partitionMaintenanceService;
+
+    public ExportService(ParkingSessionRepository parkingSessionRepository,
+                         ReservationRepository reservationRepository,
+                         JsonMapper jsonMapper,
+                         PlatformTransactionManager transactionManager,
+                         PartitionMaintenanceService partitionMaintenanceService) {
+        this.parkingSessionRepository = parkingSessionRepository;
+        this.reservationRepository = reservationRepository;
+        this.jsonMapper = jsonMapper;
+        this.partitionMaintenanceService = partitionMaintenanceService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportSessions(Long parkingLotId,
+                                                LocalDateTime from,
+                                                LocalDateTime to,
+                                                ExportFormat format) {
+        log.info("Export parking sessions, parkingLotId = {}, from = {}, to = {}, format = {}",
+                parkingLotId, from, to, format);
+
+        LocalDateTime rangeFrom = KeysetPagination.rangeFrom(from);
+        LocalDateTime rangeTo = KeysetPagination.rangeTo(to);
+        validateRange(rangeFrom, rangeTo);
+        partitionMaintenanceService.checkNotArchived("parking_sessions", from, to);
+
+        return out -> {
+            long rows = transactionTemplate.execute(status -> {
+                try (Stream<ParkingSessionResponseDto> sessions =
+                             parkingSessionRepository.streamResponses(parkingLotId, rangeFrom, rangeTo)) {
+                    return write(sessions, format, SESSION_COLUMNS, this::sessionRow, out);
+                }
+            });
+            log.info("Exported {} parking sessions", rows);
+        };
+    }
+
+    public StreamingResponseBody exportReservations(Long parkingLotId,
+                                                    LocalDateTime from,
+                                                    LocalDateTime to,
+                                                    ExportFormat format) {
+        log.info("Export reservations, parkingLotId = {}, from = {}, to = {}, format = {}",
+                parkingLotId, from, to, format);
+
+        LocalDateTime rangeFrom = KeysetPagination.rangeFrom(from);
+        LocalDateTime rangeTo = KeysetPagination.rangeTo(to);
+        validateRange(rangeFrom, rangeTo);
+        partitionMaintenanceService.checkNotArchived("reservations", from, to);
+
+        return out -> {
+            long rows = transactionTemplate.execute(status -> {
+                try (Stream<ReservationExportDto> reservations =
+                             reservationRepository.streamExportRows(parkingLotId, rangeFrom, rangeTo)) {
+                    return write(reservations, format, RESERVATION_COLUMNS, this::reservationRow, out);
+                }
+            });
+            log.info("Exported {} reservations", rows);
+        };
+    }
+
+    private <T> long write(Stream<T> rows,
+                           ExportFormat format,
+                           List<String> columns,
+                           Function<T, List<Object>> csvRow,
+                           OutputStream out) {
+        long count = 0;
+
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(writer, columns);
+            }
+
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(writer, csvRow.apply(row));
+                } else {
+                    writer.write(jsonMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                count++;
+            }
+
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return count;
+    }
+
+    private List<Object> sessionRow(ParkingSessionResponseDto session) {
+        return Arrays.asList(
+                session.getId(),
+                session.getStatus(),
+                session.getStartTime(),
+                session.getEndTime(),
+                session.getVehicle().getId(),
+                session.getVehicle().getPlateNumber(),
+                session.getVehicle().getType(),
+                session.getSpot().getId(),
+                session.getSpot().getNumber(),
+                session.getSpot().getLevel(),
+                session.getSpot().getType(),
+                session.getSpot().getParkingLotId(),
+                session.getSpot().getParkingLotName(),
+                session.getReservation() == null ? null : session.getReservation().getId(),
+                session.getTotalCost()
+        );
+    }
+
+    private List<Object> reservationRow(ReservationExportDto reservation) {
+        return Arrays.asList(
+                reservation.getId(),
+                reservation.getStatus(),
+                reservation.getStartTime(),
+                reservation.getEndTime(),
+                reservation.getVehicleId(),
+                reservation.getPlateNumber(),
+                reservation.getSpotId(),
+                reservation.getSpotNumber(),
+                reservation.getParkingLotId(),
+                reservation.getCreated(),
+                reservation.getChanged()
+        );
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value instanceof Number) {
+                writer.write(value.toString());
+            } else if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    static String csvEscape(String value) {
+        // spreadsheet apps evaluate cells starting with these characters as formulas
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("to must be after from");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.model.dto.GateEventDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+@Component
+public class GateEventQueue {
+
+    private final ArrayBlockingQueue<GateEventDto> buffer;
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+
+    public GateEventQueue(MeterRegistry meterRegistry,
+                          @Value("${gate.events.capacity:10000}") int capacity) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+
+        meterRegistry.gauge("gate.events.queue.depth", buffer, ArrayBlockingQueue::size);
+        meterRegistry.gauge("gate.events.queue.remaining", buffer, ArrayBlockingQueue::remainingCapacity);
+        this.acceptedCounter = Counter.builder("gate.events.accepted")
+                .description("Gate events accepted into the ingestion queue")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("gate.events.rejected")
+                .description("Gate events rejected because the ingestion queue was full")
+                .register(meterRegistry);
+    }
+
+    public int offerAll(List<GateEventDto> events) {
+        int accepted = 0;
+        for (GateEventDto event : events) {
+            if (!buffer.offer(event)) {
+                break;
+            }
+            accepted++;
+        }
+
+        acceptedCounter.increment(accepted);
+        rejectedCounter.increment(events.size() - accepted);
+        return accepted;
+    }
+
+    public List<GateEventDto> drain(int maxEvents) {
+        List<GateEventDto> events = new ArrayList<>(Math.min(maxEvents, buffer.size()));
+        buffer.drainTo(events, maxEvents);
+        return events;
+    }
+
+    public int depth() {
+        return buffer.size();
+    }
+
+    public int remainingCapacity() {
+        return buffer.remainingCapacity();
+    }
+}
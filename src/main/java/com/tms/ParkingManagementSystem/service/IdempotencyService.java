@@ -0,0 +1,188 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.exception.IdempotencyKeyConflictException;
+import com.tms.ParkingManagementSystem.model.IdempotencyKey;
+import com.tms.ParkingManagementSystem.model.IdempotencyKeyId;
+import com.tms.ParkingManagementSystem.repository.IdempotencyKeyRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.resilience.annotation.Retryable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final Duration ttl;
+    private final Map<IdempotencyKeyId, CachedResult> cache;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              TransactionTemplate transactionTemplate,
+                              JsonMapper jsonMapper,
+                              @Value("${idempotency.cache-size:10000}") int cacheSize,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jsonMapper = jsonMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<IdempotencyKeyId, CachedResult> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    // retried here, outside the claim transaction, so every attempt claims the key and runs the action afresh
+    @Retryable(
+            includes = OptimisticLockingFailureException.class,
+            maxRetriesString = "${optimistic-lock.max-retries}",
+            delayString = "${optimistic-lock.delay-ms}",
+            jitterString = "${optimistic-lock.jitter-ms}",
+            multiplier = 2
+    )
+    public <T> IdempotentResult<T> execute(String key,
+                                           String operation,
+                                           String fingerprint,
+                                           int status,
+                                           Supplier<T> action,
+                                           Function<T, Long> resourceIdOf,
+                                           Class<T> responseType) {
+        if (key == null) {
+            return new IdempotentResult<>(status, action.get(), false);
+        }
+
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be 1.." + MAX_KEY_LENGTH + " characters long");
+        }
+
+        IdempotencyKeyId id = new IdempotencyKeyId(currentPrincipal(), operation, key);
+        LocalDateTime now = LocalDateTime.now();
+
+        CachedResult cached = getCached(id, now);
+        if (cached != null) {
+            assertSameRequest(key, cached.fingerprint(), fingerprint);
+            log.info("Idempotent replay from cache, operation = {}, key = {}", operation, key);
+            @SuppressWarnings("unchecked")
+            T response = (T) cached.response();
+            return new IdempotentResult<>(cached.status(), response, true);
+        }
+
+        return transactionTemplate.execute(tx ->
+                claimAndExecute(id, fingerprint, now, status, action, resourceIdOf, responseType));
+    }
+
+    private <T> IdempotentResult<T> claimAndExecute(IdempotencyKeyId id,
+                                                    String fingerprint,
+                                                    LocalDateTime now,
+                                                    int status,
+                                                    Supplier<T> action,
+                                                    Function<T, Long> resourceIdOf,
+                                                    Class<T> responseType) {
+        String operation = id.getOperation();
+        String key = id.getKey();
+
+        int claimed = idempotencyKeyRepository.claim(id.getPrincipal(), operation, key, fingerprint, now);
+
+        if (claimed == 0) {
+            IdempotencyKey stored = idempotencyKeyRepository.findById(id)
+                    .orElseThrow(() -> new IllegalStateException("Idempotency-Key " + key + " vanished during replay"));
+
+            assertSameRequest(key, stored.getFingerprint(), fingerprint);
+
+            if (stored.getResponseStatus() == null || stored.getResponseBody() == null) {
+                throw new IllegalStateException("Idempotency-Key " + key + " has no stored result");
+            }
+
+            log.info("Idempotent replay from store, operation = {}, key = {}, resourceId = {}",
+                    operation, key, stored.getResourceId());
+
+            // the stored response is replayed as it was sent, not rebuilt from the resource's current state
+            T response = jsonMapper.readValue(stored.getResponseBody(), responseType);
+            remember(id, new CachedResult(stored.getFingerprint(), stored.getResponseStatus(), response,
+                    stored.getCreated()));
+            return new IdempotentResult<>(stored.getResponseStatus(), response, true);
+        }
+
+        T response = action.get();
+        idempotencyKeyRepository.complete(id, resourceIdOf.apply(response), status,
+                jsonMapper.writeValueAsString(response));
+
+        TransactionCallbacks.afterCommit(() -> remember(id, new CachedResult(fingerprint, status, response, now)));
+        return new IdempotentResult<>(status, response, false);
+    }
+
+    @Transactional
+    @Scheduled(
+            initialDelayString = "${idempotency.purge-interval-ms:3600000}",
+            fixedDelayString = "${idempotency.purge-interval-ms:3600000}"
+    )
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        int deleted = idempotencyKeyRepository.deleteByCreatedBefore(cutoff);
+
+        synchronized (cache) {
+            cache.values().removeIf(result -> result.created().isBefore(cutoff));
+        }
+
+        if (deleted > 0) {
+            log.info("Expired idempotency keys purged, deleted = {}", deleted);
+        }
+    }
+
+    private CachedResult getCached(IdempotencyKeyId id, LocalDateTime now) {
+        synchronized (cache) {
+            CachedResult cached = cache.get(id);
+            if (cached != null && cached.created().plus(ttl).isBefore(now)) {
+                cache.remove(id);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    private void remember(IdempotencyKeyId id, CachedResult result) {
+        synchronized (cache) {
+            cache.put(id, result);
+        }
+    }
+
+    private static void assertSameRequest(String key, String storedFingerprint, String fingerprint) {
+        if (!storedFingerprint.equals(fingerprint)) {
+            throw new IdempotencyKeyConflictException(key);
+        }
+    }
+
+    private static String currentPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null ? "anonymous" : auth.getName();
+    }
+
+    public record IdempotentResult<T>(int status, T body, boolean replayed) {
+    }
+
+    private record CachedResult(String fingerprint, int status, Object response, LocalDateTime created) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+public final class KeysetPagination {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final LocalDateTime RANGE_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime RANGE_END = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private KeysetPagination() {
+    }
+
+    public static long afterId(Long afterId) {
+        if (afterId == null) {
+            return 0L;
+        }
+        if (afterId < 0) {
+            throw new IllegalArgumentException("afterId must not be negative");
+        }
+        return afterId;
+    }
+
+    // open bounds are replaced by fixed dates so listing queries keep a plain range predicate
+    public static LocalDateTime rangeFrom(LocalDateTime from) {
+        return from == null ? RANGE_START : from;
+    }
+
+    public static LocalDateTime rangeTo(LocalDateTime to) {
+        return to == null ? RANGE_END : to;
+    }
+
+    public static Pageable firstRows(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return PageRequest.ofSize(limit + 1);
+    }
+
+    public static <T> KeysetPageDto<T> page(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPageDto<>(rows, null);
+        }
+
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPageDto<>(List.copyOf(items), idOf.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,239 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.config.ReadFromReplica;
+import com.tms.ParkingManagementSystem.exception.ParkingLotNotFoundException;
+import com.tms.ParkingManagementSystem.model.LotHourlyRollup;
+import com.tms.ParkingManagementSystem.model.LotHourlyRollupId;
+import com.tms.ParkingManagementSystem.model.dto.LotHourlyReportDto;
+import com.tms.ParkingManagementSystem.model.dto.LotReportSummaryDto;
+import com.tms.ParkingManagementSystem.model.dto.ParkingLotCountDto;
+import com.tms.ParkingManagementSystem.repository.LotHourlyRollupRepository;
+import com.tms.ParkingManagementSystem.repository.ParkingLotRepository;
+import com.tms.ParkingManagementSystem.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+public class LotRollupService {
+
+    private final LotHourlyRollupRepository rollupRepository;
+    private final ParkingLotRepository parkingLotRepository;
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushBatchSize;
+
+    public LotRollupService(LotHourlyRollupRepository rollupRepository,
+                            ParkingLotRepository parkingLotRepository,
+                            ReservationRepository reservationRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${rollup.flush-batch-size:1000}") int flushBatchSize) {
+        this.rollupRepository = rollupRepository;
+        this.parkingLotRepository = parkingLotRepository;
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    public void recordSessionStarted(Long parkingLotId, LocalDateTime startTime) {
+        record(parkingLotId, startTime, delta -> delta.sessionsStarted++);
+    }
+
+    public void recordSessionFinished(Long parkingLotId,
+                                      LocalDateTime startTime,
+                                      LocalDateTime endTime,
+                                      BigDecimal cost) {
+        BigDecimal revenue = cost == null ? BigDecimal.ZERO : cost;
+        record(parkingLotId, endTime, delta -> {
+            delta.sessionsFinished++;
+            delta.revenue = delta.revenue.add(revenue);
+        });
+
+        LocalDateTime bucket = startTime.truncatedTo(ChronoUnit.HOURS);
+        while (bucket.isBefore(endTime)) {
+            LocalDateTime next = bucket.plusHours(1);
+            long seconds = Duration.between(
+                    startTime.isAfter(bucket) ? startTime : bucket,
+                    endTime.isBefore(next) ? endTime : next
+            ).toSeconds();
+            record(parkingLotId, bucket, delta -> delta.occupiedSeconds += seconds);
+            bucket = next;
+        }
+    }
+
+    public void recordReservationCreated(Long parkingLotId, LocalDateTime time) {
+        record(parkingLotId, time, delta -> delta.reservationsCreated++);
+    }
+
+    public void recordReservationExpired(Long parkingLotId, LocalDateTime time) {
+        record(parkingLotId, time, delta -> delta.reservationsExpired++);
+    }
+
+    public void recordReservationsExpired(List<Long> reservationIds, LocalDateTime time) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+
+        for (ParkingLotCountDto lot : reservationRepository.countByParkingLotForIds(reservationIds)) {
+            record(lot.getParkingLotId(), time, delta -> delta.reservationsExpired += lot.getCount());
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${rollup.flush-interval-ms:1000}",
+            fixedDelayString = "${rollup.flush-interval-ms:1000}"
+    )
+    public void flush() {
+        int folded = 0;
+        try {
+            Integer claimed;
+            do {
+                claimed = transactionTemplate.execute(status -> rollupRepository.foldDeltas(flushBatchSize));
+                folded += claimed == null ? 0 : claimed;
+            } while (claimed != null && claimed == flushBatchSize);
+        } catch (RuntimeException ex) {
+            // the claimed rows are restored by the rollback and picked up by the next run
+            log.error("Failed to fold lot rollup deltas, folded = {}", folded, ex);
+            return;
+        }
+
+        if (folded > 0) {
+            log.debug("Lot rollup deltas folded, rows = {}", folded);
+        }
+    }
+
+    // deltas are written by the transaction that made the change, so a crash loses neither
+    private void record(Long parkingLotId, LocalDateTime time, Consumer<Delta> change) {
+        LotHourlyRollupId id = new LotHourlyRollupId(parkingLotId, time.truncatedTo(ChronoUnit.HOURS));
+
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            Delta delta = new Delta();
+            change.accept(delta);
+            transactionTemplate.executeWithoutResult(status -> insert(id, delta));
+            return;
+        }
+
+        change.accept(pendingDeltas().computeIfAbsent(id, key -> new Delta()));
+    }
+
+    private Map<LotHourlyRollupId, Delta> pendingDeltas() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingDeltas pending) {
+                return pending.deltas;
+            }
+        }
+
+        PendingDeltas pending = new PendingDeltas();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending.deltas;
+    }
+
+    private void insert(LotHourlyRollupId id, Delta delta) {
+        rollupRepository.insertDelta(
+                id.getParkingLotId(),
+                id.getBucketStart(),
+                delta.sessionsStarted,
+                delta.sessionsFinished,
+                delta.revenue,
+                delta.occupiedSeconds,
+                delta.reservationsCreated,
+                delta.reservationsExpired
+        );
+    }
+
+    @ReadFromReplica
+    public List<LotHourlyReportDto> getHourlyReport(Long parkingLotId, LocalDateTime from, LocalDateTime to) {
+        log.info("Get hourly report, parkingLotId = {}, from = {}, to = {}", parkingLotId, from, to);
+
+        return findBuckets(parkingLotId, from, to).stream()
+                .map(rollup -> new LotHourlyReportDto(
+                        rollup.getId().getBucketStart(),
+                        rollup.getSessionsStarted(),
+                        rollup.getSessionsFinished(),
+                        rollup.getRevenue(),
+                        rollup.getOccupiedSeconds() / 60,
+                        rollup.getReservationsCreated(),
+                        rollup.getReservationsExpired()
+                ))
+                .toList();
+    }
+
+    @ReadFromReplica
+    public LotReportSummaryDto getSummaryReport(Long parkingLotId, LocalDateTime from, LocalDateTime to) {
+        log.info("Get summary report, parkingLotId = {}, from = {}, to = {}", parkingLotId, from, to);
+
+        long sessionsStarted = 0;
+        long sessionsFinished = 0;
+        BigDecimal revenue = BigDecimal.ZERO.setScale(2);
+        long occupiedSeconds = 0;
+        long reservationsCreated = 0;
+        long reservationsExpired = 0;
+
+        for (LotHourlyRollup rollup : findBuckets(parkingLotId, from, to)) {
+            sessionsStarted += rollup.getSessionsStarted();
+            sessionsFinished += rollup.getSessionsFinished();
+            revenue = revenue.add(rollup.getRevenue());
+            occupiedSeconds += rollup.getOccupiedSeconds();
+            reservationsCreated += rollup.getReservationsCreated();
+            reservationsExpired += rollup.getReservationsExpired();
+        }
+
+        return new LotReportSummaryDto(
+                parkingLotId,
+                from.truncatedTo(ChronoUnit.HOURS),
+                to,
+                sessionsStarted,
+                sessionsFinished,
+                revenue,
+                occupiedSeconds / 60,
+                reservationsCreated,
+                reservationsExpired
+        );
+    }
+
+    private List<LotHourlyRollup> findBuckets(Long parkingLotId, LocalDateTime from, LocalDateTime to) {
+        if (!parkingLotRepository.existsById(parkingLotId)) {
+            throw new ParkingLotNotFoundException(parkingLotId);
+        }
+
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Report end must be after start");
+        }
+
+        return rollupRepository.findBuckets(parkingLotId, from.truncatedTo(ChronoUnit.HOURS), to);
+    }
+
+    private final class PendingDeltas implements TransactionSynchronization {
+
+        private final Map<LotHourlyRollupId, Delta> deltas = new LinkedHashMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            deltas.forEach(LotRollupService.this::insert);
+        }
+    }
+
+    private static final class Delta {
+
+        private long sessionsStarted;
+        private long sessionsFinished;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long occupiedSeconds;
+        private long reservationsCreated;
+        private long reservationsExpired;
+    }
+}
@@ -0,0 +1,165 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.AggregateType;
+import com.tms.ParkingManagementSystem.enums.DomainEventType;
+import com.tms.ParkingManagementSystem.enums.ReservationStatus;
+import com.tms.ParkingManagementSystem.model.DomainEvent;
+import com.tms.ParkingManagementSystem.model.ParkingSession;
+import com.tms.ParkingManagementSystem.model.Reservation;
+import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.dto.DomainEventDto;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
+import com.tms.ParkingManagementSystem.repository.DomainEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class OutboxService {
+
+    private final DomainEventRepository domainEventRepository;
+    private final JsonMapper jsonMapper;
+
+    public OutboxService(DomainEventRepository domainEventRepository, JsonMapper jsonMapper) {
+        this.domainEventRepository = domainEventRepository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSpot(DomainEventType type, Spot spot) {
+        record(AggregateType.SPOT, spot.getId(), type, spotPayload(spot));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<DomainEvent> recordSpots(DomainEventType type, List<Spot> spots) {
+        LocalDateTime now = LocalDateTime.now();
+        List<DomainEvent> events = new ArrayList<>(spots.size());
+        for (Spot spot : spots) {
+            events.add(new DomainEvent(
+                    AggregateType.SPOT,
+                    spot.getId(),
+                    type,
+                    jsonMapper.writeValueAsString(spotPayload(spot)),
+                    now
+            ));
+        }
+
+        return domainEventRepository.saveAll(events);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSession(DomainEventType type, ParkingSession session) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sessionId", session.getId());
+        payload.put("vehicleId", session.getVehicle().getId());
+        payload.put("spotId", session.getSpot().getId());
+        payload.put("parkingLotId", session.getSpot().getParkingLot().getId());
+        payload.put("reservationId", session.getReservation() == null ? null : session.getReservation().getId());
+        payload.put("status", session.getStatus());
+        payload.put("startTime", session.getStartTime());
+        payload.put("endTime", session.getEndTime());
+        payload.put("totalCost", session.getTotalCost());
+
+        record(AggregateType.PARKING_SESSION, session.getId(), type, payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReservation(DomainEventType type, Reservation reservation) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("reservationId", reservation.getId());
+        payload.put("vehicleId", reservation.getVehicle().getId());
+        payload.put("spotId", reservation.getSpot().getId());
+        payload.put("status", reservation.getStatus());
+        payload.put("startTime", reservation.getStartTime());
+        payload.put("endTime", reservation.getEndTime());
+
+        record(AggregateType.RESERVATION, reservation.getId(), type, payload);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReservationsExpired(List<Long> reservationIds, LocalDateTime time) {
+        List<DomainEvent> events = new ArrayList<>(reservationIds.size());
+        for (Long reservationId : reservationIds) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("reservationId", reservationId);
+            payload.put("status", ReservationStatus.EXPIRED);
+            payload.put("changed", time);
+
+            events.add(new DomainEvent(
+                    AggregateType.RESERVATION,
+                    reservationId,
+                    DomainEventType.RESERVATION_EXPIRED,
+                    jsonMapper.writeValueAsString(payload),
+                    time
+            ));
+        }
+
+        domainEventRepository.saveAll(events);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(AggregateType aggregateType, Long aggregateId, DomainEventType type) {
+        record(aggregateType, aggregateId, type, Map.of("id", aggregateId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(AggregateType aggregateType, List<Long> aggregateIds, DomainEventType type) {
+        LocalDateTime now = LocalDateTime.now();
+        List<DomainEvent> events = new ArrayList<>(aggregateIds.size());
+        for (Long aggregateId : aggregateIds) {
+            events.add(new DomainEvent(
+                    aggregateType,
+                    aggregateId,
+                    type,
+                    jsonMapper.writeValueAsString(Map.of("id", aggregateId)),
+                    now
+            ));
+        }
+
+        domainEventRepository.saveAll(events);
+    }
+
+    public KeysetPageDto<DomainEventDto> getPublishedEvents(Long afterId, int limit, AggregateType aggregateType) {
+        log.info("Get domain events page, afterId = {}, limit = {}, aggregateType = {}", afterId, limit, aggregateType);
+
+        List<DomainEventDto> events = domainEventRepository.findPublishedPage(
+                KeysetPagination.afterId(afterId),
+                aggregateType,
+                KeysetPagination.firstRows(limit)
+        );
+        return KeysetPagination.page(events, limit, DomainEventDto::getSequence);
+    }
+
+    private static Map<String, Object> spotPayload(Spot spot) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("spotId", spot.getId());
+        payload.put("parkingLotId", spot.getParkingLot().getId());
+        payload.put("number", spot.getNumber());
+        payload.put("level", spot.getLevel());
+        payload.put("type", spot.getType());
+        payload.put("status", spot.getStatus());
+        return payload;
+    }
+
+    private void record(AggregateType aggregateType, Long aggregateId, DomainEventType type, Map<String, Object> payload) {
+        DomainEvent event = new DomainEvent(
+                aggregateType,
+                aggregateId,
+                type,
+                jsonMapper.writeValueAsString(payload),
+                LocalDateTime.now()
+        );
+        domainEventRepository.save(event);
+
+        log.debug("Domain event recorded, type = {}, aggregateType = {}, aggregateId = {}", type, aggregateType, aggregateId);
+    }
+}
@@ -1,63 +1,103 @@
 package com.tms.ParkingManagementSystem.service;
 
+import com.tms.ParkingManagementSystem.config.ReadFromReplica;
+import com.tms.ParkingManagementSystem.enums.AggregateType;
+import com.tms.ParkingManagementSystem.enums.DomainEventType;
+import com.tms.ParkingManagementSystem.enums.ParkingStatus;
 import com.tms.ParkingManagementSystem.enums.ReservationStatus;
 import com.tms.ParkingManagementSystem.enums.SessionStatus;
-import com.tms.ParkingManagementSystem.enums.SpotStatus;
 import com.tms.ParkingManagementSystem.enums.SpotType;
 import com.tms.ParkingManagementSystem.enums.TariffStatus;
 import com.tms.ParkingManagementSystem.exception.AddressAlreadyExistsException;
 import com.tms.ParkingManagementSystem.exception.ParkingLotInUseException;
 import com.tms.ParkingManagementSystem.exception.ParkingLotNotFoundException;
 import com.tms.ParkingManagementSystem.exception.TariffNotFoundException;
+import com.tms.ParkingManagementSystem.model.DomainEvent;
 import com.tms.ParkingManagementSystem.model.ParkingLot;
 import com.tms.ParkingManagementSystem.model.Spot;
 import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.model.dto.FleetDashboardDto;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
 import com.tms.ParkingManagementSystem.model.dto.ParkingLotCreateUpdateDto;
 import com.tms.ParkingManagementSystem.model.dto.ParkingLotCreateWithSpotsDto;
 import com.tms.ParkingManagementSystem.model.dto.ParkingLotDashboardDto;
+import com.tms.ParkingManagementSystem.model.dto.ParkingLotOccupancyDto;
 import com.tms.ParkingManagementSystem.model.dto.ParkingLotUpdateStatusDto;
+import com.tms.ParkingManagementSystem.model.dto.SpotStateDto;
 import com.tms.ParkingManagementSystem.repository.ParkingLotRepository;
 import com.tms.ParkingManagementSystem.repository.ParkingSessionRepository;
 import com.tms.ParkingManagementSystem.repository.ReservationRepository;
 import com.tms.ParkingManagementSystem.repository.SpotRepository;
 import com.tms.ParkingManagementSystem.repository.TariffRepository;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Service
 public class ParkingLotService {
 
+    private static final int BULK_SPOTS_CHUNK_SIZE = 1000;
+
     private final ParkingLotRepository parkingLotRepository;
     private final TariffRepository tariffRepository;
     private final SpotRepository spotRepository;
     private final ParkingSessionRepository parkingSessionRepository;
     private final ReservationRepository reservationRepository;
+    private final SpotAvailabilityIndex spotAvailabilityIndex;
+    private final OutboxService outboxService;
+    private final EntityManager entityManager;
+    private final ReferenceDataCache referenceDataCache;
+    private final SingleFlightCache<FleetDashboardDto> fleetDashboard;
 
     public ParkingLotService(
             ParkingLotRepository parkingLotRepository,
             TariffRepository tariffRepository,
             SpotRepository spotRepository,
             ParkingSessionRepository parkingSessionRepository,
-            ReservationRepository reservationRepository) {
+            ReservationRepository reservationRepository,
+            SpotAvailabilityIndex spotAvailabilityIndex,
+            OutboxService outboxService,
+            EntityManager entityManager,
+            ReferenceDataCache referenceDataCache,
+            @Value("${dashboard.fleet.ttl-ms}") long fleetDashboardTtlMs) {
 
         this.parkingLotRepository = parkingLotRepository;
         this.tariffRepository = tariffRepository;
         this.spotRepository = spotRepository;
         this.parkingSessionRepository = parkingSessionRepository;
         this.reservationRepository = reservationRepository;
+        this.spotAvailabilityIndex = spotAvailabilityIndex;
+        this.outboxService = outboxService;
+        this.entityManager = entityManager;
+        this.referenceDataCache = referenceDataCache;
+        this.fleetDashboard = new SingleFlightCache<>(this::loadFleetDashboard, Duration.ofMillis(fleetDashboardTtlMs));
     }
 
-    public List<ParkingLot> getAllParkingLots() {
-        log.info("Get all parking lots");
-        return parkingLotRepository.findAll();
+    @Transactional(readOnly = true)
+    @ReadFromReplica
+    public KeysetPageDto<ParkingLot> getAllParkingLots(Long afterId, int limit, ParkingStatus status, Long tariffId) {
+        log.info("Get parking lots page, afterId = {}, limit = {}", afterId, limit);
+
+        List<ParkingLot> parkingLots = parkingLotRepository.findPage(
+                KeysetPagination.afterId(afterId),
+                status,
+                tariffId,
+                KeysetPagination.firstRows(limit)
+        );
+        return KeysetPagination.page(parkingLots, limit, ParkingLot::getId);
     }
 
+    @Transactional(readOnly = true)
     public ParkingLot getParkingLotById(Long id) {
         log.info("Get parking lot by id = {}", id);
         return parkingLotRepository.findById(id)
@@ -123,6 +163,14 @@ public class ParkingLotService {
             log.info("Old tariff deactivated, tariffId = {}", oldTariff.getId());
         }
 
+        Long oldTariffId = oldTariff.getId();
+        Long newTariffId = newTariff.getId();
+        TransactionCallbacks.afterCommit(() -> {
+            referenceDataCache.evictParkingLot(id);
+            referenceDataCache.evictTariff(oldTariffId);
+            referenceDataCache.evictTariff(newTariffId);
+        });
+
         log.info("Parking lot updated, id = {}", saved.getId());
         return saved;
     }
@@ -138,6 +186,7 @@ public class ParkingLotService {
         parkingLot.setChanged(LocalDateTime.now());
 
         ParkingLot saved = parkingLotRepository.save(parkingLot);
+        TransactionCallbacks.afterCommit(() -> referenceDataCache.evictParkingLot(id));
 
         log.info("Parking lot status changed, id = {}", id);
         return saved;
@@ -170,7 +219,15 @@ public class ParkingLotService {
         Tariff oldTariff = parkingLot.getTariff();
 
         spotRepository.deleteAllByParkingLotId(id);
+        outboxService.recordDeleted(AggregateType.SPOT, spots.stream().map(Spot::getId).toList(),
+                DomainEventType.SPOT_DELETED);
         parkingLotRepository.delete(parkingLot);
+        Long oldTariffId = oldTariff.getId();
+        TransactionCallbacks.afterCommit(() -> {
+            spotAvailabilityIndex.removeParkingLot(id);
+            referenceDataCache.evictParkingLot(id);
+            referenceDataCache.evictTariff(oldTariffId);
+        });
 
         if (!parkingLotRepository.existsByTariffId(oldTariff.getId())) {
             oldTariff.setStatus(TariffStatus.INACTIVE);
@@ -201,67 +258,95 @@ public class ParkingLotService {
 
         int count = s.getCount();
         int startNumber = s.getStartNumber();
+        Long parkingLotId = createdLot.getId();
 
         LocalDateTime now = LocalDateTime.now();
+        long startedAt = System.nanoTime();
 
-        List<Spot> spots = new ArrayList<>(count);
+        Set<Integer> existingNumbers = new HashSet<>(spotRepository.findNumbersByParkingLotId(parkingLotId));
+        List<SpotStateDto> created = new ArrayList<>(count);
+        List<Spot> chunk = new ArrayList<>(BULK_SPOTS_CHUNK_SIZE);
 
         for (int i = 0; i < count; i++) {
             int number = startNumber + i;
             Integer level = s.getLevels().get(i % s.getLevels().size());
             SpotType type = s.getTypes().get(i % s.getTypes().size());
 
-            if (spotRepository.existsByParkingLotIdAndLevelAndNumber(createdLot.getId(), level, number)) {
+            if (!existingNumbers.add(number)) {
                 log.warn("Bulk create denied: spot already exists, parkingLotId = {}, level = {}, number = {}",
-                        createdLot.getId(), level, number);
+                        parkingLotId, level, number);
                 throw new IllegalArgumentException(
-                        "Spot already exists: parkingLotId=" + createdLot.getId() + ", level=" + level + ", number=" + number
+                        "Spot already exists: parkingLotId=" + parkingLotId + ", level=" + level + ", number=" + number
                 );
             }
 
-            Spot spot = new Spot(number, createdLot, level, LocalDateTime.now());
+            Spot spot = new Spot(number, createdLot, level, now);
             spot.setType(type);
             spot.setChanged(now);
 
-            spots.add(spot);
+            chunk.add(spot);
+
+            if (chunk.size() == BULK_SPOTS_CHUNK_SIZE || i == count - 1) {
+                saveSpotsChunk(chunk, created);
+                log.info("Bulk spots progress, parkingLotId = {}, created = {}/{}, elapsedMs = {}",
+                        parkingLotId, created.size(), count, (System.nanoTime() - startedAt) / 1_000_000);
+            }
         }
 
-        spotRepository.saveAll(spots);
+        TransactionCallbacks.afterCommit(() -> created.forEach(state -> spotAvailabilityIndex.put(
+                state.getId(), state.getParkingLotId(), state.getType(), state.getStatus()
+        )));
 
-        log.info("Parking lot created with spots, parkingLotId = {}, spotsCreated = {}",
-                createdLot.getId(), spots.size());
+        log.info("Parking lot created with spots, parkingLotId = {}, spotsCreated = {}, elapsedMs = {}",
+                parkingLotId, created.size(), (System.nanoTime() - startedAt) / 1_000_000);
 
         return createdLot;
     }
 
-    public ParkingLotDashboardDto getDashboard(Long parkingLotId) {
-        log.info("Get parking lot dashboard, parkingLotId = {}", parkingLotId);
+    private void saveSpotsChunk(List<Spot> chunk, List<SpotStateDto> created) {
+        spotRepository.saveAll(chunk);
+        List<DomainEvent> events = outboxService.recordSpots(DomainEventType.SPOT_CREATED, chunk);
+        entityManager.flush();
 
-        if (!parkingLotRepository.existsById(parkingLotId)) {
-            throw new ParkingLotNotFoundException(parkingLotId);
+        for (Spot spot : chunk) {
+            created.add(new SpotStateDto(spot.getId(), spot.getParkingLot().getId(), spot.getType(), spot.getStatus()));
+            entityManager.detach(spot);
         }
+        events.forEach(entityManager::detach);
 
-        long totalSpots = spotRepository.countByParkingLotId(parkingLotId);
-
-        long availableSpots = spotRepository.countByParkingLotIdAndStatus(parkingLotId, SpotStatus.AVAILABLE);
-        long occupiedSpots = spotRepository.countByParkingLotIdAndStatus(parkingLotId, SpotStatus.OCCUPIED);
-        long reservedSpots = spotRepository.countByParkingLotIdAndStatus(parkingLotId, SpotStatus.RESERVED);
-        long outOfServiceSpots = spotRepository.countByParkingLotIdAndStatus(parkingLotId, SpotStatus.OUT_OF_SERVICE);
+        chunk.clear();
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        long activeReservations = reservationRepository.countBySpotParkingLotIdAndStatusAndEndTimeAfter(
-                parkingLotId, ReservationStatus.ACTIVE, now
-        );
+    @Transactional(readOnly = true)
+    public ParkingLotDashboardDto getDashboard(Long parkingLotId) {
+        log.info("Get parking lot dashboard, parkingLotId = {}", parkingLotId);
 
-        long activeSessions = parkingSessionRepository.countBySpotParkingLotIdAndStatus(
-                parkingLotId, SessionStatus.ACTIVE
-        );
+        ParkingLotOccupancyDto occupancy = parkingLotRepository.findOccupancy(parkingLotId, LocalDateTime.now())
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ParkingLotNotFoundException(parkingLotId));
 
         return new ParkingLotDashboardDto(
-                totalSpots, availableSpots, occupiedSpots, reservedSpots, outOfServiceSpots,
-                activeReservations, activeSessions
+                occupancy.getTotalSpots(),
+                occupancy.getAvailableSpots(),
+                occupancy.getOccupiedSpots(),
+                occupancy.getReservedSpots(),
+                occupancy.getOutOfServiceSpots(),
+                occupancy.getActiveReservations(),
+                occupancy.getActiveSessions()
         );
     }
 
+    public FleetDashboardDto getFleetDashboard() {
+        log.info("Get fleet dashboard");
+        return fleetDashboard.get();
+    }
+
+    private FleetDashboardDto loadFleetDashboard() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ParkingLotOccupancyDto> parkingLots = parkingLotRepository.findOccupancy(null, now);
 
+        log.debug("Fleet dashboard computed, parkingLots = {}", parkingLots.size());
+        return new FleetDashboardDto(now, parkingLots);
+    }
 }
@@ -1,11 +1,15 @@
 package com.tms.ParkingManagementSystem.service;
 
+import com.tms.ParkingManagementSystem.config.ReadFromReplica;
+import com.tms.ParkingManagementSystem.enums.AggregateType;
+import com.tms.ParkingManagementSystem.enums.DomainEventType;
 import com.tms.ParkingManagementSystem.enums.ReservationStatus;
 import com.tms.ParkingManagementSystem.enums.SessionStatus;
 import com.tms.ParkingManagementSystem.enums.SpotStatus;
 import com.tms.ParkingManagementSystem.enums.SpotType;
 import com.tms.ParkingManagementSystem.enums.UserStatus;
 import com.tms.ParkingManagementSystem.enums.VehicleType;
+import com.tms.ParkingManagementSystem.exception.ParkingLotNotFoundException;
 import com.tms.ParkingManagementSystem.exception.ParkingSessionConflictException;
 import com.tms.ParkingManagementSystem.exception.ParkingSessionNotFoundException;
 import com.tms.ParkingManagementSystem.exception.ReservationNotFoundException;
@@ -18,27 +22,35 @@ import com.tms.ParkingManagementSystem.model.Spot;
 import com.tms.ParkingManagementSystem.model.Tariff;
 import com.tms.ParkingManagementSystem.model.User;
 import com.tms.ParkingManagementSystem.model.Vehicle;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionAllocateDto;
 import com.tms.ParkingManagementSystem.model.dto.ParkingSessionCreateDto;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionQuoteDto;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionQuoteRowDto;
 import com.tms.ParkingManagementSystem.model.dto.ParkingSessionResponseDto;
 import com.tms.ParkingManagementSystem.model.dto.ReservationShortDto;
 import com.tms.ParkingManagementSystem.model.dto.SpotShortDto;
 import com.tms.ParkingManagementSystem.model.dto.VehicleShortDto;
+import com.tms.ParkingManagementSystem.repository.ParkingLotRepository;
 import com.tms.ParkingManagementSystem.repository.ParkingSessionRepository;
 import com.tms.ParkingManagementSystem.repository.ReservationRepository;
 import com.tms.ParkingManagementSystem.repository.SpotRepository;
 import com.tms.ParkingManagementSystem.repository.VehicleRepository;
+import com.tms.ParkingManagementSystem.scheduler.DeadlineScheduler;
 import com.tms.ParkingManagementSystem.security.SecurityUtil;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.resilience.annotation.Retryable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -48,27 +60,65 @@ public class ParkingSessionService {
     private final ParkingSessionRepository parkingSessionRepository;
     private final VehicleRepository vehicleRepository;
     private final SpotRepository spotRepository;
+    private final ParkingLotRepository parkingLotRepository;
     private final ReservationRepository reservationRepository;
     private final SecurityUtil securityUtil;
+    private final SpotAvailabilityIndex spotAvailabilityIndex;
+    private final SpotReservationIndex spotReservationIndex;
+    private final DeadlineScheduler deadlineScheduler;
+    private final TariffCostEngine tariffCostEngine;
+    private final LotRollupService lotRollupService;
+    private final OutboxService outboxService;
+    private final PartitionMaintenanceService partitionMaintenanceService;
 
     public ParkingSessionService(ParkingSessionRepository parkingSessionRepository,
                                  VehicleRepository vehicleRepository,
                                  SpotRepository spotRepository,
+                                 ParkingLotRepository parkingLotRepository,
                                  ReservationRepository reservationRepository,
-                                 SecurityUtil securityUtil) {
+                                 SecurityUtil securityUtil,
+                                 SpotAvailabilityIndex spotAvailabilityIndex,
+                                 SpotReservationIndex spotReservationIndex,
+                                 DeadlineScheduler deadlineScheduler,
+                                 TariffCostEngine tariffCostEngine,
+                                 LotRollupService lotRollupService,
+                                 OutboxService outboxService,
+                                 PartitionMaintenanceService partitionMaintenanceService) {
         this.parkingSessionRepository = parkingSessionRepository;
         this.vehicleRepository = vehicleRepository;
         this.spotRepository = spotRepository;
+        this.parkingLotRepository = parkingLotRepository;
         this.reservationRepository = reservationRepository;
         this.securityUtil = securityUtil;
+        this.spotAvailabilityIndex = spotAvailabilityIndex;
+        this.spotReservationIndex = spotReservationIndex;
+        this.deadlineScheduler = deadlineScheduler;
+        this.tariffCostEngine = tariffCostEngine;
+        this.lotRollupService = lotRollupService;
+        this.outboxService = outboxService;
+        this.partitionMaintenanceService = partitionMaintenanceService;
     }
 
-
-    public List<ParkingSessionResponseDto> getAllSessionsDto() {
-        log.info("Get all parking sessions (DTO)");
-        return parkingSessionRepository.findAll().stream()
-                .map(this::toDto)
-                .toList();
+    @ReadFromReplica
+    public KeysetPageDto<ParkingSessionResponseDto> getAllSessionsDto(Long afterId,
+                                                                      int limit,
+                                                                      Long parkingLotId,
+                                                                      SessionStatus status,
+                                                                      LocalDateTime from,
+                                                                      LocalDateTime to) {
+        log.info("Get parking sessions page (DTO), afterId = {}, limit = {}", afterId, limit);
+
+        partitionMaintenanceService.checkNotArchived("parking_sessions", from, to);
+
+        List<ParkingSessionResponseDto> sessions = parkingSessionRepository.findResponsePage(
+                KeysetPagination.afterId(afterId),
+                parkingLotId,
+                status,
+                KeysetPagination.rangeFrom(from),
+                KeysetPagination.rangeTo(to),
+                KeysetPagination.firstRows(limit)
+        );
+        return KeysetPagination.page(sessions, limit, ParkingSessionResponseDto::getId);
     }
 
     public ParkingSessionResponseDto getSessionByIdDto(Long id) {
@@ -82,22 +132,53 @@ public class ParkingSessionService {
         return toDto(created);
     }
 
+    @Transactional
+    public ParkingSessionResponseDto allocateSessionDto(Long parkingLotId, ParkingSessionAllocateDto dto) {
+        ParkingSession allocated = allocateSession(parkingLotId, dto);
+        return toDto(allocated);
+    }
+
+    @Retryable(
+            includes = OptimisticLockingFailureException.class,
+            maxRetriesString = "${optimistic-lock.max-retries}",
+            delayString = "${optimistic-lock.delay-ms}",
+            jitterString = "${optimistic-lock.jitter-ms}",
+            multiplier = 2
+    )
     @Transactional
     public ParkingSessionResponseDto createSessionFromReservationDto(Long reservationId) {
         ParkingSession created = createSessionFromReservation(reservationId);
         return toDto(created);
     }
 
-    public List<ParkingSessionResponseDto> getSessionsBySpotIdDto(Long spotId) {
-        return getSessionsBySpotId(spotId).stream()
-                .map(this::toDto)
-                .toList();
+    public List<ParkingSessionResponseDto> getSessionsBySpotIdDto(Long spotId, LocalDateTime from, LocalDateTime to) {
+        log.info("Get parking sessions by spotId = {}, from = {}, to = {}", spotId, from, to);
+
+        if (!spotRepository.existsById(spotId)) {
+            throw new SpotNotFoundException(spotId);
+        }
+
+        partitionMaintenanceService.checkNotArchived("parking_sessions", from, to);
+
+        return parkingSessionRepository.findResponsesBySpotId(
+                spotId,
+                KeysetPagination.rangeFrom(from),
+                KeysetPagination.rangeTo(to)
+        );
     }
 
-    public List<ParkingSessionResponseDto> getSessionsByVehicleIdDto(Long vehicleId) {
-        return getSessionsByVehicleId(vehicleId).stream()
-                .map(this::toDto)
-                .toList();
+    public List<ParkingSessionResponseDto> getSessionsByVehicleIdDto(Long vehicleId, LocalDateTime from, LocalDateTime to) {
+        log.info("Get parking sessions by vehicleId = {}, from = {}, to = {}", vehicleId, from, to);
+
+        securityUtil.assertVehicleOwnerOrAdmin(vehicleId);
+
+        partitionMaintenanceService.checkNotArchived("parking_sessions", from, to);
+
+        return parkingSessionRepository.findResponsesByVehicleId(
+                vehicleId,
+                KeysetPagination.rangeFrom(from),
+                KeysetPagination.rangeTo(to)
+        );
     }
 
     @Transactional
@@ -153,13 +234,6 @@ public class ParkingSessionService {
             );
         }
 
-        if (parkingSessionRepository.existsBySpotIdAndStatus(spot.getId(), SessionStatus.ACTIVE)) {
-            log.warn("Session denied: active session exists for spot, spotId = {}", spot.getId());
-            throw new ParkingSessionConflictException(
-                    "Active parking session already exists for spot id = " + spot.getId()
-            );
-        }
-
         if (parkingSessionRepository.existsByVehicleIdAndStatus(vehicle.getId(), SessionStatus.ACTIVE)) {
             log.warn("Session denied: active session exists for vehicle, vehicleId = {}", vehicle.getId());
             throw new ParkingSessionConflictException(
@@ -170,8 +244,9 @@ public class ParkingSessionService {
         if (dto.getReservationId() == null) {
             validateUserAndSpotRulesForSession(vehicle, spot);
 
-            boolean reservedNow = reservationRepository
-                    .existsBySpotIdAndStatusAndStartTimeLessThanAndEndTimeGreaterThan(
+            boolean reservedNow = spotReservationIndex.isReady()
+                    ? spotReservationIndex.hasOverlap(spot.getId(), now, now)
+                    : reservationRepository.existsBySpotIdAndStatusAndStartTimeLessThanAndEndTimeGreaterThan(
                             spot.getId(),
                             ReservationStatus.ACTIVE,
                             now,
@@ -201,9 +276,11 @@ public class ParkingSessionService {
                 );
             }
 
-            if (reservation.getStatus() != ReservationStatus.ACTIVE) {
+            ReservationStatus reservationStatus = ReservationService.effectiveStatus(
+                    reservation.getStatus(), reservation.getEndTime(), now);
+            if (reservationStatus != ReservationStatus.ACTIVE) {
                 log.warn("Session denied: reservation not ACTIVE, reservationId = {}, status = {}",
-                        reservation.getId(), reservation.getStatus());
+                        reservation.getId(), reservationStatus);
                 throw new ParkingSessionConflictException(
                         "Reservation with id = " + reservation.getId() + " is not ACTIVE"
                 );
@@ -235,11 +312,18 @@ public class ParkingSessionService {
 
         spot.setStatus(SpotStatus.OCCUPIED);
         spot.setChanged(now);
-        spotRepository.save(spot);
+        spotRepository.saveAndFlush(spot);
+
+        Long spotId = spot.getId();
+        TransactionCallbacks.afterCommit(() -> spotAvailabilityIndex.occupy(spotId));
 
         log.info("Spot marked as OCCUPIED, spotId = {}", spot.getId());
 
         ParkingSession saved = parkingSessionRepository.save(session);
+        lotRollupService.recordSessionStarted(spot.getParkingLot().getId(), now);
+        outboxService.recordSpot(DomainEventType.SPOT_STATUS_CHANGED, spot);
+        outboxService.recordSession(DomainEventType.SESSION_STARTED, saved);
+        TransactionCallbacks.afterCommit(() -> deadlineScheduler.scheduleSession(saved.getId(), saved.getStartTime()));
 
         log.info("Parking session created, id = {}, vehicleId = {}, spotId = {}",
                 saved.getId(), vehicle.getId(), spot.getId());
@@ -247,6 +331,65 @@ public class ParkingSessionService {
         return saved;
     }
 
+    @Transactional
+    public ParkingSession allocateSession(Long parkingLotId, ParkingSessionAllocateDto dto) {
+        return allocateSession(parkingLotId, dto, LocalDateTime.now());
+    }
+
+    // startTime is when the vehicle entered, which for gate events can be earlier than now
+    @Transactional
+    public ParkingSession allocateSession(Long parkingLotId, ParkingSessionAllocateDto dto, LocalDateTime startTime) {
+        log.info("Allocate parking session, parkingLotId = {}, startTime = {}", parkingLotId, startTime);
+        log.debug("Allocate parking session payload = {}", dto);
+
+        LocalDateTime now = LocalDateTime.now();
+
+        if (!parkingLotRepository.existsById(parkingLotId)) {
+            throw new ParkingLotNotFoundException(parkingLotId);
+        }
+
+        Vehicle vehicle = vehicleRepository.findById(dto.getVehicleId())
+                .orElseThrow(() -> new VehicleNotFoundException(dto.getVehicleId()));
+
+        if (parkingSessionRepository.existsByVehicleIdAndStatus(vehicle.getId(), SessionStatus.ACTIVE)) {
+            log.warn("Allocation denied: active session exists for vehicle, vehicleId = {}", vehicle.getId());
+            throw new ParkingSessionConflictException(
+                    "Active parking session already exists for vehicle id = " + vehicle.getId()
+            );
+        }
+
+        validateUserForSession(vehicle.getUser());
+
+        for (SpotType type : compatibleSpotTypes(vehicle)) {
+            for (Long candidateId : findAllocationCandidates(parkingLotId, type, now)) {
+                Spot spot = claimSpot(candidateId, now);
+                if (spot == null) {
+                    continue;
+                }
+
+                validateUserAndSpotRulesForSession(vehicle, spot);
+
+                ParkingSession saved = parkingSessionRepository.save(new ParkingSession(vehicle, spot, startTime));
+                lotRollupService.recordSessionStarted(parkingLotId, startTime);
+                outboxService.recordSpot(DomainEventType.SPOT_STATUS_CHANGED, spot);
+                outboxService.recordSession(DomainEventType.SESSION_STARTED, saved);
+                TransactionCallbacks.afterCommit(() -> deadlineScheduler.scheduleSession(saved.getId(), startTime));
+
+                log.info("Parking session allocated, id = {}, vehicleId = {}, spotId = {}, spotType = {}",
+                        saved.getId(), vehicle.getId(), spot.getId(), spot.getType());
+
+                return saved;
+            }
+        }
+
+        log.warn("Allocation denied: no compatible spot available, parkingLotId = {}, vehicleId = {}",
+                parkingLotId, vehicle.getId());
+        throw new ParkingSessionConflictException(
+                "No compatible spot is available in parking lot id = " + parkingLotId
+                        + " for vehicle id = " + vehicle.getId()
+        );
+    }
+
     @Transactional
     public ParkingSession createSessionFromReservation(Long reservationId) {
         log.info("Create parking session from reservation, reservationId = {}", reservationId);
@@ -277,29 +420,12 @@ public class ParkingSessionService {
         }
 
         parkingSessionRepository.deleteById(id);
+        outboxService.recordDeleted(AggregateType.PARKING_SESSION, id, DomainEventType.SESSION_DELETED);
 
         log.info("Parking session deleted, id = {}", id);
         return true;
     }
 
-    public List<ParkingSession> getSessionsBySpotId(Long spotId) {
-        log.info("Get parking sessions by spotId = {}", spotId);
-
-        if (!spotRepository.existsById(spotId)) {
-            throw new SpotNotFoundException(spotId);
-        }
-
-        return parkingSessionRepository.findBySpotId(spotId);
-    }
-
-    public List<ParkingSession> getSessionsByVehicleId(Long vehicleId) {
-        log.info("Get parking sessions by vehicleId = {}", vehicleId);
-
-        securityUtil.assertVehicleOwnerOrAdmin(vehicleId);
-
-        return parkingSessionRepository.findByVehicleId(vehicleId);
-    }
-
     @Transactional
     public ParkingSession finishSession(Long id) {
         log.info("Finish parking session, id = {}", id);
@@ -314,20 +440,48 @@ public class ParkingSessionService {
             throw new ParkingSessionConflictException("Parking session with id = " + id + " is already FINISHED");
         }
 
+        return completeSession(session, LocalDateTime.now());
+    }
+
+    @Transactional
+    public ParkingSession finishActiveSessionForVehicle(Long vehicleId, Long parkingLotId) {
+        return finishActiveSessionForVehicle(vehicleId, parkingLotId, LocalDateTime.now());
+    }
+
+    @Transactional
+    public ParkingSession finishActiveSessionForVehicle(Long vehicleId, Long parkingLotId, LocalDateTime endTime) {
+        log.info("Finish active parking session for vehicle, vehicleId = {}, parkingLotId = {}, endTime = {}",
+                vehicleId, parkingLotId, endTime);
+
+        ParkingSession session = parkingSessionRepository.findFirstByVehicleIdAndStatus(vehicleId, SessionStatus.ACTIVE)
+                .orElseThrow(() -> new ParkingSessionConflictException(
+                        "No active parking session for vehicle id = " + vehicleId
+                ));
+
+        Long sessionLotId = session.getSpot().getParkingLot().getId();
+        if (!sessionLotId.equals(parkingLotId)) {
+            log.warn("Session finish denied: lot mismatch, sessionId = {}, sessionLotId = {}, parkingLotId = {}",
+                    session.getId(), sessionLotId, parkingLotId);
+            throw new ParkingSessionConflictException(
+                    "Active parking session id = " + session.getId() + " is not in parking lot id = " + parkingLotId
+            );
+        }
+
+        return completeSession(session, endTime);
+    }
+
+    private ParkingSession completeSession(ParkingSession session, LocalDateTime endTime) {
+        Long id = session.getId();
         LocalDateTime now = LocalDateTime.now();
+        // an exit reported out of order must not end the session before it started
+        LocalDateTime end = endTime.isBefore(session.getStartTime()) ? session.getStartTime() : endTime;
 
         session.setStatus(SessionStatus.FINISHED);
-        session.setEndTime(now);
+        session.setEndTime(end);
 
         Tariff tariff = session.getSpot().getParkingLot().getTariff();
 
-        BigDecimal cost = calculateCost(
-                session.getStartTime(),
-                now,
-                tariff.getHourPrice(),
-                tariff.getBillingStepMinutes(),
-                tariff.getFreeMinutes()
-        );
+        BigDecimal cost = tariffCostEngine.calculateCost(tariff, session.getStartTime(), end);
 
         session.setTotalCost(cost);
 
@@ -339,16 +493,28 @@ public class ParkingSessionService {
         spot.setChanged(now);
         spotRepository.save(spot);
 
+        Long spotId = spot.getId();
+        TransactionCallbacks.afterCommit(() -> spotAvailabilityIndex.release(spotId));
+
         Reservation reservation = session.getReservation();
         if (reservation != null) {
             reservation.setStatus(ReservationStatus.EXPIRED);
             reservation.setChanged(now);
             reservationRepository.save(reservation);
+            outboxService.recordReservation(DomainEventType.RESERVATION_STATUS_CHANGED, reservation);
+
+            Long reservationId = reservation.getId();
+            TransactionCallbacks.afterCommit(() -> spotReservationIndex.remove(reservationId));
+            TransactionCallbacks.afterCommit(() -> deadlineScheduler.cancelReservation(reservationId));
         }
 
         log.info("Spot marked as AVAILABLE, spotId = {}", spot.getId());
 
         ParkingSession saved = parkingSessionRepository.save(session);
+        lotRollupService.recordSessionFinished(spot.getParkingLot().getId(), saved.getStartTime(), end, cost);
+        outboxService.recordSpot(DomainEventType.SPOT_STATUS_CHANGED, spot);
+        outboxService.recordSession(DomainEventType.SESSION_FINISHED, saved);
+        TransactionCallbacks.afterCommit(() -> deadlineScheduler.cancelSession(id));
 
         log.info("Parking session finished, id = {}", saved.getId());
 
@@ -356,6 +522,65 @@ public class ParkingSessionService {
     }
 
 
+    public ParkingSessionQuoteDto quoteSession(Long id) {
+        log.info("Quote parking session, id = {}", id);
+
+        ParkingSessionQuoteRowDto row = parkingSessionRepository.findQuoteRowById(id)
+                .orElseThrow(() -> new ParkingSessionNotFoundException(id));
+
+        if (!securityUtil.isAdmin() && !row.getOwnerId().equals(securityUtil.getCurrentUser().getId())) {
+            log.warn("Quote denied: session {} is not owned by current user", id);
+            throw new SessionAccessDeniedException(id);
+        }
+
+        if (row.getStatus() != SessionStatus.ACTIVE) {
+            log.warn("Quote denied: session is not ACTIVE, id = {}, status = {}", id, row.getStatus());
+            throw new ParkingSessionConflictException("Parking session with id = " + id + " is not ACTIVE");
+        }
+
+        return quote(row, LocalDateTime.now());
+    }
+
+    public List<ParkingSessionQuoteDto> quoteActiveSessions(Long parkingLotId) {
+        log.info("Quote active parking sessions, parkingLotId = {}", parkingLotId);
+
+        if (!parkingLotRepository.existsById(parkingLotId)) {
+            throw new ParkingLotNotFoundException(parkingLotId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ParkingSessionQuoteDto> quotes = parkingSessionRepository
+                .findQuoteRowsByParkingLotIdAndStatus(parkingLotId, SessionStatus.ACTIVE)
+                .stream()
+                .map(row -> quote(row, now))
+                .toList();
+
+        log.info("Active parking sessions quoted, parkingLotId = {}, count = {}", parkingLotId, quotes.size());
+        return quotes;
+    }
+
+    private ParkingSessionQuoteDto quote(ParkingSessionQuoteRowDto row, LocalDateTime now) {
+        TariffCostEngine.CompiledTariff tariff = tariffCostEngine.compile(
+                row.getTariffId(),
+                row.getHourPrice(),
+                row.getBillingStepMinutes(),
+                row.getFreeMinutes(),
+                row.getDailyCap(),
+                row.getSessionCap()
+        );
+
+        return new ParkingSessionQuoteDto(
+                row.getSessionId(),
+                row.getSpotId(),
+                row.getParkingLotId(),
+                row.getTariffId(),
+                row.getStartTime(),
+                now,
+                Math.max(0, Duration.between(row.getStartTime(), now).toMinutes()),
+                tariffCostEngine.calculateCost(tariff, row.getStartTime(), now)
+        );
+    }
+
     private ParkingSessionResponseDto toDto(ParkingSession session) {
         if (session == null) {
             return null;
@@ -382,7 +607,7 @@ public class ParkingSessionService {
 
         ReservationShortDto reservationDto = (r == null) ? null : new ReservationShortDto(
                 r.getId(),
-                r.getStatus(),
+                ReservationService.effectiveStatus(r.getStatus(), r.getEndTime(), LocalDateTime.now()),
                 r.getStartTime(),
                 r.getEndTime()
         );
@@ -399,14 +624,71 @@ public class ParkingSessionService {
         );
     }
 
-    private void validateUserAndSpotRulesForSession(Vehicle vehicle, Spot spot) {
-        User user = vehicle.getUser();
+    private List<Long> findAllocationCandidates(Long parkingLotId, SpotType type, LocalDateTime now) {
+        if (!spotAvailabilityIndex.isReady() || !spotReservationIndex.isReady()) {
+            return spotRepository.findAvailableSpots(parkingLotId, type, now, now, SessionStatus.ACTIVE).stream()
+                    .map(Spot::getId)
+                    .toList();
+        }
+
+        return spotAvailabilityIndex.findAvailableSpotIds(parkingLotId, type).stream()
+                .filter(id -> !spotReservationIndex.hasOverlap(id, now, now))
+                .toList();
+    }
+
+    private Spot claimSpot(Long spotId, LocalDateTime now) {
+        boolean claimedInMemory = spotAvailabilityIndex.isReady();
+        if (claimedInMemory && !spotAvailabilityIndex.tryClaim(spotId)) {
+            return null;
+        }
 
+        if (spotRepository.claimAvailableSpot(spotId, now, SessionStatus.ACTIVE) == 0) {
+            log.debug("Spot claim lost in database, spotId = {}", spotId);
+            if (claimedInMemory) {
+                spotAvailabilityIndex.setActiveSession(spotId, false);
+            }
+            return null;
+        }
+
+        if (claimedInMemory) {
+            TransactionCallbacks.afterRollback(() -> spotAvailabilityIndex.setActiveSession(spotId, false));
+        }
+        TransactionCallbacks.afterCommit(() -> spotAvailabilityIndex.occupy(spotId));
+
+        return spotRepository.findById(spotId)
+                .orElseThrow(() -> new SpotNotFoundException(spotId));
+    }
+
+    private List<SpotType> compatibleSpotTypes(Vehicle vehicle) {
+        VehicleType vehicleType = vehicle.getType();
+        boolean disabledPermit = Boolean.TRUE.equals(vehicle.getUser().getDisabledPermit());
+
+        List<SpotType> types = new ArrayList<>();
+        if (disabledPermit) {
+            types.add(SpotType.DISABLED);
+        }
+        if (vehicleType == VehicleType.ELECTRIC_CAR) {
+            types.add(SpotType.ELECTRIC);
+        }
+        if (vehicleType == VehicleType.TRUCK) {
+            types.add(SpotType.TRUCK);
+        }
+        types.add(SpotType.STANDARD);
+        return types;
+    }
+
+    private void validateUserForSession(User user) {
         log.debug("Validate user status for session, userId = {}, status = {}", user.getId(), user.getStatus());
         if (user.getStatus() != UserStatus.ACTIVE) {
             log.warn("Session denied: user is not ACTIVE, userId = {}, status = {}", user.getId(), user.getStatus());
             throw new ParkingSessionConflictException("User with id = " + user.getId() + " is not ACTIVE");
         }
+    }
+
+    private void validateUserAndSpotRulesForSession(Vehicle vehicle, Spot spot) {
+        User user = vehicle.getUser();
+
+        validateUserForSession(user);
 
         SpotType spotType = spot.getType();
         VehicleType vehicleType = vehicle.getType();
@@ -443,37 +725,4 @@ public class ParkingSessionService {
         }
     }
 
-    private BigDecimal calculateCost(LocalDateTime start,
-                                     LocalDateTime end,
-                                     BigDecimal hourPrice,
-                                     Integer billingStepMinutes,
-                                     Integer freeMinutes) {
-
-        if (start == null || end == null || !end.isAfter(start)) {
-            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
-        }
-        if (hourPrice == null || billingStepMinutes == null || billingStepMinutes <= 0) {
-            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
-        }
-
-        long totalMinutes = Duration.between(start, end).toMinutes();
-        int free = (freeMinutes == null) ? 0 : Math.max(0, freeMinutes);
-
-        long billableMinutes = totalMinutes - free;
-        if (billableMinutes <= 0) {
-            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
-        }
-
-        long step = billingStepMinutes;
-        long steps = (billableMinutes + step - 1) / step;
-
-        BigDecimal stepPrice = hourPrice
-                .multiply(BigDecimal.valueOf(step))
-                .divide(BigDecimal.valueOf(60), 10, RoundingMode.HALF_UP);
-
-        BigDecimal total = stepPrice.multiply(BigDecimal.valueOf(steps));
-
-        return total.setScale(2, RoundingMode.HALF_UP);
-    }
-
 }
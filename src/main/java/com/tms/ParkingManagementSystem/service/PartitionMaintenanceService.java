@@ -0,0 +1,127 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.exception.ArchivedRangeException;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+public class PartitionMaintenanceService {
+
+    public static final List<String> PARTITIONED_TABLES = List.of("parking_sessions", "reservations");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_p'uuuu_MM");
+
+    private final EntityManager entityManager;
+    private final Map<String, NavigableSet<YearMonth>> archivedMonths = new ConcurrentHashMap<>();
+
+    public PartitionMaintenanceService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional
+    public void ensurePartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            for (String table : PARTITIONED_TABLES) {
+                entityManager.createNativeQuery("select public.ensure_monthly_partition(:parent, :month)")
+                        .setParameter("parent", table)
+                        .setParameter("month", month.atDay(1))
+                        .getSingleResult();
+            }
+        }
+
+        log.info("Monthly partitions ensured, from = {}, to = {}", from, to);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<YearMonth> getAttachedMonths(String table) {
+        List<String> names = entityManager.createNativeQuery("""
+                select c.relname
+                from pg_inherits i
+                join pg_class c on c.oid = i.inhrelid
+                join pg_class p on p.oid = i.inhparent
+                join pg_namespace n on n.oid = p.relnamespace
+                where n.nspname = 'public'
+                  and p.relname = :parent
+                  and c.relname <> :defaultPartition
+                order by c.relname
+                """)
+                .setParameter("parent", table)
+                .setParameter("defaultPartition", table + "_default")
+                .getResultList();
+
+        return names.stream()
+                .map(name -> YearMonth.parse(name.substring(table.length()), PARTITION_SUFFIX))
+                .toList();
+    }
+
+    public NavigableSet<YearMonth> getArchivedMonths(String table) {
+        return archivedMonths.computeIfAbsent(table, this::loadArchivedMonths);
+    }
+
+    public void refreshArchivedMonths() {
+        for (String table : PARTITIONED_TABLES) {
+            archivedMonths.put(table, loadArchivedMonths(table));
+        }
+    }
+
+    // archived months are never read, so an open from is checked like any other range that reaches them
+    public void checkNotArchived(String table, LocalDateTime from, LocalDateTime to) {
+        NavigableSet<YearMonth> months = getArchivedMonths(table);
+
+        YearMonth archived = months.ceiling(YearMonth.from(KeysetPagination.rangeFrom(from)));
+        if (archived != null && archived.atDay(1).atStartOfDay().isBefore(KeysetPagination.rangeTo(to))) {
+            throw new ArchivedRangeException(table, archived, months.last().plusMonths(1));
+        }
+    }
+
+    @Transactional
+    public boolean archivePartition(String table, YearMonth month) {
+        LocalDate monthStart = month.atDay(1);
+
+        Boolean archived = (Boolean) entityManager
+                .createNativeQuery("select public.archive_monthly_partition(:parent, :month)")
+                .setParameter("parent", table)
+                .setParameter("month", monthStart)
+                .getSingleResult();
+
+        if (Boolean.TRUE.equals(archived)) {
+            TransactionCallbacks.afterCommit(() -> archivedMonths.remove(table));
+            log.info("Partition archived, table = {}, month = {}", table, month);
+            return true;
+        }
+
+        log.warn("Partition kept attached, table = {}, month = {}", table, month);
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private NavigableSet<YearMonth> loadArchivedMonths(String table) {
+        List<String> names = entityManager.createNativeQuery("""
+                select c.relname
+                from pg_class c
+                join pg_namespace n on n.oid = c.relnamespace
+                where n.nspname = 'archive'
+                  and c.relkind = 'r'
+                  and c.relname ~ ('^' || :parent || '_p[0-9]{4}_[0-9]{2}$')
+                """)
+                .setParameter("parent", table)
+                .getResultList();
+
+        NavigableSet<YearMonth> months = new TreeSet<>();
+        names.forEach(name -> months.add(YearMonth.parse(name.substring(table.length()), PARTITION_SUFFIX)));
+        return months;
+    }
+}
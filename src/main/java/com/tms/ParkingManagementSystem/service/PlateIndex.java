@@ -0,0 +1,326 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.model.dto.PlateMatchDto;
+import com.tms.ParkingManagementSystem.model.dto.VehiclePlateDto;
+import com.tms.ParkingManagementSystem.repository.VehicleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class PlateIndex {
+
+    public static final int CONFUSABLE_COST = 1;
+    public static final int EDIT_COST = 2;
+
+    private static final String[] CONFUSABLE_GROUPS = {"0ODQ", "1IL", "7T", "2Z", "5S", "6G", "8B", "4A", "UV"};
+    private static final boolean[][] CONFUSABLE = new boolean[128][128];
+
+    static {
+        for (String group : CONFUSABLE_GROUPS) {
+            for (char a : group.toCharArray()) {
+                for (char b : group.toCharArray()) {
+                    CONFUSABLE[a][b] = true;
+                }
+            }
+        }
+    }
+
+    private final VehicleRepository vehicleRepository;
+
+    private final Map<String, Long> vehicleIdByPlate = new ConcurrentHashMap<>();
+    private final Map<Long, String> plateByVehicleId = new ConcurrentHashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Node> nodesByKey = new HashMap<>();
+    private Node root;
+    private int liveKeys;
+    private int deadKeys;
+
+    private volatile boolean ready;
+
+    public PlateIndex(VehicleRepository vehicleRepository) {
+        this.vehicleRepository = vehicleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        log.info("Load plate index");
+
+        List<VehiclePlateDto> plates = vehicleRepository.findAllPlates();
+
+        lock.writeLock().lock();
+        try {
+            vehicleIdByPlate.clear();
+            plateByVehicleId.clear();
+            clearTree();
+
+            for (VehiclePlateDto plate : plates) {
+                put(plate.getId(), plate.getPlateNumber());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ready = true;
+
+        log.info("Plate index loaded, plates = {}, keys = {}", plates.size(), liveKeys);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean containsPlate(String plateNumber) {
+        return vehicleIdByPlate.containsKey(plateNumber);
+    }
+
+    public Long findExact(String plateNumber) {
+        return vehicleIdByPlate.get(plateNumber);
+    }
+
+    public Long resolve(String plateNumber, int maxDistance) {
+        Long exact = vehicleIdByPlate.get(plateNumber);
+        if (exact != null) {
+            return exact;
+        }
+
+        List<PlateMatchDto> matches = findSimilar(plateNumber, maxDistance, 2);
+        if (matches.isEmpty()) {
+            return null;
+        }
+
+        if (matches.size() > 1 && matches.get(1).getDistance() == matches.get(0).getDistance()) {
+            log.debug("Ambiguous plate read, plate = {}, candidates = {}", plateNumber, matches);
+            return null;
+        }
+
+        return matches.get(0).getVehicleId();
+    }
+
+    public List<PlateMatchDto> findSimilar(String plateNumber, int maxDistance, int limit) {
+        String key = normalize(plateNumber);
+        List<PlateMatchDto> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (root == null || key.isEmpty()) {
+                return matches;
+            }
+
+            List<Node> stack = new ArrayList<>();
+            stack.add(root);
+
+            while (!stack.isEmpty()) {
+                Node node = stack.remove(stack.size() - 1);
+                int distance = distance(key, node.key);
+
+                if (distance <= maxDistance) {
+                    for (Long vehicleId : node.vehicleIds) {
+                        matches.add(new PlateMatchDto(vehicleId, plateByVehicleId.get(vehicleId), distance));
+                    }
+                }
+
+                for (int i = 0; i < node.childCount; i++) {
+                    int edge = node.childDistances[i];
+                    if (edge >= distance - maxDistance && edge <= distance + maxDistance) {
+                        stack.add(node.children[i]);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparingInt(PlateMatchDto::getDistance).thenComparing(PlateMatchDto::getVehicleId));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    public void put(Long vehicleId, String plateNumber) {
+        lock.writeLock().lock();
+        try {
+            remove(vehicleId);
+
+            vehicleIdByPlate.put(plateNumber, vehicleId);
+            plateByVehicleId.put(vehicleId, plateNumber);
+
+            String key = normalize(plateNumber);
+            Node node = nodesByKey.get(key);
+            if (node == null) {
+                node = insert(key);
+            } else if (node.vehicleIds.isEmpty()) {
+                deadKeys--;
+                liveKeys++;
+            }
+            node.vehicleIds.add(vehicleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long vehicleId) {
+        lock.writeLock().lock();
+        try {
+            String plateNumber = plateByVehicleId.remove(vehicleId);
+            if (plateNumber == null) {
+                return;
+            }
+
+            vehicleIdByPlate.remove(plateNumber, vehicleId);
+
+            Node node = nodesByKey.get(normalize(plateNumber));
+            if (node != null && node.vehicleIds.remove(vehicleId) && node.vehicleIds.isEmpty()) {
+                liveKeys--;
+                deadKeys++;
+            }
+
+            if (deadKeys > 1024 && deadKeys > liveKeys) {
+                rebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return plateByVehicleId.size();
+    }
+
+    public static String normalize(String plateNumber) {
+        StringBuilder normalized = new StringBuilder(plateNumber.length());
+        for (int i = 0; i < plateNumber.length(); i++) {
+            char c = Character.toUpperCase(plateNumber.charAt(i));
+            if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    public static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j * EDIT_COST;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i * EDIT_COST;
+            char ca = a.charAt(i - 1);
+
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + substitutionCost(ca, b.charAt(j - 1));
+                int deletion = previous[j] + EDIT_COST;
+                int insertion = current[j - 1] + EDIT_COST;
+                current[j] = Math.min(substitution, Math.min(deletion, insertion));
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[b.length()];
+    }
+
+    private static int substitutionCost(char a, char b) {
+        if (a == b) {
+            return 0;
+        }
+        if (a < 128 && b < 128 && CONFUSABLE[a][b]) {
+            return CONFUSABLE_COST;
+        }
+        return EDIT_COST;
+    }
+
+    private Node insert(String key) {
+        Node node = new Node(key);
+        nodesByKey.put(key, node);
+        liveKeys++;
+
+        if (root == null) {
+            root = node;
+            return node;
+        }
+
+        Node current = root;
+        while (true) {
+            int distance = distance(key, current.key);
+            Node child = current.child(distance);
+            if (child == null) {
+                current.addChild(distance, node);
+                return node;
+            }
+            current = child;
+        }
+    }
+
+    private void rebuild() {
+        Map<String, Node> live = new HashMap<>();
+        nodesByKey.forEach((key, node) -> {
+            if (!node.vehicleIds.isEmpty()) {
+                live.put(key, node);
+            }
+        });
+
+        clearTree();
+        live.forEach((key, old) -> insert(key).vehicleIds.addAll(old.vehicleIds));
+
+        log.info("Plate index rebuilt, keys = {}", liveKeys);
+    }
+
+    private void clearTree() {
+        nodesByKey.clear();
+        root = null;
+        liveKeys = 0;
+        deadKeys = 0;
+    }
+
+    private static final class Node {
+
+        private final String key;
+        private final Set<Long> vehicleIds = new LinkedHashSet<>(2);
+
+        private int[] childDistances = new int[0];
+        private Node[] children = new Node[0];
+        private int childCount;
+
+        private Node(String key) {
+            this.key = key;
+        }
+
+        private Node child(int distance) {
+            for (int i = 0; i < childCount; i++) {
+                if (childDistances[i] == distance) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private void addChild(int distance, Node child) {
+            if (childCount == children.length) {
+                int capacity = Math.max(2, childCount * 2);
+                childDistances = Arrays.copyOf(childDistances, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            childDistances[childCount] = distance;
+            children[childCount] = child;
+            childCount++;
+        }
+    }
+}
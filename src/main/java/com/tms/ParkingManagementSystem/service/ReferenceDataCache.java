@@ -0,0 +1,85 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.model.ParkingLot;
+import com.tms.ParkingManagementSystem.model.Tariff;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.List;
+
+@Slf4j
+@Component
+public class ReferenceDataCache implements MeterBinder {
+
+    public static final String TARIFF_REGION = "tariffs";
+    public static final String PARKING_LOT_REGION = "parkingLots";
+
+    private static final List<String> REGIONS = List.of(TARIFF_REGION, PARKING_LOT_REGION);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReferenceDataCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void evictTariff(Long tariffId) {
+        log.debug("Evict cached tariff, id = {}", tariffId);
+        entityManagerFactory.getCache().evict(Tariff.class, tariffId);
+    }
+
+    public void evictParkingLot(Long parkingLotId) {
+        log.debug("Evict cached parking lot, id = {}", parkingLotId);
+        entityManagerFactory.getCache().evict(ParkingLot.class, parkingLotId);
+    }
+
+    // statistics are enabled per region in application.conf, independent of hibernate.generate_statistics
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(RegionFactory.class);
+        if (!(regionFactory instanceof JCacheRegionFactory jCacheRegionFactory)) {
+            log.info("Second-level cache is not backed by JCache, cache meters are not registered");
+            return;
+        }
+
+        CacheManager cacheManager = jCacheRegionFactory.getCacheManager();
+        for (String region : REGIONS) {
+            Cache<Object, Object> cache = cacheManager.getCache(region);
+            if (cache == null) {
+                log.warn("Second-level cache region {} does not exist, cache meters are not registered", region);
+                continue;
+            }
+
+            Tags tags = Tags.of("cache.manager", "hibernate");
+            JCacheMetrics.monitor(registry, cache, tags);
+
+            FunctionCounter hits = registry.get("cache.gets").tags(tags).tags("cache", region, "result", "hit")
+                    .functionCounter();
+            FunctionCounter misses = registry.get("cache.gets").tags(tags).tags("cache", region, "result", "miss")
+                    .functionCounter();
+            Gauge.builder("cache.hit.ratio", () -> hitRatio(hits.count(), misses.count()))
+                    .tags(tags)
+                    .tag("cache", region)
+                    .description("Share of second-level cache lookups served without a database round trip")
+                    .register(registry);
+        }
+    }
+
+    private static double hitRatio(double hits, double misses) {
+        double lookups = hits + misses;
+        return lookups == 0 ? 0 : hits / lookups;
+    }
+}
@@ -1,5 +1,8 @@
 package com.tms.ParkingManagementSystem.service;
 
+import com.tms.ParkingManagementSystem.config.ReadFromReplica;
+import com.tms.ParkingManagementSystem.enums.AggregateType;
+import com.tms.ParkingManagementSystem.enums.DomainEventType;
 import com.tms.ParkingManagementSystem.enums.ReservationStatus;
 import com.tms.ParkingManagementSystem.enums.SessionStatus;
 import com.tms.ParkingManagementSystem.enums.SpotStatus;
@@ -14,17 +17,25 @@ import com.tms.ParkingManagementSystem.model.Reservation;
 import com.tms.ParkingManagementSystem.model.Spot;
 import com.tms.ParkingManagementSystem.model.User;
 import com.tms.ParkingManagementSystem.model.Vehicle;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
 import com.tms.ParkingManagementSystem.model.dto.ReservationCreateDto;
+import com.tms.ParkingManagementSystem.model.dto.ReservationResponseDto;
 import com.tms.ParkingManagementSystem.model.dto.ReservationStatusUpdateDto;
 import com.tms.ParkingManagementSystem.model.dto.ReservationUpdateDto;
+import com.tms.ParkingManagementSystem.model.dto.SpotShortDto;
+import com.tms.ParkingManagementSystem.model.dto.VehicleShortDto;
 import com.tms.ParkingManagementSystem.repository.ParkingSessionRepository;
 import com.tms.ParkingManagementSystem.repository.ReservationRepository;
 import com.tms.ParkingManagementSystem.repository.SpotRepository;
+import com.tms.ParkingManagementSystem.scheduler.DeadlineScheduler;
 import com.tms.ParkingManagementSystem.security.SecurityUtil;
-import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -32,39 +43,129 @@ import java.util.List;
 @Service
 public class ReservationService {
 
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final ReservationRepository reservationRepository;
     private final SpotRepository spotRepository;
     private final ParkingSessionRepository parkingSessionRepository;
     private final SecurityUtil securityUtil;
+    private final SpotReservationIndex spotReservationIndex;
+    private final DeadlineScheduler deadlineScheduler;
+    private final LotRollupService lotRollupService;
+    private final OutboxService outboxService;
+    private final PartitionMaintenanceService partitionMaintenanceService;
 
     public ReservationService(ReservationRepository reservationRepository,
                               SpotRepository spotRepository,
                               ParkingSessionRepository parkingSessionRepository,
-                              SecurityUtil securityUtil) {
+                              SecurityUtil securityUtil,
+                              SpotReservationIndex spotReservationIndex,
+                              DeadlineScheduler deadlineScheduler,
+                              LotRollupService lotRollupService,
+                              OutboxService outboxService,
+                              PartitionMaintenanceService partitionMaintenanceService) {
         this.reservationRepository = reservationRepository;
         this.spotRepository = spotRepository;
         this.parkingSessionRepository = parkingSessionRepository;
         this.securityUtil = securityUtil;
+        this.spotReservationIndex = spotReservationIndex;
+        this.deadlineScheduler = deadlineScheduler;
+        this.lotRollupService = lotRollupService;
+        this.outboxService = outboxService;
+        this.partitionMaintenanceService = partitionMaintenanceService;
     }
 
-    private void expireOutdatedReservations() {
-        LocalDateTime now = LocalDateTime.now();
+    @Transactional
+    public int expireOutdatedReservations(LocalDateTime now, int batchSize) {
+        List<Long> outdatedIds = reservationRepository.findIdsByStatusAndEndTimeBefore(
+                ReservationStatus.ACTIVE,
+                now,
+                PageRequest.of(0, batchSize)
+        );
 
-        List<Reservation> outdated = reservationRepository
-                .findByStatusAndEndTimeBefore(ReservationStatus.ACTIVE, now);
+        if (outdatedIds.isEmpty()) {
+            return 0;
+        }
 
-        if (outdated.isEmpty()) {
-            return;
+        List<Long> expiredIds = reservationRepository.expireByIds(outdatedIds, now);
+        lotRollupService.recordReservationsExpired(expiredIds, now);
+        outboxService.recordReservationsExpired(expiredIds, now);
+        TransactionCallbacks.afterCommit(() -> spotReservationIndex.removeAll(expiredIds));
+
+        log.debug("Expired outdated reservations batch, selected = {}, expired = {}",
+                outdatedIds.size(), expiredIds.size());
+        return expiredIds.size();
+    }
+
+    public LocalDateTime getOldestOutdatedEndTime(LocalDateTime now) {
+        return reservationRepository.findOldestEndTimeByStatusAndEndTimeBefore(ReservationStatus.ACTIVE, now);
+    }
+
+    static ReservationStatus effectiveStatus(ReservationStatus status, LocalDateTime endTime, LocalDateTime now) {
+        if (status == ReservationStatus.ACTIVE && endTime.isBefore(now)) {
+            return ReservationStatus.EXPIRED;
         }
+        return status;
+    }
+
+    private static ReservationStatus effectiveStatus(Reservation reservation, LocalDateTime now) {
+        return effectiveStatus(reservation.getStatus(), reservation.getEndTime(), now);
+    }
+
+    private static List<ReservationResponseDto> withEffectiveStatus(List<ReservationResponseDto> reservations) {
+        LocalDateTime now = LocalDateTime.now();
+        reservations.forEach(r -> r.setStatus(effectiveStatus(r.getStatus(), r.getEndTime(), now)));
+        return reservations;
+    }
 
-        for (Reservation r : outdated) {
-            r.setStatus(ReservationStatus.EXPIRED);
-            r.setChanged(now);
+    private ReservationResponseDto toDto(Reservation reservation) {
+        Vehicle v = reservation.getVehicle();
+        Spot s = reservation.getSpot();
+
+        return new ReservationResponseDto(
+                reservation.getId(),
+                effectiveStatus(reservation, LocalDateTime.now()),
+                reservation.getStartTime(),
+                reservation.getEndTime(),
+                new VehicleShortDto(v.getId(), v.getPlateNumber(), v.getType()),
+                new SpotShortDto(
+                        s.getId(),
+                        s.getNumber(),
+                        s.getLevel(),
+                        s.getType(),
+                        s.getParkingLot().getId(),
+                        s.getParkingLot().getName()
+                ),
+                reservation.getCreated(),
+                reservation.getChanged()
+        );
+    }
+
+    private void scheduleDeadlines(Reservation reservation) {
+        if (reservation.getStatus() == ReservationStatus.ACTIVE) {
+            deadlineScheduler.scheduleReservation(
+                    reservation.getId(),
+                    reservation.getStartTime(),
+                    reservation.getEndTime()
+            );
+        } else {
+            deadlineScheduler.cancelReservation(reservation.getId());
         }
+    }
 
-        reservationRepository.saveAll(outdated);
+    private Reservation saveActiveReservation(Reservation reservation, String overlapMessage) {
+        try {
+            return reservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException ex) {
+            if (!(ex.getMostSpecificCause() instanceof SQLException sqlException)
+                    || !EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                throw ex;
+            }
 
-        log.info("Expired outdated reservations, count = {}", outdated.size());
+            log.warn("Reservation denied: time overlap, spotId = {}, start = {}, end = {}",
+                    reservation.getSpot().getId(), reservation.getStartTime(), reservation.getEndTime());
+            throw new ReservationConflictException(overlapMessage);
+        }
     }
 
     private void validateSpotTypeForVehicle(Spot spot, Vehicle vehicle) {
@@ -119,33 +220,45 @@ public class ReservationService {
         }
     }
 
-    public List<Reservation> getAllReservations() {
-        log.info("Get all reservations");
-
-        expireOutdatedReservations();
-
-        List<Reservation> reservations = reservationRepository.findAll();
+    @Transactional(readOnly = true)
+    @ReadFromReplica
+    public KeysetPageDto<ReservationResponseDto> getAllReservations(Long afterId,
+                                                         int limit,
+                                                         Long parkingLotId,
+                                                         ReservationStatus status,
+                                                         LocalDateTime from,
+                                                         LocalDateTime to) {
+        log.info("Get reservations page, afterId = {}, limit = {}", afterId, limit);
+
+        partitionMaintenanceService.checkNotArchived("reservations", from, to);
+
+        List<ReservationResponseDto> reservations = reservationRepository.findResponsePage(
+                KeysetPagination.afterId(afterId),
+                parkingLotId,
+                status,
+                KeysetPagination.rangeFrom(from),
+                KeysetPagination.rangeTo(to),
+                KeysetPagination.firstRows(limit)
+        );
         log.info("Found {} reservations", reservations.size());
 
-        return reservations;
+        return KeysetPagination.page(withEffectiveStatus(reservations), limit, ReservationResponseDto::getId);
     }
 
-    public Reservation getReservationById(Long id) {
+    @Transactional(readOnly = true)
+    public ReservationResponseDto getReservationById(Long id) {
         log.info("Get reservation by id = {}", id);
 
-        expireOutdatedReservations();
-
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ReservationNotFoundException(id));
 
         securityUtil.assertReservationOwnerOrAdmin(reservation);
 
-        return reservation;
+        return toDto(reservation);
     }
 
-
     @Transactional
-    public Reservation createReservation(ReservationCreateDto dto) {
+    public ReservationResponseDto createReservation(ReservationCreateDto dto) {
         log.info("Create reservation");
         log.debug("Create reservation payload = {}", dto);
 
@@ -192,50 +305,41 @@ public class ReservationService {
         validateSpotTypeForVehicle(spot, vehicle);
         validateDisabledPermit(spot, vehicle);
 
-        boolean hasOverlap = reservationRepository
-                .existsBySpotIdAndStatusAndStartTimeLessThanAndEndTimeGreaterThan(
-                        spot.getId(),
-                        ReservationStatus.ACTIVE,
-                        dto.getEndTime(),
-                        dto.getStartTime()
-                );
-
-        if (hasOverlap) {
-            log.warn("Reservation denied: time overlap, spotId = {}, start = {}, end = {}",
-                    spot.getId(), dto.getStartTime(), dto.getEndTime());
-            throw new ReservationConflictException(
-                    "Spot with id = " + spot.getId() + " already has an active reservation in this time range"
-            );
-        }
-
         Reservation reservation = new Reservation(vehicle, spot, dto.getStartTime(), now);
         reservation.setEndTime(dto.getEndTime());
         reservation.setChanged(now);
 
-        Reservation saved = reservationRepository.save(reservation);
+        Reservation saved = saveActiveReservation(
+                reservation,
+                "Spot with id = " + spot.getId() + " already has an active reservation in this time range"
+        );
+        lotRollupService.recordReservationCreated(spot.getParkingLot().getId(), now);
+        outboxService.recordReservation(DomainEventType.RESERVATION_CREATED, saved);
+        TransactionCallbacks.afterCommit(() -> spotReservationIndex.apply(saved));
+        TransactionCallbacks.afterCommit(() -> scheduleDeadlines(saved));
 
         log.info("Reservation created, id = {}, vehicleId = {}, spotId = {}",
                 saved.getId(), vehicle.getId(), spot.getId());
 
-        return saved;
+        return toDto(saved);
     }
 
     @Transactional
-    public Reservation updateReservation(Long id, ReservationUpdateDto dto) {
+    public ReservationResponseDto updateReservation(Long id, ReservationUpdateDto dto) {
         log.info("Update reservation, id = {}", id);
         log.debug("Update reservation payload = {}", dto);
 
-        expireOutdatedReservations();
-
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ReservationNotFoundException(id));
 
-
         securityUtil.assertReservationOwnerOrAdmin(reservation);
 
-        if (reservation.getStatus() != ReservationStatus.ACTIVE) {
+        LocalDateTime now = LocalDateTime.now();
+        ReservationStatus status = effectiveStatus(reservation, now);
+
+        if (status != ReservationStatus.ACTIVE) {
             log.warn("Reservation update denied: not ACTIVE, id = {}, status = {}",
-                    reservation.getId(), reservation.getStatus());
+                    reservation.getId(), status);
             throw new ReservationConflictException("Only ACTIVE reservations can be updated");
         }
 
@@ -243,22 +347,6 @@ public class ReservationService {
             throw new IllegalArgumentException("Reservation end time must be after start time");
         }
 
-        boolean hasOverlap = reservationRepository
-                .existsBySpotIdAndStatusAndIdNotAndStartTimeLessThanAndEndTimeGreaterThan(
-                        reservation.getSpot().getId(),
-                        ReservationStatus.ACTIVE,
-                        reservation.getId(),
-                        dto.getEndTime(),
-                        reservation.getStartTime()
-                );
-
-        if (hasOverlap) {
-            log.warn("Reservation update denied: time overlap, reservationId = {}", reservation.getId());
-            throw new ReservationConflictException(
-                    "Updated reservation time overlaps with another active reservation for this spot"
-            );
-        }
-
         if (parkingSessionRepository.existsByReservationId(reservation.getId())) {
             throw new ReservationConflictException(
                     "Cannot update reservation already used by a parking session, id = " + reservation.getId()
@@ -266,32 +354,48 @@ public class ReservationService {
         }
 
         reservation.setEndTime(dto.getEndTime());
-        reservation.setChanged(LocalDateTime.now());
+        reservation.setChanged(now);
 
-        Reservation saved = reservationRepository.save(reservation);
+        Reservation saved = saveActiveReservation(
+                reservation,
+                "Updated reservation time overlaps with another active reservation for this spot"
+        );
+        outboxService.recordReservation(DomainEventType.RESERVATION_UPDATED, saved);
+        TransactionCallbacks.afterCommit(() -> spotReservationIndex.apply(saved));
+        TransactionCallbacks.afterCommit(() -> scheduleDeadlines(saved));
 
         log.info("Reservation updated, id = {}", saved.getId());
-        return saved;
+        return toDto(saved);
     }
 
-
     @Transactional
-    public Reservation changeStatus(Long id, ReservationStatusUpdateDto dto) {
+    public ReservationResponseDto changeStatus(Long id, ReservationStatusUpdateDto dto) {
         log.info("Change reservation status, id = {}, status = {}", id, dto.getStatus());
         log.debug("Change reservation status payload = {}", dto);
 
-        expireOutdatedReservations();
-
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ReservationNotFoundException(id));
 
+        LocalDateTime now = LocalDateTime.now();
+        boolean expiring = reservation.getStatus() == ReservationStatus.ACTIVE
+                && dto.getStatus() == ReservationStatus.EXPIRED;
+
         reservation.setStatus(dto.getStatus());
-        reservation.setChanged(LocalDateTime.now());
+        reservation.setChanged(now);
 
-        Reservation saved = reservationRepository.save(reservation);
+        Reservation saved = saveActiveReservation(
+                reservation,
+                "Reservation id = " + id + " overlaps with another active reservation for this spot"
+        );
+        if (expiring) {
+            lotRollupService.recordReservationExpired(saved.getSpot().getParkingLot().getId(), now);
+        }
+        outboxService.recordReservation(DomainEventType.RESERVATION_STATUS_CHANGED, saved);
+        TransactionCallbacks.afterCommit(() -> spotReservationIndex.apply(saved));
+        TransactionCallbacks.afterCommit(() -> scheduleDeadlines(saved));
 
         log.info("Reservation status changed, id = {}", saved.getId());
-        return saved;
+        return toDto(saved);
     }
 
     @Transactional
@@ -307,52 +411,66 @@ public class ReservationService {
         }
 
         reservationRepository.deleteById(id);
+        outboxService.recordDeleted(AggregateType.RESERVATION, id, DomainEventType.RESERVATION_DELETED);
+        TransactionCallbacks.afterCommit(() -> spotReservationIndex.remove(id));
+        TransactionCallbacks.afterCommit(() -> deadlineScheduler.cancelReservation(id));
 
         log.info("Reservation deleted, id = {}", id);
         return true;
     }
 
-    public List<Reservation> getReservationsByVehicleId(Long vehicleId) {
-        log.info("Get reservations by vehicleId = {}", vehicleId);
+    @Transactional(readOnly = true)
+    public List<ReservationResponseDto> getReservationsByVehicleId(Long vehicleId, LocalDateTime from, LocalDateTime to) {
+        log.info("Get reservations by vehicleId = {}, from = {}, to = {}", vehicleId, from, to);
 
         securityUtil.assertVehicleOwnerOrAdmin(vehicleId);
-        expireOutdatedReservations();
-
-        return reservationRepository.findByVehicleId(vehicleId);
-    }
 
+        partitionMaintenanceService.checkNotArchived("reservations", from, to);
 
-    public List<Reservation> getReservationsBySpotId(Long spotId) {
-        log.info("Get reservations by spotId = {}", spotId);
+        return withEffectiveStatus(reservationRepository.findResponsesByVehicleId(
+                vehicleId,
+                KeysetPagination.rangeFrom(from),
+                KeysetPagination.rangeTo(to)
+        ));
+    }
 
-        expireOutdatedReservations();
+    @Transactional(readOnly = true)
+    public List<ReservationResponseDto> getReservationsBySpotId(Long spotId, LocalDateTime from, LocalDateTime to) {
+        log.info("Get reservations by spotId = {}, from = {}, to = {}", spotId, from, to);
 
         if (!spotRepository.existsById(spotId)) {
             throw new SpotNotFoundException(spotId);
         }
 
-        List<Reservation> reservations = reservationRepository.findBySpotId(spotId);
+        partitionMaintenanceService.checkNotArchived("reservations", from, to);
+
+        List<ReservationResponseDto> reservations = reservationRepository.findResponsesBySpotId(
+                spotId,
+                KeysetPagination.rangeFrom(from),
+                KeysetPagination.rangeTo(to)
+        );
         log.info("Found {} reservations for spotId = {}", reservations.size(), spotId);
 
-        return reservations;
+        return withEffectiveStatus(reservations);
     }
 
     @Transactional
-    public Reservation cancelReservation(Long id) {
+    public ReservationResponseDto cancelReservation(Long id) {
         log.info("Cancel reservation, id = {}", id);
 
-        expireOutdatedReservations();
-
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ReservationNotFoundException(id));
 
         securityUtil.assertReservationOwnerOrAdmin(reservation);
 
-        if (reservation.getStatus() == ReservationStatus.CANCELLED) {
-            return reservation;
+        LocalDateTime now = LocalDateTime.now();
+        ReservationStatus status = effectiveStatus(reservation, now);
+
+        if (status == ReservationStatus.CANCELLED) {
+            return toDto(reservation);
         }
 
-        if (reservation.getStatus() == ReservationStatus.EXPIRED) {
+        if (status == ReservationStatus.EXPIRED) {
             throw new ReservationConflictException("Cannot cancel EXPIRED reservation, id = " + id);
         }
 
@@ -360,14 +478,15 @@ public class ReservationService {
             throw new ReservationConflictException("Cannot cancel reservation already used by a parking session, id = " + id);
         }
 
-        LocalDateTime now = LocalDateTime.now();
         reservation.setStatus(ReservationStatus.CANCELLED);
         reservation.setChanged(now);
 
         Reservation saved = reservationRepository.save(reservation);
+        outboxService.recordReservation(DomainEventType.RESERVATION_CANCELLED, saved);
+        TransactionCallbacks.afterCommit(() -> spotReservationIndex.remove(id));
+        TransactionCallbacks.afterCommit(() -> deadlineScheduler.cancelReservation(id));
 
         log.info("Reservation cancelled, id = {}", id);
-        return saved;
+        return toDto(saved);
     }
-
 }
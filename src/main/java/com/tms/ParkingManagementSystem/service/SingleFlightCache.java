@@ -0,0 +1,85 @@
+package com.tms.ParkingManagementSystem.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class SingleFlightCache<T> {
+
+    private final Supplier<T> loader;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicReference<CompletableFuture<T>> inFlight = new AtomicReference<>();
+    private volatile Entry<T> entry;
+
+    public SingleFlightCache(Supplier<T> loader, Duration ttl) {
+        this(loader, ttl, System::nanoTime);
+    }
+
+    SingleFlightCache(Supplier<T> loader, Duration ttl, LongSupplier nanoClock) {
+        this.loader = loader;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public T get() {
+        T cached = fresh();
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<T> load = new CompletableFuture<>();
+        CompletableFuture<T> running = inFlight.compareAndExchange(null, load);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            T value = fresh();
+            if (value == null) {
+                value = loader.get();
+                entry = new Entry<>(value, nanoClock.getAsLong());
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    public void invalidate() {
+        entry = null;
+    }
+
+    private T fresh() {
+        Entry<T> current = entry;
+        if (current != null && nanoClock.getAsLong() - current.loadedAt() < ttlNanos) {
+            return current.value();
+        }
+        return null;
+    }
+
+    private static <T> T await(CompletableFuture<T> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private record Entry<T>(T value, long loadedAt) {
+    }
+}
@@ -0,0 +1,312 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.SessionStatus;
+import com.tms.ParkingManagementSystem.enums.SpotStatus;
+import com.tms.ParkingManagementSystem.enums.SpotType;
+import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.dto.SpotStateDto;
+import com.tms.ParkingManagementSystem.repository.ParkingSessionRepository;
+import com.tms.ParkingManagementSystem.repository.SpotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class SpotAvailabilityIndex {
+
+    private final SpotRepository spotRepository;
+    private final ParkingSessionRepository parkingSessionRepository;
+
+    private final Map<Long, LotSlots> lots = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lotBySpotId = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    public SpotAvailabilityIndex(SpotRepository spotRepository,
+                                 ParkingSessionRepository parkingSessionRepository) {
+        this.spotRepository = spotRepository;
+        this.parkingSessionRepository = parkingSessionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        log.info("Load spot availability index");
+
+        List<SpotStateDto> states = spotRepository.findAllStates();
+        Set<Long> activeSessionSpotIds = new HashSet<>(
+                parkingSessionRepository.findSpotIdsByStatus(SessionStatus.ACTIVE)
+        );
+
+        lots.clear();
+        lotBySpotId.clear();
+
+        for (SpotStateDto state : states) {
+            put(state.getId(), state.getParkingLotId(), state.getType(), state.getStatus());
+            if (activeSessionSpotIds.contains(state.getId())) {
+                setActiveSession(state.getId(), true);
+            }
+        }
+
+        ready = true;
+
+        log.info("Spot availability index loaded, lots = {}, spots = {}, activeSessions = {}",
+                lots.size(), states.size(), activeSessionSpotIds.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(Spot spot) {
+        put(spot.getId(), spot.getParkingLot().getId(), spot.getType(), spot.getStatus());
+    }
+
+    public void put(Long spotId, Long parkingLotId, SpotType type, SpotStatus status) {
+        Long previousLotId = lotBySpotId.put(spotId, parkingLotId);
+        if (previousLotId != null && !previousLotId.equals(parkingLotId)) {
+            LotSlots previous = lots.get(previousLotId);
+            if (previous != null) {
+                previous.remove(spotId);
+            }
+        }
+
+        lots.computeIfAbsent(parkingLotId, id -> new LotSlots()).put(spotId, type, status);
+    }
+
+    public void remove(Long spotId) {
+        Long parkingLotId = lotBySpotId.remove(spotId);
+        if (parkingLotId == null) {
+            return;
+        }
+
+        LotSlots slots = lots.get(parkingLotId);
+        if (slots != null) {
+            slots.remove(spotId);
+        }
+    }
+
+    public void removeParkingLot(Long parkingLotId) {
+        LotSlots slots = lots.remove(parkingLotId);
+        if (slots != null) {
+            slots.spotIds().forEach(lotBySpotId::remove);
+        }
+    }
+
+    public void updateStatus(Long spotId, SpotStatus status) {
+        LotSlots slots = slotsOf(spotId);
+        if (slots != null) {
+            slots.updateStatus(spotId, status);
+        }
+    }
+
+    public void updateType(Long spotId, SpotType type) {
+        LotSlots slots = slotsOf(spotId);
+        if (slots != null) {
+            slots.updateType(spotId, type);
+        }
+    }
+
+    public void occupy(Long spotId) {
+        LotSlots slots = slotsOf(spotId);
+        if (slots != null) {
+            slots.occupy(spotId);
+        }
+    }
+
+    public void release(Long spotId) {
+        LotSlots slots = slotsOf(spotId);
+        if (slots != null) {
+            slots.release(spotId);
+        }
+    }
+
+    public void setActiveSession(Long spotId, boolean active) {
+        LotSlots slots = slotsOf(spotId);
+        if (slots != null) {
+            slots.setActiveSession(spotId, active);
+        }
+    }
+
+    public boolean tryClaim(Long spotId) {
+        LotSlots slots = slotsOf(spotId);
+        return slots != null && slots.tryClaim(spotId);
+    }
+
+    public List<Long> findAvailableSpotIds(Long parkingLotId, SpotType type) {
+        LotSlots slots = lots.get(parkingLotId);
+        if (slots == null) {
+            return List.of();
+        }
+        return slots.findAvailable(type);
+    }
+
+    private LotSlots slotsOf(Long spotId) {
+        Long parkingLotId = lotBySpotId.get(spotId);
+        return parkingLotId == null ? null : lots.get(parkingLotId);
+    }
+
+    private static final class LotSlots {
+
+        private final Map<Long, Integer> slotBySpotId = new HashMap<>();
+        private final Map<SpotType, Map<SpotStatus, BitSet>> bits = new EnumMap<>(SpotType.class);
+        private final BitSet activeSession = new BitSet();
+        private final BitSet freeSlots = new BitSet();
+
+        private long[] spotIds = new long[64];
+        private SpotType[] types = new SpotType[64];
+        private SpotStatus[] statuses = new SpotStatus[64];
+        private int size;
+
+        private LotSlots() {
+            for (SpotType type : SpotType.values()) {
+                Map<SpotStatus, BitSet> byStatus = new EnumMap<>(SpotStatus.class);
+                for (SpotStatus status : SpotStatus.values()) {
+                    byStatus.put(status, new BitSet());
+                }
+                bits.put(type, byStatus);
+            }
+        }
+
+        synchronized void put(Long spotId, SpotType type, SpotStatus status) {
+            Integer existing = slotBySpotId.get(spotId);
+            if (existing != null) {
+                int slot = existing;
+                bits.get(types[slot]).get(statuses[slot]).clear(slot);
+                types[slot] = type;
+                statuses[slot] = status;
+                bits.get(type).get(status).set(slot);
+                return;
+            }
+
+            int slot = freeSlots.nextSetBit(0);
+            if (slot >= 0) {
+                freeSlots.clear(slot);
+            } else {
+                slot = size++;
+                ensureCapacity(size);
+            }
+
+            spotIds[slot] = spotId;
+            types[slot] = type;
+            statuses[slot] = status;
+            slotBySpotId.put(spotId, slot);
+            bits.get(type).get(status).set(slot);
+        }
+
+        synchronized void remove(Long spotId) {
+            Integer slot = slotBySpotId.remove(spotId);
+            if (slot == null) {
+                return;
+            }
+
+            bits.get(types[slot]).get(statuses[slot]).clear(slot);
+            activeSession.clear(slot);
+            types[slot] = null;
+            statuses[slot] = null;
+            freeSlots.set(slot);
+        }
+
+        synchronized void updateStatus(Long spotId, SpotStatus status) {
+            Integer slot = slotBySpotId.get(spotId);
+            if (slot == null) {
+                return;
+            }
+
+            bits.get(types[slot]).get(statuses[slot]).clear(slot);
+            statuses[slot] = status;
+            bits.get(types[slot]).get(status).set(slot);
+        }
+
+        synchronized void updateType(Long spotId, SpotType type) {
+            Integer slot = slotBySpotId.get(spotId);
+            if (slot == null) {
+                return;
+            }
+
+            bits.get(types[slot]).get(statuses[slot]).clear(slot);
+            types[slot] = type;
+            bits.get(type).get(statuses[slot]).set(slot);
+        }
+
+        synchronized void occupy(Long spotId) {
+            updateStatus(spotId, SpotStatus.OCCUPIED);
+            setActiveSession(spotId, true);
+        }
+
+        synchronized void release(Long spotId) {
+            setActiveSession(spotId, false);
+            updateStatus(spotId, SpotStatus.AVAILABLE);
+        }
+
+        synchronized void setActiveSession(Long spotId, boolean active) {
+            Integer slot = slotBySpotId.get(spotId);
+            if (slot != null) {
+                activeSession.set(slot, active);
+            }
+        }
+
+        synchronized boolean tryClaim(Long spotId) {
+            Integer slot = slotBySpotId.get(spotId);
+            if (slot == null || statuses[slot] != SpotStatus.AVAILABLE || activeSession.get(slot)) {
+                return false;
+            }
+
+            activeSession.set(slot);
+            return true;
+        }
+
+        synchronized List<Long> findAvailable(SpotType type) {
+            BitSet candidates;
+            if (type != null) {
+                candidates = (BitSet) bits.get(type).get(SpotStatus.AVAILABLE).clone();
+            } else {
+                candidates = new BitSet(size);
+                for (Map<SpotStatus, BitSet> byStatus : bits.values()) {
+                    candidates.or(byStatus.get(SpotStatus.AVAILABLE));
+                }
+            }
+            candidates.andNot(activeSession);
+
+            List<Long> result = new ArrayList<>(candidates.cardinality());
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                result.add(spotIds[slot]);
+            }
+            return result;
+        }
+
+        synchronized List<Long> spotIds() {
+            return new ArrayList<>(slotBySpotId.keySet());
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= spotIds.length) {
+                return;
+            }
+
+            int capacity = Math.max(required, spotIds.length * 2);
+            long[] newSpotIds = new long[capacity];
+            SpotType[] newTypes = new SpotType[capacity];
+            SpotStatus[] newStatuses = new SpotStatus[capacity];
+
+            System.arraycopy(spotIds, 0, newSpotIds, 0, spotIds.length);
+            System.arraycopy(types, 0, newTypes, 0, types.length);
+            System.arraycopy(statuses, 0, newStatuses, 0, statuses.length);
+
+            spotIds = newSpotIds;
+            types = newTypes;
+            statuses = newStatuses;
+        }
+    }
+}
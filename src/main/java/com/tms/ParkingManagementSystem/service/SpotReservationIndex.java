@@ -0,0 +1,144 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.ReservationStatus;
+import com.tms.ParkingManagementSystem.model.Reservation;
+import com.tms.ParkingManagementSystem.model.dto.ReservationWindowDto;
+import com.tms.ParkingManagementSystem.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class SpotReservationIndex {
+
+    private final ReservationRepository reservationRepository;
+
+    private final Map<Long, SpotWindows> windowsBySpotId = new ConcurrentHashMap<>();
+    private final Map<Long, Long> spotByReservationId = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    public SpotReservationIndex(ReservationRepository reservationRepository) {
+        this.reservationRepository = reservationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        log.info("Load spot reservation index");
+
+        List<ReservationWindowDto> windows = reservationRepository.findWindowsByStatus(ReservationStatus.ACTIVE);
+
+        windowsBySpotId.clear();
+        spotByReservationId.clear();
+
+        for (ReservationWindowDto window : windows) {
+            put(window.getId(), window.getSpotId(), window.getStartTime(), window.getEndTime());
+        }
+
+        ready = true;
+
+        log.info("Spot reservation index loaded, spots = {}, reservations = {}",
+                windowsBySpotId.size(), windows.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void apply(Reservation reservation) {
+        if (reservation.getStatus() == ReservationStatus.ACTIVE) {
+            put(reservation.getId(), reservation.getSpot().getId(),
+                    reservation.getStartTime(), reservation.getEndTime());
+        } else {
+            remove(reservation.getId());
+        }
+    }
+
+    public void put(Long reservationId, Long spotId, LocalDateTime startTime, LocalDateTime endTime) {
+        remove(reservationId);
+        spotByReservationId.put(reservationId, spotId);
+        windowsBySpotId.computeIfAbsent(spotId, id -> new SpotWindows())
+                .put(new Window(reservationId, startTime, endTime));
+    }
+
+    public void remove(Long reservationId) {
+        Long spotId = spotByReservationId.remove(reservationId);
+        if (spotId == null) {
+            return;
+        }
+
+        SpotWindows windows = windowsBySpotId.get(spotId);
+        if (windows != null) {
+            windows.remove(reservationId);
+        }
+    }
+
+    public void removeAll(Iterable<Long> reservationIds) {
+        reservationIds.forEach(this::remove);
+    }
+
+    public boolean hasOverlap(Long spotId, LocalDateTime from, LocalDateTime to) {
+        return hasOverlap(spotId, from, to, null);
+    }
+
+    public boolean hasOverlap(Long spotId, LocalDateTime from, LocalDateTime to, Long excludedReservationId) {
+        SpotWindows windows = windowsBySpotId.get(spotId);
+        return windows != null && windows.hasOverlap(from, to, excludedReservationId);
+    }
+
+    private record Window(Long reservationId, LocalDateTime startTime, LocalDateTime endTime) {
+    }
+
+    private static final class SpotWindows {
+
+        private static final Comparator<Window> ORDER = Comparator.comparing(Window::startTime)
+                .thenComparing(Window::reservationId);
+
+        private final NavigableSet<Window> byStart = new TreeSet<>(ORDER);
+        private final Map<Long, Window> byReservationId = new HashMap<>();
+
+        synchronized void put(Window window) {
+            byStart.add(window);
+            byReservationId.put(window.reservationId(), window);
+        }
+
+        synchronized void remove(Long reservationId) {
+            Window window = byReservationId.remove(reservationId);
+            if (window != null) {
+                byStart.remove(window);
+            }
+        }
+
+        synchronized boolean hasOverlap(LocalDateTime from, LocalDateTime to, Long excludedReservationId) {
+            // ACTIVE windows of one spot never overlap, so only the latest start before "to" can intersect;
+            // windows sharing that start are all checked
+            LocalDateTime latestStart = null;
+
+            for (Window window : byStart.headSet(new Window(Long.MIN_VALUE, to, to), false).descendingSet()) {
+                if (window.reservationId().equals(excludedReservationId)) {
+                    continue;
+                }
+                if (latestStart != null && !window.startTime().equals(latestStart)) {
+                    return false;
+                }
+                if (window.endTime().isAfter(from)) {
+                    return true;
+                }
+                latestStart = window.startTime();
+            }
+
+            return false;
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.tms.ParkingManagementSystem.service;
 
+import com.tms.ParkingManagementSystem.config.ReadFromReplica;
+import com.tms.ParkingManagementSystem.enums.AggregateType;
+import com.tms.ParkingManagementSystem.enums.DomainEventType;
 import com.tms.ParkingManagementSystem.enums.ReservationStatus;
 import com.tms.ParkingManagementSystem.enums.SessionStatus;
+import com.tms.ParkingManagementSystem.enums.SpotStatus;
 import com.tms.ParkingManagementSystem.enums.SpotType;
 import com.tms.ParkingManagementSystem.exception.ParkingLotNotFoundException;
 import com.tms.ParkingManagementSystem.exception.SpotInUseException;
@@ -9,6 +13,7 @@ import com.tms.ParkingManagementSystem.exception.SpotNotFoundException;
 import com.tms.ParkingManagementSystem.exception.SpotNumberAlreadyExistsException;
 import com.tms.ParkingManagementSystem.model.ParkingLot;
 import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
 import com.tms.ParkingManagementSystem.model.dto.SpotCreateDto;
 import com.tms.ParkingManagementSystem.model.dto.SpotStatusUpdateDto;
 import com.tms.ParkingManagementSystem.model.dto.SpotUpdateDto;
@@ -16,11 +21,13 @@ import com.tms.ParkingManagementSystem.repository.ParkingLotRepository;
 import com.tms.ParkingManagementSystem.repository.ParkingSessionRepository;
 import com.tms.ParkingManagementSystem.repository.ReservationRepository;
 import com.tms.ParkingManagementSystem.repository.SpotRepository;
-import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 @Slf4j
@@ -31,22 +38,46 @@ public class SpotService {
     private final ParkingLotRepository parkingLotRepository;
     private final ParkingSessionRepository parkingSessionRepository;
     private final ReservationRepository reservationRepository;
+    private final SpotAvailabilityIndex spotAvailabilityIndex;
+    private final SpotReservationIndex spotReservationIndex;
+    private final OutboxService outboxService;
 
     public SpotService(SpotRepository spotRepository,
                        ParkingLotRepository parkingLotRepository,
                        ParkingSessionRepository parkingSessionRepository,
-                       ReservationRepository reservationRepository) {
+                       ReservationRepository reservationRepository,
+                       SpotAvailabilityIndex spotAvailabilityIndex,
+                       SpotReservationIndex spotReservationIndex,
+                       OutboxService outboxService) {
         this.spotRepository = spotRepository;
         this.parkingLotRepository = parkingLotRepository;
         this.parkingSessionRepository = parkingSessionRepository;
         this.reservationRepository = reservationRepository;
+        this.spotAvailabilityIndex = spotAvailabilityIndex;
+        this.spotReservationIndex = spotReservationIndex;
+        this.outboxService = outboxService;
     }
 
-    public List<Spot> getAllSpots() {
-        log.info("Get all spots");
-        return spotRepository.findAll();
+    @Transactional(readOnly = true)
+    @ReadFromReplica
+    public KeysetPageDto<Spot> getAllSpots(Long afterId,
+                                           int limit,
+                                           Long parkingLotId,
+                                           SpotStatus status,
+                                           SpotType type) {
+        log.info("Get spots page, afterId = {}, limit = {}", afterId, limit);
+
+        List<Spot> spots = spotRepository.findPage(
+                KeysetPagination.afterId(afterId),
+                parkingLotId,
+                status,
+                type,
+                KeysetPagination.firstRows(limit)
+        );
+        return KeysetPagination.page(spots, limit, Spot::getId);
     }
 
+    @Transactional(readOnly = true)
     public Spot getSpotById(Long id) {
         log.info("Get spot by id = {}", id);
 
@@ -71,6 +102,8 @@ public class SpotService {
         spot.setChanged(LocalDateTime.now());
 
         Spot saved = spotRepository.save(spot);
+        outboxService.recordSpot(DomainEventType.SPOT_CREATED, saved);
+        TransactionCallbacks.afterCommit(() -> spotAvailabilityIndex.put(saved));
 
         log.info("Spot created, id = {}, parkingLotId = {}, number = {}",
                 saved.getId(), parkingLot.getId(), saved.getNumber());
@@ -90,6 +123,8 @@ public class SpotService {
         spotForUpdate.setChanged(LocalDateTime.now());
 
         Spot saved = spotRepository.save(spotForUpdate);
+        outboxService.recordSpot(DomainEventType.SPOT_UPDATED, saved);
+        TransactionCallbacks.afterCommit(() -> spotAvailabilityIndex.updateType(saved.getId(), saved.getType()));
 
         log.info("Spot updated, id = {}", saved.getId());
         return saved;
@@ -107,6 +142,8 @@ public class SpotService {
         spot.setChanged(LocalDateTime.now());
 
         Spot saved = spotRepository.save(spot);
+        outboxService.recordSpot(DomainEventType.SPOT_STATUS_CHANGED, saved);
+        TransactionCallbacks.afterCommit(() -> spotAvailabilityIndex.updateStatus(saved.getId(), saved.getStatus()));
 
         log.info("Spot status changed, id = {}", saved.getId());
         return saved;
@@ -130,11 +167,14 @@ public class SpotService {
         }
 
         spotRepository.deleteById(id);
+        outboxService.recordDeleted(AggregateType.SPOT, id, DomainEventType.SPOT_DELETED);
+        TransactionCallbacks.afterCommit(() -> spotAvailabilityIndex.remove(id));
 
         log.info("Spot deleted, id = {}", id);
         return true;
     }
 
+    @Transactional(readOnly = true)
     public List<Spot> getSpotsByParkingLotId(Long parkingLotId) {
         log.info("Get spots by parkingLotId = {}", parkingLotId);
 
@@ -148,6 +188,7 @@ public class SpotService {
         return spots;
     }
 
+    @Transactional(readOnly = true)
     public List<Spot> getAvailableSpots(
             Long parkingLotId,
             SpotType type,
@@ -169,6 +210,10 @@ public class SpotService {
             throw new IllegalArgumentException("to must not be before from");
         }
 
+        if (spotAvailabilityIndex.isReady() && spotReservationIndex.isReady()) {
+            return findAvailableSpotsFromIndex(parkingLotId, type, effectiveFrom, effectiveTo);
+        }
+
         return spotRepository.findAvailableSpots(
                 parkingLotId,
                 type,
@@ -178,4 +223,27 @@ public class SpotService {
         );
     }
 
+    private List<Spot> findAvailableSpotsFromIndex(Long parkingLotId,
+                                                   SpotType type,
+                                                   LocalDateTime from,
+                                                   LocalDateTime to) {
+        List<Long> candidateIds = spotAvailabilityIndex.findAvailableSpotIds(parkingLotId, type);
+
+        List<Long> availableIds = candidateIds.stream()
+                .filter(id -> !spotReservationIndex.hasOverlap(id, from, to))
+                .toList();
+
+        if (availableIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Spot> spots = new ArrayList<>(spotRepository.findAllById(availableIds));
+        spots.sort(Comparator.comparing(Spot::getNumber));
+
+        log.debug("Available spots resolved from index, parkingLotId = {}, candidates = {}, available = {}",
+                parkingLotId, candidateIds.size(), spots.size());
+
+        return spots;
+    }
+
 }
@@ -0,0 +1,298 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.model.TariffBand;
+import com.tms.ParkingManagementSystem.repository.TariffBandRepository;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TariffCostEngine {
+
+    private static final long PRICE_SCALE = 10_000_000_000L;
+    private static final long MINUTES_PER_HOUR = 60;
+    private static final long MINUTES_PER_HOUR_IN_CENTS = MINUTES_PER_HOUR * 100;
+    // flat totals are step prices scaled by 1e10, so one cent is 1e8 of them
+    private static final long STEP_CENTS_DIVISOR = PRICE_SCALE / 100;
+    // schedule sums are hour prices (scaled by 1e10) per billed minute, so one cent is 1e8 * 60 of them
+    private static final long SCHEDULE_CENTS_DIVISOR = PRICE_SCALE / 100 * MINUTES_PER_HOUR;
+
+    private final TariffBandRepository tariffBandRepository;
+    private final Map<Long, CompiledTariff> compiledByTariffId = new ConcurrentHashMap<>();
+
+    public TariffCostEngine(TariffBandRepository tariffBandRepository) {
+        this.tariffBandRepository = tariffBandRepository;
+    }
+
+    public CompiledTariff compile(Tariff tariff) {
+        return compile(
+                tariff.getId(),
+                tariff.getHourPrice(),
+                tariff.getBillingStepMinutes(),
+                tariff.getFreeMinutes(),
+                tariff.getDailyCap(),
+                tariff.getSessionCap()
+        );
+    }
+
+    public CompiledTariff compile(Long tariffId,
+                                  BigDecimal hourPrice,
+                                  Integer billingStepMinutes,
+                                  Integer freeMinutes,
+                                  BigDecimal dailyCap,
+                                  BigDecimal sessionCap) {
+        CompiledTariff cached = tariffId == null ? null : compiledByTariffId.get(tariffId);
+        if (cached != null && cached.matches(hourPrice, billingStepMinutes, freeMinutes, dailyCap, sessionCap)) {
+            return cached;
+        }
+
+        List<TariffBand> bands = tariffId == null
+                ? List.of()
+                : tariffBandRepository.findByTariffIdOrderByDayOfWeekAscStartMinuteAsc(tariffId);
+
+        CompiledTariff compiled = compile(hourPrice, billingStepMinutes, freeMinutes, bands, dailyCap, sessionCap);
+        if (tariffId != null) {
+            compiledByTariffId.put(tariffId, compiled);
+        }
+        return compiled;
+    }
+
+    public void evict(Long tariffId) {
+        compiledByTariffId.remove(tariffId);
+    }
+
+    public CompiledTariff compile(BigDecimal hourPrice, Integer billingStepMinutes, Integer freeMinutes) {
+        return compile(hourPrice, billingStepMinutes, freeMinutes, List.of(), null, null);
+    }
+
+    public CompiledTariff compile(BigDecimal hourPrice,
+                                  Integer billingStepMinutes,
+                                  Integer freeMinutes,
+                                  List<TariffBand> bands,
+                                  BigDecimal dailyCap,
+                                  BigDecimal sessionCap) {
+        CompiledTariff compiled = new CompiledTariff(hourPrice, billingStepMinutes, freeMinutes, dailyCap, sessionCap);
+
+        boolean priced = hourPrice != null && billingStepMinutes != null && billingStepMinutes > 0;
+        if (priced && (!bands.isEmpty() || dailyCap != null || sessionCap != null)) {
+            long[] minutePrices = TariffSchedule.flatWeek(toE10(hourPrice));
+            for (TariffBand band : bands) {
+                int offset = (band.getDayOfWeek().getValue() - 1) * TariffSchedule.MINUTES_PER_DAY;
+                long bandPrice = toE10(band.getHourPrice());
+                for (int minute = band.getStartMinute(); minute < band.getEndMinute(); minute++) {
+                    minutePrices[offset + minute] = bandPrice;
+                }
+            }
+
+            compiled.schedule = new TariffSchedule(
+                    minutePrices,
+                    dailyCap == null ? Long.MAX_VALUE : toHourMinutesE10(dailyCap)
+            );
+            compiled.sessionCapLimit = sessionCap == null ? Long.MAX_VALUE : toHourMinutesE10(sessionCap);
+        }
+
+        return compiled;
+    }
+
+    public BigDecimal calculateCost(Tariff tariff, LocalDateTime start, LocalDateTime end) {
+        return calculateCost(compile(tariff), start, end);
+    }
+
+    public BigDecimal calculateCost(CompiledTariff tariff, LocalDateTime start, LocalDateTime end) {
+        if (!tariff.exact && tariff.schedule == null) {
+            return referenceCost(start, end, tariff.hourPrice, tariff.billingStepMinutes, tariff.freeMinutes);
+        }
+        return BigDecimal.valueOf(costCents(tariff, start, end), 2);
+    }
+
+    public long costCents(CompiledTariff tariff, LocalDateTime start, LocalDateTime end) {
+        if (tariff.schedule != null) {
+            return scheduledCostCents(tariff, start, end);
+        }
+
+        if (!tariff.exact) {
+            return referenceCost(start, end, tariff.hourPrice, tariff.billingStepMinutes, tariff.freeMinutes)
+                    .movePointRight(2)
+                    .longValueExact();
+        }
+
+        if (start == null || end == null || !end.isAfter(start) || tariff.stepPriceE10 == 0) {
+            return 0;
+        }
+
+        long billableMinutes = minutesBetween(start, end) - tariff.free;
+        if (billableMinutes <= 0) {
+            return 0;
+        }
+
+        long steps = (billableMinutes + tariff.step - 1) / tariff.step;
+        if (steps > Long.MAX_VALUE / tariff.stepPriceE10) {
+            return referenceCost(start, end, tariff.hourPrice, tariff.billingStepMinutes, tariff.freeMinutes)
+                    .movePointRight(2)
+                    .longValueExact();
+        }
+
+        return roundHalfUp(tariff.stepPriceE10 * steps, STEP_CENTS_DIVISOR);
+    }
+
+    private long scheduledCostCents(CompiledTariff tariff, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !end.isAfter(start)) {
+            return 0;
+        }
+
+        long billableMinutes = minutesBetween(start, end) - tariff.free;
+        if (billableMinutes <= 0) {
+            return 0;
+        }
+
+        long steps = (billableMinutes + tariff.step - 1) / tariff.step;
+        long from = TariffSchedule.epochMinute(start.toEpochSecond(ZoneOffset.UTC)) + tariff.free;
+        long to = from + steps * tariff.step;
+
+        long total = Math.min(tariff.schedule.price(from, to), tariff.sessionCapLimit);
+        return roundHalfUp(total, SCHEDULE_CENTS_DIVISOR);
+    }
+
+    private static long toE10(BigDecimal amount) {
+        return amount.movePointRight(10).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static long toHourMinutesE10(BigDecimal amount) {
+        return Math.multiplyExact(toE10(amount), MINUTES_PER_HOUR);
+    }
+
+    static long minutesBetween(LocalDateTime start, LocalDateTime end) {
+        long seconds = end.toEpochSecond(ZoneOffset.UTC) - start.toEpochSecond(ZoneOffset.UTC);
+        if (end.getNano() < start.getNano()) {
+            seconds--;
+        }
+        return Math.floorDiv(seconds, 60);
+    }
+
+    public static BigDecimal referenceCost(LocalDateTime start,
+                                           LocalDateTime end,
+                                           BigDecimal hourPrice,
+                                           Integer billingStepMinutes,
+                                           Integer freeMinutes) {
+
+        if (start == null || end == null || !end.isAfter(start)) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+        if (hourPrice == null || billingStepMinutes == null || billingStepMinutes <= 0) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        long totalMinutes = Duration.between(start, end).toMinutes();
+        int free = (freeMinutes == null) ? 0 : Math.max(0, freeMinutes);
+
+        long billableMinutes = totalMinutes - free;
+        if (billableMinutes <= 0) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        long step = billingStepMinutes;
+        long steps = (billableMinutes + step - 1) / step;
+
+        BigDecimal stepPrice = hourPrice
+                .multiply(BigDecimal.valueOf(step))
+                .divide(BigDecimal.valueOf(60), 10, RoundingMode.HALF_UP);
+
+        BigDecimal total = stepPrice.multiply(BigDecimal.valueOf(steps));
+
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static long roundHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        return remainder * 2 >= divisor ? quotient + 1 : quotient;
+    }
+
+    public static final class CompiledTariff {
+
+        private final BigDecimal hourPrice;
+        private final Integer billingStepMinutes;
+        private final Integer freeMinutes;
+        private final BigDecimal dailyCap;
+        private final BigDecimal sessionCap;
+
+        private final boolean exact;
+        private final long stepPriceE10;
+        private final int step;
+        private final int free;
+
+        private TariffSchedule schedule;
+        private long sessionCapLimit = Long.MAX_VALUE;
+
+        private CompiledTariff(BigDecimal hourPrice,
+                               Integer billingStepMinutes,
+                               Integer freeMinutes,
+                               BigDecimal dailyCap,
+                               BigDecimal sessionCap) {
+            this.hourPrice = hourPrice;
+            this.billingStepMinutes = billingStepMinutes;
+            this.freeMinutes = freeMinutes;
+            this.dailyCap = dailyCap;
+            this.sessionCap = sessionCap;
+            this.free = freeMinutes == null ? 0 : Math.max(0, freeMinutes);
+
+            if (hourPrice == null || billingStepMinutes == null || billingStepMinutes <= 0) {
+                this.exact = true;
+                this.stepPriceE10 = 0;
+                this.step = 1;
+                return;
+            }
+
+            this.step = billingStepMinutes;
+            this.stepPriceE10 = stepPriceE10(hourPrice, billingStepMinutes);
+            this.exact = stepPriceE10 >= 0;
+        }
+
+        private static long stepPriceE10(BigDecimal hourPrice, int step) {
+            if (hourPrice.signum() < 0 || hourPrice.scale() > 2) {
+                return -1;
+            }
+
+            long hourCents;
+            try {
+                hourCents = hourPrice.movePointRight(2).longValueExact();
+            } catch (ArithmeticException ex) {
+                return -1;
+            }
+
+            long centsTimesStep;
+            try {
+                centsTimesStep = Math.multiplyExact(hourCents, step);
+            } catch (ArithmeticException ex) {
+                return -1;
+            }
+
+            if (centsTimesStep > Long.MAX_VALUE / PRICE_SCALE) {
+                return -1;
+            }
+
+            return roundHalfUp(centsTimesStep * PRICE_SCALE, MINUTES_PER_HOUR_IN_CENTS);
+        }
+
+        private boolean matches(BigDecimal hourPrice,
+                                Integer billingStepMinutes,
+                                Integer freeMinutes,
+                                BigDecimal dailyCap,
+                                BigDecimal sessionCap) {
+            return Objects.equals(this.hourPrice, hourPrice)
+                    && Objects.equals(this.billingStepMinutes, billingStepMinutes)
+                    && Objects.equals(this.freeMinutes, freeMinutes)
+                    && Objects.equals(this.dailyCap, dailyCap)
+                    && Objects.equals(this.sessionCap, sessionCap);
+        }
+    }
+}
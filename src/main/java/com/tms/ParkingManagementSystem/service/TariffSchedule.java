@@ -0,0 +1,89 @@
+package com.tms.ParkingManagementSystem.service;
+
+import java.util.Arrays;
+
+public final class TariffSchedule {
+
+    public static final int MINUTES_PER_DAY = 1440;
+    public static final int DAYS_PER_WEEK = 7;
+    public static final int MINUTES_PER_WEEK = MINUTES_PER_DAY * DAYS_PER_WEEK;
+
+    // 1970-01-01 was a Thursday, shifting by three days puts minute 0 on a Monday
+    private static final long MONDAY_ALIGNMENT = 3L * MINUTES_PER_DAY;
+
+    private final long[] prefix = new long[MINUTES_PER_WEEK + 1];
+    private final long weekTotal;
+    private final long dailyCap;
+    private final long[] cappedDays = new long[DAYS_PER_WEEK];
+    private final long cappedWeek;
+
+    public TariffSchedule(long[] minutePrices, long dailyCap) {
+        if (minutePrices.length != MINUTES_PER_WEEK) {
+            throw new IllegalArgumentException("Minute price table must cover one week");
+        }
+
+        for (int minute = 0; minute < MINUTES_PER_WEEK; minute++) {
+            prefix[minute + 1] = Math.addExact(prefix[minute], minutePrices[minute]);
+        }
+
+        this.weekTotal = prefix[MINUTES_PER_WEEK];
+        this.dailyCap = dailyCap;
+
+        long week = 0;
+        for (int day = 0; day < DAYS_PER_WEEK; day++) {
+            long daySum = prefix[(day + 1) * MINUTES_PER_DAY] - prefix[day * MINUTES_PER_DAY];
+            cappedDays[day] = Math.min(dailyCap, daySum);
+            week += cappedDays[day];
+        }
+        this.cappedWeek = week;
+    }
+
+    public static long[] flatWeek(long minutePrice) {
+        long[] prices = new long[MINUTES_PER_WEEK];
+        Arrays.fill(prices, minutePrice);
+        return prices;
+    }
+
+    public static long epochMinute(long epochSecond) {
+        return Math.floorDiv(epochSecond, 60);
+    }
+
+    public long price(long fromEpochMinute, long toEpochMinute) {
+        if (toEpochMinute <= fromEpochMinute) {
+            return 0;
+        }
+
+        long from = fromEpochMinute + MONDAY_ALIGNMENT;
+        long to = toEpochMinute + MONDAY_ALIGNMENT;
+
+        if (dailyCap == Long.MAX_VALUE) {
+            return cumulative(to) - cumulative(from);
+        }
+
+        long firstDay = Math.floorDiv(from, MINUTES_PER_DAY);
+        long lastDay = Math.floorDiv(to - 1, MINUTES_PER_DAY);
+
+        if (firstDay == lastDay) {
+            return Math.min(dailyCap, cumulative(to) - cumulative(from));
+        }
+
+        long total = Math.min(dailyCap, cumulative((firstDay + 1) * MINUTES_PER_DAY) - cumulative(from))
+                + Math.min(dailyCap, cumulative(to) - cumulative(lastDay * MINUTES_PER_DAY));
+
+        long fullDays = lastDay - firstDay - 1;
+        long fullWeeks = fullDays / DAYS_PER_WEEK;
+        total += fullWeeks * cappedWeek;
+
+        for (long day = firstDay + 1 + fullWeeks * DAYS_PER_WEEK; day < lastDay; day++) {
+            total += cappedDays[(int) Math.floorMod(day, DAYS_PER_WEEK)];
+        }
+
+        return total;
+    }
+
+    private long cumulative(long alignedMinute) {
+        long weeks = Math.floorDiv(alignedMinute, MINUTES_PER_WEEK);
+        int minuteOfWeek = (int) Math.floorMod(alignedMinute, MINUTES_PER_WEEK);
+        return weeks * weekTotal + prefix[minuteOfWeek];
+    }
+}
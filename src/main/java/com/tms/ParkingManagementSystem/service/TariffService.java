@@ -5,15 +5,25 @@ import com.tms.ParkingManagementSystem.exception.TariffInUseException;
 import com.tms.ParkingManagementSystem.exception.TariffNameAlreadyExistsException;
 import com.tms.ParkingManagementSystem.exception.TariffNotFoundException;
 import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.model.TariffBand;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
+import com.tms.ParkingManagementSystem.model.dto.TariffBandDto;
 import com.tms.ParkingManagementSystem.model.dto.TariffCreateUpdateDto;
+import com.tms.ParkingManagementSystem.model.dto.TariffRulesDto;
 import com.tms.ParkingManagementSystem.repository.ParkingLotRepository;
+import com.tms.ParkingManagementSystem.repository.TariffBandRepository;
 import com.tms.ParkingManagementSystem.repository.TariffRepository;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -21,20 +31,33 @@ public class TariffService {
 
     private final TariffRepository tariffRepository;
     private final ParkingLotRepository parkingLotRepository;
+    private final TariffBandRepository tariffBandRepository;
+    private final TariffCostEngine tariffCostEngine;
+    private final ReferenceDataCache referenceDataCache;
 
     public TariffService(TariffRepository tariffRepository,
-                         ParkingLotRepository parkingLotRepository) {
+                         ParkingLotRepository parkingLotRepository,
+                         TariffBandRepository tariffBandRepository,
+                         TariffCostEngine tariffCostEngine,
+                         ReferenceDataCache referenceDataCache) {
         this.tariffRepository = tariffRepository;
         this.parkingLotRepository = parkingLotRepository;
+        this.tariffBandRepository = tariffBandRepository;
+        this.tariffCostEngine = tariffCostEngine;
+        this.referenceDataCache = referenceDataCache;
     }
 
-    public List<Tariff> getAllTariffs() {
-        log.info("Get all tariffs");
+    public KeysetPageDto<Tariff> getAllTariffs(Long afterId, int limit, TariffStatus status) {
+        log.info("Get tariffs page, afterId = {}, limit = {}", afterId, limit);
 
-        List<Tariff> tariffs = tariffRepository.findAll();
+        List<Tariff> tariffs = tariffRepository.findPage(
+                KeysetPagination.afterId(afterId),
+                status,
+                KeysetPagination.firstRows(limit)
+        );
         log.info("Found {} tariffs", tariffs.size());
 
-        return tariffs;
+        return KeysetPagination.page(tariffs, limit, Tariff::getId);
     }
 
     public Tariff getTariffById(Long id) {
@@ -87,6 +110,10 @@ public class TariffService {
         tariff.setChanged(LocalDateTime.now());
 
         Tariff saved = tariffRepository.save(tariff);
+        TransactionCallbacks.afterCommit(() -> {
+            tariffCostEngine.evict(id);
+            referenceDataCache.evictTariff(id);
+        });
 
         log.info("Tariff updated, id = {}, name = {}", saved.getId(), saved.getName());
         return saved;
@@ -105,8 +132,95 @@ public class TariffService {
         }
 
         tariffRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(() -> {
+            tariffCostEngine.evict(id);
+            referenceDataCache.evictTariff(id);
+        });
 
         log.info("Tariff deleted, id = {}", id);
         return true;
     }
+
+    public TariffRulesDto getTariffRules(Long id) {
+        log.info("Get tariff rules, id = {}", id);
+
+        Tariff tariff = tariffRepository.findById(id)
+                .orElseThrow(() -> new TariffNotFoundException(id));
+
+        return toRulesDto(tariff, tariffBandRepository.findByTariffIdOrderByDayOfWeekAscStartMinuteAsc(id));
+    }
+
+    @Transactional
+    public TariffRulesDto updateTariffRules(Long id, TariffRulesDto dto) {
+        log.info("Update tariff rules, id = {}", id);
+        log.debug("Update tariff rules payload = {}", dto);
+
+        Tariff tariff = tariffRepository.findById(id)
+                .orElseThrow(() -> new TariffNotFoundException(id));
+
+        validateBands(dto.getBands());
+
+        tariffBandRepository.deleteAllByTariffId(id);
+        tariffBandRepository.flush();
+
+        List<TariffBand> bands = new ArrayList<>(dto.getBands().size());
+        for (TariffBandDto bandDto : dto.getBands()) {
+            TariffBand band = new TariffBand(tariff);
+            band.setDayOfWeek(bandDto.getDayOfWeek());
+            band.setStartMinute(bandDto.getStartMinute());
+            band.setEndMinute(bandDto.getEndMinute());
+            band.setHourPrice(bandDto.getHourPrice());
+            bands.add(band);
+        }
+        List<TariffBand> saved = tariffBandRepository.saveAll(bands);
+
+        tariff.setDailyCap(dto.getDailyCap());
+        tariff.setSessionCap(dto.getSessionCap());
+        tariff.setChanged(LocalDateTime.now());
+        tariffRepository.save(tariff);
+
+        TransactionCallbacks.afterCommit(() -> {
+            tariffCostEngine.evict(id);
+            referenceDataCache.evictTariff(id);
+        });
+
+        log.info("Tariff rules updated, id = {}, bands = {}", id, saved.size());
+        return toRulesDto(tariff, saved);
+    }
+
+    private void validateBands(List<TariffBandDto> bands) {
+        Map<DayOfWeek, List<TariffBandDto>> byDay = new EnumMap<>(DayOfWeek.class);
+        for (TariffBandDto band : bands) {
+            if (band.getEndMinute() <= band.getStartMinute()) {
+                throw new IllegalArgumentException("Band end minute must be after start minute, day = "
+                        + band.getDayOfWeek() + ", start = " + band.getStartMinute() + ", end = " + band.getEndMinute());
+            }
+            byDay.computeIfAbsent(band.getDayOfWeek(), day -> new ArrayList<>()).add(band);
+        }
+
+        for (Map.Entry<DayOfWeek, List<TariffBandDto>> entry : byDay.entrySet()) {
+            List<TariffBandDto> dayBands = entry.getValue();
+            dayBands.sort(Comparator.comparing(TariffBandDto::getStartMinute));
+
+            for (int i = 1; i < dayBands.size(); i++) {
+                if (dayBands.get(i).getStartMinute() < dayBands.get(i - 1).getEndMinute()) {
+                    throw new IllegalArgumentException("Tariff bands overlap on " + entry.getKey()
+                            + " at minute " + dayBands.get(i).getStartMinute());
+                }
+            }
+        }
+    }
+
+    private TariffRulesDto toRulesDto(Tariff tariff, List<TariffBand> bands) {
+        List<TariffBandDto> bandDtos = bands.stream()
+                .map(band -> new TariffBandDto(
+                        band.getDayOfWeek(),
+                        band.getStartMinute(),
+                        band.getEndMinute(),
+                        band.getHourPrice()
+                ))
+                .toList();
+
+        return new TariffRulesDto(bandDtos, tariff.getDailyCap(), tariff.getSessionCap());
+    }
 }
@@ -9,6 +9,7 @@ import com.tms.ParkingManagementSystem.exception.UserInUseException;
 import com.tms.ParkingManagementSystem.exception.UserNotFoundException;
 import com.tms.ParkingManagementSystem.model.User;
 import com.tms.ParkingManagementSystem.model.Vehicle;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
 import com.tms.ParkingManagementSystem.model.dto.UserCreateUpdateDto;
 import com.tms.ParkingManagementSystem.model.dto.UserMeDto;
 import com.tms.ParkingManagementSystem.model.dto.UserStatusUpdateDto;
@@ -17,6 +18,7 @@ import com.tms.ParkingManagementSystem.repository.ParkingSessionRepository;
 import com.tms.ParkingManagementSystem.repository.ReservationRepository;
 import com.tms.ParkingManagementSystem.repository.UserRepository;
 import com.tms.ParkingManagementSystem.repository.VehicleRepository;
+import com.tms.ParkingManagementSystem.security.JwtAuthenticationCache;
 import com.tms.ParkingManagementSystem.security.SecurityRepository;
 import com.tms.ParkingManagementSystem.security.SecurityUtil;
 import jakarta.transaction.Transactional;
@@ -36,29 +38,45 @@ public class UserService {
     private final ReservationRepository reservationRepository;
     private final SecurityUtil securityUtil;
     private final SecurityRepository securityRepository;
+    private final PlateIndex plateIndex;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
 
     public UserService(UserRepository userRepository,
                        VehicleRepository vehicleRepository,
                        ParkingSessionRepository parkingSessionRepository,
                        ReservationRepository reservationRepository,
                        SecurityUtil securityUtil,
-                       SecurityRepository securityRepository) {
+                       SecurityRepository securityRepository,
+                       PlateIndex plateIndex,
+                       JwtAuthenticationCache jwtAuthenticationCache) {
         this.userRepository = userRepository;
         this.vehicleRepository = vehicleRepository;
         this.parkingSessionRepository = parkingSessionRepository;
         this.reservationRepository = reservationRepository;
         this.securityUtil = securityUtil;
         this.securityRepository = securityRepository;
+        this.plateIndex = plateIndex;
+        this.jwtAuthenticationCache = jwtAuthenticationCache;
     }
 
-    public List<User> getAllUsers() {
-
-        log.info("Get all users");
-
-        List<User> users = userRepository.findAll();
+    public KeysetPageDto<User> getAllUsers(Long afterId,
+                                           int limit,
+                                           UserStatus status,
+                                           LocalDateTime from,
+                                           LocalDateTime to) {
+
+        log.info("Get users page, afterId = {}, limit = {}", afterId, limit);
+
+        List<User> users = userRepository.findPage(
+                KeysetPagination.afterId(afterId),
+                status,
+                KeysetPagination.rangeFrom(from),
+                KeysetPagination.rangeTo(to),
+                KeysetPagination.firstRows(limit)
+        );
         log.info("Found {} users", users.size());
 
-        return users;
+        return KeysetPagination.page(users, limit, User::getId);
     }
 
     @Transactional
@@ -124,9 +142,15 @@ public class UserService {
 
         validateUserInUse(userId);
 
+        List<Long> vehicleIds = vehicleRepository.findAllByUserId(userId).stream()
+                .map(Vehicle::getId)
+                .toList();
+
         vehicleRepository.deleteAllByUserId(userId);
+        TransactionCallbacks.afterCommit(() -> vehicleIds.forEach(plateIndex::remove));
         userRepository.deleteById(userId);
         securityRepository.deleteByUserId(userId);
+        TransactionCallbacks.afterCommit(jwtAuthenticationCache::invalidateAll);
 
         log.info("User deleted, id = {}", userId);
         return true;
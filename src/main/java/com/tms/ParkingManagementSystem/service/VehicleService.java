@@ -3,6 +3,7 @@ package com.tms.ParkingManagementSystem.service;
 import com.tms.ParkingManagementSystem.enums.ReservationStatus;
 import com.tms.ParkingManagementSystem.enums.SessionStatus;
 import com.tms.ParkingManagementSystem.enums.UserStatus;
+import com.tms.ParkingManagementSystem.enums.VehicleType;
 import com.tms.ParkingManagementSystem.exception.PlateNumberAlreadyExistsException;
 import com.tms.ParkingManagementSystem.exception.UserAccessDeniedException;
 import com.tms.ParkingManagementSystem.exception.UserNotActiveException;
@@ -12,6 +13,8 @@ import com.tms.ParkingManagementSystem.exception.VehicleInUseException;
 import com.tms.ParkingManagementSystem.exception.VehicleNotFoundException;
 import com.tms.ParkingManagementSystem.model.User;
 import com.tms.ParkingManagementSystem.model.Vehicle;
+import com.tms.ParkingManagementSystem.model.dto.KeysetPageDto;
+import com.tms.ParkingManagementSystem.model.dto.PlateMatchDto;
 import com.tms.ParkingManagementSystem.model.dto.VehicleCreateUpdateDto;
 import com.tms.ParkingManagementSystem.repository.ParkingSessionRepository;
 import com.tms.ParkingManagementSystem.repository.ReservationRepository;
@@ -34,26 +37,34 @@ public class VehicleService {
     private final ParkingSessionRepository parkingSessionRepository;
     private final ReservationRepository reservationRepository;
     private final SecurityUtil securityUtil;
+    private final PlateIndex plateIndex;
 
     public VehicleService(VehicleRepository vehicleRepository,
                           UserRepository userRepository,
                           ParkingSessionRepository parkingSessionRepository,
                           ReservationRepository reservationRepository,
-                          SecurityUtil securityUtil) {
+                          SecurityUtil securityUtil,
+                          PlateIndex plateIndex) {
         this.vehicleRepository = vehicleRepository;
         this.userRepository = userRepository;
         this.parkingSessionRepository = parkingSessionRepository;
         this.reservationRepository = reservationRepository;
         this.securityUtil = securityUtil;
+        this.plateIndex = plateIndex;
     }
 
-    public List<Vehicle> getAllVehicles() {
-        log.info("Get all vehicles");
+    public KeysetPageDto<Vehicle> getAllVehicles(Long afterId, int limit, Long userId, VehicleType type) {
+        log.info("Get vehicles page, afterId = {}, limit = {}", afterId, limit);
 
-        List<Vehicle> vehicles = vehicleRepository.findAll();
+        List<Vehicle> vehicles = vehicleRepository.findPage(
+                KeysetPagination.afterId(afterId),
+                userId,
+                type,
+                KeysetPagination.firstRows(limit)
+        );
         log.info("Found {} vehicles", vehicles.size());
 
-        return vehicles;
+        return KeysetPagination.page(vehicles, limit, Vehicle::getId);
     }
 
     public Vehicle getVehicleById(Long id) {
@@ -67,7 +78,7 @@ public class VehicleService {
         log.info("Create vehicle");
         log.debug("Create vehicle payload = {}", dto);
 
-        if (vehicleRepository.existsByPlateNumber(dto.getPlateNumber())) {
+        if (plateExists(dto.getPlateNumber())) {
             throw new PlateNumberAlreadyExistsException(dto.getPlateNumber());
         }
 
@@ -91,6 +102,7 @@ public class VehicleService {
         newVehicle.setChanged(LocalDateTime.now());
 
         Vehicle saved = vehicleRepository.save(newVehicle);
+        TransactionCallbacks.afterCommit(() -> plateIndex.put(saved.getId(), saved.getPlateNumber()));
 
         log.info("Vehicle created, id = {}, userId = {}, plateNumber = {}",
                 saved.getId(), user.getId(), saved.getPlateNumber());
@@ -120,7 +132,7 @@ public class VehicleService {
         }
 
         if (!dto.getPlateNumber().equals(vehicleForUpdate.getPlateNumber())
-                && vehicleRepository.existsByPlateNumber(dto.getPlateNumber())) {
+                && plateExists(dto.getPlateNumber())) {
             throw new PlateNumberAlreadyExistsException(dto.getPlateNumber());
         }
 
@@ -137,6 +149,7 @@ public class VehicleService {
         vehicleForUpdate.setChanged(LocalDateTime.now());
 
         Vehicle saved = vehicleRepository.save(vehicleForUpdate);
+        TransactionCallbacks.afterCommit(() -> plateIndex.put(saved.getId(), saved.getPlateNumber()));
 
         log.info("Vehicle updated, id = {}, userId = {}, plateNumber = {}",
                 saved.getId(), user.getId(), saved.getPlateNumber());
@@ -170,6 +183,7 @@ public class VehicleService {
         }
 
         vehicleRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(() -> plateIndex.remove(id));
 
         log.info("Vehicle deleted, id = {}", id);
         return true;
@@ -196,4 +210,22 @@ public class VehicleService {
         return vehicles;
     }
 
+    public List<PlateMatchDto> searchPlates(String plateNumber, int maxDistance, int limit) {
+        log.info("Search plates, plate = {}, maxDistance = {}, limit = {}", plateNumber, maxDistance, limit);
+
+        if (maxDistance < 0 || maxDistance > 4 * PlateIndex.EDIT_COST) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and " + 4 * PlateIndex.EDIT_COST);
+        }
+        if (limit <= 0 || limit > 100) {
+            throw new IllegalArgumentException("limit must be between 1 and 100");
+        }
+
+        return plateIndex.findSimilar(plateNumber, maxDistance, limit);
+    }
+
+    private boolean plateExists(String plateNumber) {
+        return plateIndex.isReady()
+                ? plateIndex.containsPlate(plateNumber)
+                : vehicleRepository.existsByPlateNumber(plateNumber);
+    }
 }
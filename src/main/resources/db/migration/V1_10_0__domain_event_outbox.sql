@@ -0,0 +1,26 @@
+BEGIN;
+
+create sequence if not exists public.domain_events_id_seq
+    increment by 50;
+
+create table if not exists public.domain_events
+(
+    id             bigint default nextval('domain_events_id_seq'::regclass) not null,
+    aggregate_type varchar(32)                                              not null,
+    aggregate_id   bigint                                                   not null,
+    event_type     varchar(64)                                              not null,
+    payload        text                                                     not null,
+    created        timestamp(6)                                             not null,
+    published_at   timestamp(6),
+    constraint pk_domain_events
+        primary key (id)
+);
+
+create index if not exists ix_domain_events_unpublished
+    on public.domain_events (id)
+    where published_at is null;
+
+create index if not exists ix_domain_events_published_at
+    on public.domain_events (published_at);
+
+COMMIT;
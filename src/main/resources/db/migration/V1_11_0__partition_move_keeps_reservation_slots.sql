@@ -0,0 +1,77 @@
+BEGIN;
+
+create or replace function public.ensure_monthly_partition(parent text, month_start date)
+    returns text
+    language plpgsql
+as
+$$
+declare
+    month_from     date := date_trunc('month', month_start)::date;
+    month_to       date := (date_trunc('month', month_start) + interval '1 month')::date;
+    partition_name text := parent || '_p' || to_char(month_from, 'YYYY_MM');
+begin
+    if to_regclass(format('public.%I', partition_name)) is not null
+        or to_regclass(format('archive.%I', partition_name)) is not null then
+        return partition_name;
+    end if;
+
+    execute format('create table public.%I (like public.%I including defaults including constraints)',
+                   partition_name, parent);
+
+    execute format('with moved as (delete from public.%I where start_time >= %L and start_time < %L returning *) '
+                       || 'insert into public.%I select * from moved',
+                   parent || '_default', month_from, month_to, partition_name);
+
+    -- the delete from the default partition fired the slot trigger, the insert into the detached table did not
+    if parent = 'reservations' then
+        execute format('insert into public.active_reservation_slots (reservation_id, spot_id, period) '
+                           || 'select id, spot_id, tsrange(start_time, end_time) from public.%I where status = %L',
+                       partition_name, 'ACTIVE');
+    end if;
+
+    execute format('alter table public.%I attach partition public.%I for values from (%L) to (%L)',
+                   parent, partition_name, month_from, month_to);
+
+    return partition_name;
+end;
+$$;
+
+do
+$$
+declare
+    overlapping text;
+begin
+    with missing as (select r.id, r.spot_id, tsrange(r.start_time, r.end_time) as period
+                     from public.reservations r
+                     where r.status = 'ACTIVE'
+                       and not exists (select 1
+                                       from public.active_reservation_slots s
+                                       where s.reservation_id = r.id)),
+         pairs as (select distinct least(m.id, r.id) as first_id, greatest(m.id, r.id) as second_id, m.spot_id
+                   from missing m
+                            join public.reservations r
+                                 on r.spot_id = m.spot_id
+                                     and r.id <> m.id
+                                     and r.status = 'ACTIVE'
+                                     and tsrange(r.start_time, r.end_time) && m.period)
+    select string_agg(format('spot %s: reservations %s and %s', spot_id, first_id, second_id), '; '
+                      order by spot_id, first_id, second_id)
+    into overlapping
+    from pairs;
+
+    if overlapping is not null then
+        raise exception 'Overlapping active reservations must be resolved before slots can be restored: %', overlapping;
+    end if;
+
+    insert into public.active_reservation_slots (reservation_id, spot_id, period)
+    select r.id, r.spot_id, tsrange(r.start_time, r.end_time)
+    from public.reservations r
+    where r.status = 'ACTIVE'
+      and not exists (select 1
+                      from public.active_reservation_slots s
+                      where s.reservation_id = r.id)
+    order by r.id;
+end;
+$$;
+
+COMMIT;
@@ -0,0 +1,25 @@
+BEGIN;
+
+create sequence if not exists public.domain_events_publish_seq;
+
+alter table public.domain_events
+    add column if not exists publish_seq bigint;
+
+update public.domain_events d
+set publish_seq = o.rn
+from (select id, row_number() over (order by published_at, id) as rn
+      from public.domain_events
+      where published_at is not null) o
+where d.id = o.id;
+
+select setval('public.domain_events_publish_seq',
+              coalesce((select max(publish_seq) from public.domain_events), 0) + 1,
+              false);
+
+create unique index if not exists ux_domain_events_publish_seq
+    on public.domain_events (publish_seq);
+
+create index if not exists ix_domain_events_aggregate_type_publish_seq
+    on public.domain_events (aggregate_type, publish_seq);
+
+COMMIT;
@@ -0,0 +1,24 @@
+BEGIN;
+
+create table if not exists public.lot_rollup_deltas
+(
+    id                     bigserial
+        constraint pk_lot_rollup_deltas
+            primary key,
+    parking_lot_id         bigint                   not null
+        constraint fk_lot_rollup_deltas_parking_lot
+            references public.parking_lots
+            on delete cascade,
+    bucket_start           timestamp(6)             not null,
+    sessions_started       bigint         default 0 not null,
+    sessions_finished      bigint         default 0 not null,
+    revenue                numeric(14, 2) default 0 not null,
+    occupied_seconds       bigint         default 0 not null,
+    reservations_created   bigint         default 0 not null,
+    reservations_expired   bigint         default 0 not null
+);
+
+create index if not exists ix_lot_rollup_deltas_parking_lot_id
+    on public.lot_rollup_deltas (parking_lot_id);
+
+COMMIT;
@@ -0,0 +1,7 @@
+BEGIN;
+
+alter table public.idempotency_keys
+    add column if not exists response_status integer,
+    add column if not exists response_body   text;
+
+COMMIT;
@@ -0,0 +1,5 @@
+BEGIN;
+
+ALTER SEQUENCE public.spots_id_seq INCREMENT BY 50;
+
+COMMIT;
@@ -0,0 +1,38 @@
+BEGIN;
+
+alter table public.tariffs
+    add column if not exists daily_cap   numeric(10, 2)
+        constraint tariffs_daily_cap_check check (daily_cap >= 0),
+    add column if not exists session_cap numeric(10, 2)
+        constraint tariffs_session_cap_check check (session_cap >= 0);
+
+create sequence if not exists public.tariff_bands_id_seq;
+
+create table if not exists public.tariff_bands
+(
+    id           bigint default nextval('tariff_bands_id_seq'::regclass) not null
+        primary key,
+    tariff_id    bigint                                                  not null
+        constraint fk_tariff_bands_tariff
+            references public.tariffs
+            on delete cascade,
+    day_of_week  varchar(16)                                             not null
+        constraint tariff_bands_day_of_week_check
+            check ((day_of_week)::text = ANY
+                   ((ARRAY ['MONDAY'::character varying, 'TUESDAY'::character varying,
+                       'WEDNESDAY'::character varying, 'THURSDAY'::character varying,
+                       'FRIDAY'::character varying, 'SATURDAY'::character varying,
+                       'SUNDAY'::character varying])::text[])),
+    start_minute integer                                                 not null,
+    end_minute   integer                                                 not null,
+    hour_price   numeric(10, 2)                                          not null
+        constraint tariff_bands_hour_price_check
+            check (hour_price >= 0),
+    constraint tariff_bands_minutes_check
+        check (start_minute >= 0 and end_minute <= 1440 and start_minute < end_minute)
+);
+
+create index if not exists ix_tariff_bands_tariff_id
+    on public.tariff_bands (tariff_id);
+
+COMMIT;
@@ -0,0 +1,175 @@
+BEGIN;
+
+create schema if not exists archive;
+
+create or replace function public.ensure_monthly_partition(parent text, month_start date)
+    returns text
+    language plpgsql
+as
+$$
+declare
+    month_from     date := date_trunc('month', month_start)::date;
+    month_to       date := (date_trunc('month', month_start) + interval '1 month')::date;
+    partition_name text := parent || '_p' || to_char(month_from, 'YYYY_MM');
+begin
+    if to_regclass(format('public.%I', partition_name)) is not null
+        or to_regclass(format('archive.%I', partition_name)) is not null then
+        return partition_name;
+    end if;
+
+    execute format('create table public.%I (like public.%I including defaults including constraints)',
+                   partition_name, parent);
+
+    execute format('with moved as (delete from public.%I where start_time >= %L and start_time < %L returning *) '
+                       || 'insert into public.%I select * from moved',
+                   parent || '_default', month_from, month_to, partition_name);
+
+    execute format('alter table public.%I attach partition public.%I for values from (%L) to (%L)',
+                   parent, partition_name, month_from, month_to);
+
+    return partition_name;
+end;
+$$;
+
+create or replace function public.archive_monthly_partition(parent text, month_start date)
+    returns boolean
+    language plpgsql
+as
+$$
+declare
+    partition_name text := parent || '_p' || to_char(date_trunc('month', month_start), 'YYYY_MM');
+    blocked        boolean;
+begin
+    if to_regclass(format('public.%I', partition_name)) is null then
+        return false;
+    end if;
+
+    execute format('select exists (select 1 from public.%I where status = %L)', partition_name, 'ACTIVE')
+        into blocked;
+
+    if not blocked and parent = 'reservations' then
+        execute format('select exists (select 1 from public.parking_sessions ps '
+                           || 'join public.%I r on r.id = ps.reservation_id)', partition_name)
+            into blocked;
+    end if;
+
+    if blocked then
+        return false;
+    end if;
+
+    execute format('alter table public.%I detach partition public.%I', parent, partition_name);
+    execute format('alter table public.%I set schema archive', partition_name);
+
+    return true;
+end;
+$$;
+
+alter table public.parking_sessions
+    drop constraint if exists parking_sessions_reservations_id_fk,
+    drop constraint if exists fkp9ssgejordr55ko4o9sm34miu;
+
+alter table public.parking_sessions rename to parking_sessions_unpartitioned;
+alter table public.parking_sessions_unpartitioned rename constraint parking_sessions_pkey to parking_sessions_unpartitioned_pkey;
+alter index if exists public.ix_sessions_spot_status rename to ix_sessions_unpartitioned_spot_status;
+alter index if exists public.ix_sessions_vehicle_status rename to ix_sessions_unpartitioned_vehicle_status;
+
+alter table public.reservations rename to reservations_unpartitioned;
+alter table public.reservations_unpartitioned rename constraint reservations_pkey to reservations_unpartitioned_pkey;
+
+create table public.reservations
+(
+    end_time   timestamp(6)                                            not null,
+    id         bigint default nextval('reservations_id_seq'::regclass) not null,
+    spot_id    bigint                                                  not null
+        constraint fk_reservations_spot
+            references public.spots,
+    start_time timestamp(6)                                            not null,
+    vehicle_id bigint                                                  not null
+        constraint fk_reservations_vehicle
+            references public.vehicles,
+    status     varchar(255)                                            not null
+        constraint reservations_status_check
+            check ((status)::text = ANY
+                   ((ARRAY ['ACTIVE'::character varying, 'CANCELLED'::character varying, 'EXPIRED'::character varying])::text[])),
+    created    timestamp(6)                                            not null,
+    changed    timestamp(6)                                            not null,
+    constraint reservations_pkey
+        primary key (id, start_time)
+) partition by range (start_time);
+
+create table public.reservations_default partition of public.reservations default;
+
+create table public.parking_sessions
+(
+    end_time       timestamp(6),
+    id             bigint default nextval('parking_sessions_id_seq'::regclass) not null,
+    spot_id        bigint                                                      not null
+        constraint fk_parking_sessions_spot
+            references public.spots,
+    start_time     timestamp(6)                                                not null,
+    vehicle_id     bigint                                                      not null
+        constraint fk_parking_sessions_vehicle
+            references public.vehicles,
+    status         varchar(255)                                                not null
+        constraint parking_sessions_status_check
+            check ((status)::text = ANY ((ARRAY ['ACTIVE'::character varying, 'FINISHED'::character varying])::text[])),
+    reservation_id bigint,
+    total_cost     numeric,
+    constraint parking_sessions_pkey
+        primary key (id, start_time)
+) partition by range (start_time);
+
+create table public.parking_sessions_default partition of public.parking_sessions default;
+
+create index ix_reservations_spot_status
+    on public.reservations (spot_id, status);
+
+create index ix_reservations_vehicle_id
+    on public.reservations (vehicle_id);
+
+create index ix_reservations_status_end_time
+    on public.reservations (status, end_time);
+
+create index ix_sessions_spot_status
+    on public.parking_sessions (spot_id, status);
+
+create index ix_sessions_vehicle_status
+    on public.parking_sessions (vehicle_id, status);
+
+create index ix_sessions_reservation_id
+    on public.parking_sessions (reservation_id);
+
+do
+$$
+declare
+    first_month date;
+    last_month  date := (date_trunc('month', localtimestamp) + interval '3 months')::date;
+    next_month  date;
+begin
+    select date_trunc('month', least(
+            coalesce((select min(start_time) from public.reservations_unpartitioned), localtimestamp),
+            coalesce((select min(start_time) from public.parking_sessions_unpartitioned), localtimestamp)))::date
+    into first_month;
+
+    next_month := first_month;
+    while next_month <= last_month
+        loop
+            perform public.ensure_monthly_partition('reservations', next_month);
+            perform public.ensure_monthly_partition('parking_sessions', next_month);
+            next_month := (next_month + interval '1 month')::date;
+        end loop;
+end;
+$$;
+
+insert into public.reservations (end_time, id, spot_id, start_time, vehicle_id, status, created, changed)
+select end_time, id, spot_id, start_time, vehicle_id, status, created, changed
+from public.reservations_unpartitioned;
+
+insert into public.parking_sessions (end_time, id, spot_id, start_time, vehicle_id, status, reservation_id, total_cost)
+select end_time, id, spot_id, start_time, vehicle_id, status, reservation_id, total_cost
+from public.parking_sessions_unpartitioned;
+
+drop table public.parking_sessions_unpartitioned;
+drop table public.reservations_unpartitioned;
+
+COMMIT;
@@ -0,0 +1,18 @@
+BEGIN;
+
+create table if not exists public.idempotency_keys
+(
+    principal       varchar(64)  not null,
+    operation       varchar(64)  not null,
+    idempotency_key varchar(128) not null,
+    fingerprint     varchar(255) not null,
+    resource_id     bigint,
+    created         timestamp(6) not null,
+    constraint pk_idempotency_keys
+        primary key (principal, operation, idempotency_key)
+);
+
+create index if not exists ix_idempotency_keys_created
+    on public.idempotency_keys (created);
+
+COMMIT;
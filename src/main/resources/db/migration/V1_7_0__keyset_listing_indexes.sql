@@ -0,0 +1,24 @@
+BEGIN;
+
+create index if not exists ix_spots_parking_lot_id_id
+    on public.spots (parking_lot_id, id);
+
+create index if not exists ix_spots_status_id
+    on public.spots (status, id);
+
+create index if not exists ix_sessions_status_id
+    on public.parking_sessions (status, id);
+
+create index if not exists ix_reservations_status_id
+    on public.reservations (status, id);
+
+create index if not exists ix_users_status_id
+    on public.users (status, id);
+
+create index if not exists ix_vehicles_user_id_id
+    on public.vehicles (user_id, id);
+
+create index if not exists ix_parking_lots_tariff_id_id
+    on public.parking_lots (tariff_id, id);
+
+COMMIT;
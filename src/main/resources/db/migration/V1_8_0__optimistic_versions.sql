@@ -0,0 +1,12 @@
+BEGIN;
+
+alter table public.spots
+    add column if not exists version bigint not null default 0;
+
+alter table public.reservations
+    add column if not exists version bigint not null default 0;
+
+alter table public.parking_sessions
+    add column if not exists version bigint not null default 0;
+
+COMMIT;
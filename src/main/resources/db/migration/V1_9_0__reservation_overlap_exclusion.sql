@@ -0,0 +1,51 @@
+BEGIN;
+
+create extension if not exists btree_gist;
+
+create table if not exists public.active_reservation_slots
+(
+    reservation_id bigint  not null,
+    spot_id        bigint  not null,
+    period         tsrange not null,
+    constraint pk_active_reservation_slots
+        primary key (reservation_id),
+    constraint ex_active_reservation_slots_spot_period
+        exclude using gist (spot_id with =, period with &&)
+);
+
+create or replace function public.sync_active_reservation_slot()
+    returns trigger
+    language plpgsql
+as
+$$
+begin
+    if tg_op = 'DELETE' then
+        delete from public.active_reservation_slots where reservation_id = old.id;
+    elsif new.status = 'ACTIVE' then
+        insert into public.active_reservation_slots (reservation_id, spot_id, period)
+        values (new.id, new.spot_id, tsrange(new.start_time, new.end_time))
+        on conflict (reservation_id) do update
+            set spot_id = excluded.spot_id,
+                period  = excluded.period;
+    elsif tg_op = 'UPDATE' then
+        delete from public.active_reservation_slots where reservation_id = old.id;
+    end if;
+
+    return null;
+end;
+$$;
+
+insert into public.active_reservation_slots (reservation_id, spot_id, period)
+select id, spot_id, tsrange(start_time, end_time)
+from public.reservations
+where status = 'ACTIVE'
+order by id
+on conflict do nothing;
+
+create trigger trg_reservations_active_slot
+    after insert or update of spot_id, start_time, end_time, status or delete
+    on public.reservations
+    for each row
+execute function public.sync_active_reservation_slot();
+
+COMMIT;
@@ -0,0 +1,135 @@
+package com.tms.ParkingManagementSystem.benchmark;
+
+import com.tms.ParkingManagementSystem.SmartParkingSystemApplication;
+import com.tms.ParkingManagementSystem.enums.SessionStatus;
+import com.tms.ParkingManagementSystem.enums.SpotStatus;
+import com.tms.ParkingManagementSystem.enums.SpotType;
+import com.tms.ParkingManagementSystem.enums.TariffStatus;
+import com.tms.ParkingManagementSystem.model.ParkingLot;
+import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.repository.ParkingLotRepository;
+import com.tms.ParkingManagementSystem.repository.SpotRepository;
+import com.tms.ParkingManagementSystem.repository.TariffRepository;
+import com.tms.ParkingManagementSystem.service.SpotAvailabilityIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// needs DB_URL/DB_USER/DB_PASS like the DB-gated tests: mvn -Pjmh test-compile exec:exec -Djmh.include=SpotAvailability
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpotAvailabilityBenchmark {
+
+    @Param({"100000"})
+    private int spots;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private SpotRepository spotRepository;
+    private SpotAvailabilityIndex spotAvailabilityIndex;
+
+    private Long tariffId;
+    private Long lotId;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        if (System.getenv("DB_URL") == null) {
+            throw new IllegalStateException("SpotAvailabilityBenchmark needs DB_URL, DB_USER and DB_PASS");
+        }
+
+        context = new SpringApplicationBuilder(SmartParkingSystemApplication.class)
+                .properties(
+                        "server.port=0",
+                        "outbox.relay.interval-ms=3600000",
+                        "rollup.flush-interval-ms=3600000",
+                        "deadline.tick-ms=3600000"
+                )
+                .run();
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        spotRepository = context.getBean(SpotRepository.class);
+        spotAvailabilityIndex = context.getBean(SpotAvailabilityIndex.class);
+
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        now = LocalDateTime.now();
+
+        Tariff tariff = new Tariff(now);
+        tariff.setName("benchmark-" + suffix);
+        tariff.setHourPrice(new BigDecimal("2.50"));
+        tariff.setBillingStepMinutes(15);
+        tariff.setFreeMinutes(0);
+        tariff.setStatus(TariffStatus.ACTIVE);
+        tariff.setChanged(now);
+        tariffId = context.getBean(TariffRepository.class).save(tariff).getId();
+
+        ParkingLot lot = new ParkingLot("benchmark-" + suffix, now);
+        lot.setName("Benchmark Lot");
+        lot.setTariff(tariff);
+        lot.setChanged(now);
+        lotId = context.getBean(ParkingLotRepository.class).save(lot).getId();
+
+        List<Object[]> rows = new ArrayList<>(spots);
+        SpotType[] types = {SpotType.STANDARD, SpotType.STANDARD, SpotType.ELECTRIC, SpotType.DISABLED};
+        for (int i = 1; i <= spots; i++) {
+            SpotStatus status = i % 3 == 0 ? SpotStatus.OCCUPIED : SpotStatus.AVAILABLE;
+            rows.add(new Object[]{lotId, i, i % 5, types[i % types.length].name(), status.name()});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into spots (parking_lot_id, number, level, type, status, created, changed) "
+                        + "values (?, ?, ?, ?, ?, now(), now())",
+                rows
+        );
+        jdbcTemplate.execute("analyze public.spots");
+
+        spotAvailabilityIndex.load();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (context == null) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("delete from spots where parking_lot_id = ?", lotId);
+            jdbcTemplate.update("delete from parking_lots where id = ?", lotId);
+            jdbcTemplate.update("delete from tariffs where id = ?", tariffId);
+        } finally {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public List<Spot> jpqlQuery() {
+        return spotRepository.findAvailableSpots(lotId, SpotType.ELECTRIC, now, now, SessionStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public List<Long> bitsetIndex() {
+        return spotAvailabilityIndex.findAvailableSpotIds(lotId, SpotType.ELECTRIC);
+    }
+}
@@ -0,0 +1,67 @@
+package com.tms.ParkingManagementSystem.benchmark;
+
+import com.tms.ParkingManagementSystem.service.TariffCostEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TariffCostBenchmark {
+
+    private static final int SESSIONS = 1024;
+
+    private final TariffCostEngine engine = new TariffCostEngine(null);
+
+    private BigDecimal hourPrice;
+    private TariffCostEngine.CompiledTariff compiled;
+    private LocalDateTime[] starts;
+    private LocalDateTime[] ends;
+
+    @Setup
+    public void setUp() {
+        hourPrice = new BigDecimal("2.50");
+        compiled = engine.compile(hourPrice, 15, 10);
+
+        Random random = new Random(7);
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 8, 0);
+        starts = new LocalDateTime[SESSIONS];
+        ends = new LocalDateTime[SESSIONS];
+
+        for (int i = 0; i < SESSIONS; i++) {
+            starts[i] = base.plusSeconds(random.nextInt(86_400));
+            ends[i] = starts[i].plusSeconds(random.nextInt(3 * 86_400));
+        }
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        for (int i = 0; i < SESSIONS; i++) {
+            blackhole.consume(TariffCostEngine.referenceCost(starts[i], ends[i], hourPrice, 15, 10));
+        }
+    }
+
+    @Benchmark
+    public void fixedPoint(Blackhole blackhole) {
+        for (int i = 0; i < SESSIONS; i++) {
+            blackhole.consume(engine.costCents(compiled, starts[i], ends[i]));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.tms.ParkingManagementSystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaDataSourceTest {
+
+    @Test
+    void routesToPrimaryUntilReplicaIsInRotation() throws SQLException {
+        StubDataSource primary = new StubDataSource("primary");
+        StubDataSource replica = new StubDataSource("replica");
+        ReplicaDataSource dataSource = new ReplicaDataSource(primary, List.of(replica), 1000);
+
+        assertEquals("primary", name(dataSource.getConnection()));
+        assertTrue(primary.lastReadOnly);
+        assertEquals(1, dataSource.getFallbackCount());
+
+        dataSource.recordLag(0, 200);
+
+        assertEquals("replica", name(dataSource.getConnection()));
+        assertEquals(1, dataSource.getFallbackCount());
+    }
+
+    @Test
+    void dropsLaggingReplicas() throws SQLException {
+        StubDataSource primary = new StubDataSource("primary");
+        StubDataSource first = new StubDataSource("first");
+        StubDataSource second = new StubDataSource("second");
+        ReplicaDataSource dataSource = new ReplicaDataSource(primary, List.of(first, second), 1000);
+
+        dataSource.recordLag(0, 0);
+        dataSource.recordLag(1, 0);
+
+        Set<String> used = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            used.add(name(dataSource.getConnection()));
+        }
+        assertEquals(Set.of("first", "second"), used);
+
+        dataSource.recordLag(1, 5000);
+        assertFalse(dataSource.isHealthy(1));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("first", name(dataSource.getConnection()));
+        }
+    }
+
+    @Test
+    void fallsBackWhenReplicaConnectionFails() throws SQLException {
+        StubDataSource primary = new StubDataSource("primary");
+        StubDataSource replica = new StubDataSource("replica");
+        ReplicaDataSource dataSource = new ReplicaDataSource(primary, List.of(replica), 1000);
+
+        dataSource.recordLag(0, 0);
+        replica.failing = true;
+
+        assertEquals("primary", name(dataSource.getConnection()));
+        assertFalse(dataSource.isHealthy(0));
+    }
+
+    @Test
+    void readsOutsideReadFromReplicaStayOnPrimary() throws SQLException {
+        StubDataSource primary = new StubDataSource("primary");
+        StubDataSource replica = new StubDataSource("replica");
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica);
+
+        assertFalse(ReplicaReadAspect.isActive());
+        assertEquals("primary", name(dataSource.getConnection()));
+        assertTrue(primary.lastReadOnly);
+    }
+
+    private static String name(Connection connection) {
+        return connection.toString();
+    }
+
+    private static final class StubDataSource extends AbstractDataSource {
+
+        private final String name;
+        private boolean failing;
+        private boolean lastReadOnly;
+
+        private StubDataSource(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failing) {
+                throw new SQLException("Connection refused");
+            }
+
+            lastReadOnly = false;
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "toString" -> name;
+                        case "setReadOnly" -> {
+                            lastReadOnly = (Boolean) args[0];
+                            yield null;
+                        }
+                        default -> null;
+                    }
+            );
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.tms.ParkingManagementSystem.controller;
+
+import com.tms.ParkingManagementSystem.enums.GateDirection;
+import com.tms.ParkingManagementSystem.model.dto.GateEventBatchDto;
+import com.tms.ParkingManagementSystem.model.dto.GateEventBatchResponseDto;
+import com.tms.ParkingManagementSystem.model.dto.GateEventDto;
+import com.tms.ParkingManagementSystem.service.GateEventQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GateControllerTest {
+
+    private final GateController controller = new GateController(new GateEventQueue(new SimpleMeterRegistry(), 5));
+
+    @Test
+    void acceptsWholeBatch() {
+        ResponseEntity<GateEventBatchResponseDto> response = controller.ingestEvents(batch(3));
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(3, response.getBody().getAccepted());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void reportsPartiallyAcceptedBatchAsAccepted() {
+        ResponseEntity<GateEventBatchResponseDto> response = controller.ingestEvents(batch(7));
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(5, response.getBody().getAccepted());
+        assertEquals(2, response.getBody().getRejected());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void rejectsBatchWhenQueueIsFull() {
+        controller.ingestEvents(batch(5));
+
+        ResponseEntity<GateEventBatchResponseDto> response = controller.ingestEvents(batch(2));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals(0, response.getBody().getAccepted());
+        assertEquals(2, response.getBody().getRejected());
+    }
+
+    private static GateEventBatchDto batch(int count) {
+        List<GateEventDto> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(new GateEventDto("AB" + i, 1L, GateDirection.ENTRY, LocalDateTime.now()));
+        }
+
+        GateEventBatchDto batch = new GateEventBatchDto();
+        batch.setEvents(events);
+        return batch;
+    }
+}
@@ -0,0 +1,366 @@
+package com.tms.ParkingManagementSystem.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+@Slf4j
+public class LoadHarness {
+
+    private static final String GATE = "POST /gate/events";
+    private static final String RESERVATION = "POST /reservation";
+    private static final String FLEET_DASHBOARD = "GET /parkingLot/fleet/dashboard";
+    private static final String LOT_DASHBOARD = "GET /parkingLot/{id}/dashboard";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    private final String baseUrl;
+    private final int rps;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final int gateWeight;
+    private final int reservationWeight;
+    private final int dashboardWeight;
+    private final int gateBatch;
+    private final int dwellSeconds;
+    private final int horizonDays;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final SplittableRandom random;
+
+    private final List<SampledVehicle> vehicles = new ArrayList<>();
+    private final List<Long> spotIds = new ArrayList<>();
+    private final List<Long> lotIds = new ArrayList<>();
+    private final ArrayDeque<SampledVehicle> parked = new ArrayDeque<>();
+    private final Set<Long> parkedIds = new HashSet<>();
+    private int vehicleCursor;
+    private String token;
+
+    LoadHarness(LoadTestOptions options) {
+        this.baseUrl = options.string("base-url", "http://localhost:8080");
+        this.rps = options.integer("rps", 200);
+        this.durationSeconds = options.integer("duration-seconds", 60);
+        this.warmupSeconds = options.integer("warmup-seconds", 10);
+        this.gateWeight = options.integer("gate-weight", 60);
+        this.reservationWeight = options.integer("reservation-weight", 25);
+        this.dashboardWeight = options.integer("dashboard-weight", 15);
+        this.gateBatch = options.integer("gate-batch", 1);
+        this.dwellSeconds = options.integer("dwell-seconds", 20);
+        this.horizonDays = options.integer("horizon-days", 30);
+        this.maxInFlight = options.integer("max-in-flight", 1024);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.random = new SplittableRandom(options.number("seed", 7));
+
+        if (rps < 1 || gateWeight + reservationWeight + dashboardWeight < 1) {
+            throw new IllegalArgumentException("Target rps and the operation mix must be positive");
+        }
+
+        for (String endpoint : List.of(GATE, RESERVATION, FLEET_DASHBOARD, LOT_DASHBOARD)) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoadHarness harness = new LoadHarness(options);
+
+        try (Connection connection = options.connect()) {
+            harness.sample(connection, options.integer("sample-size", 20_000));
+        }
+        harness.login(options.string("login-username", "loadtest"), options.string("login-password", "loadtest"));
+        harness.run();
+        harness.report();
+    }
+
+    void sample(Connection connection, int sampleSize) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                select v.id, v.plate_number
+                from public.vehicles v
+                join public.users u on u.id = v.user_id
+                where u.status = 'ACTIVE'
+                  and not exists (select 1 from public.parking_sessions ps
+                                  where ps.vehicle_id = v.id and ps.status = 'ACTIVE')
+                order by random()
+                limit ?
+                """)) {
+            statement.setInt(1, sampleSize);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    vehicles.add(new SampledVehicle(rs.getLong(1), rs.getString(2), null, null));
+                }
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement("""
+                select s.id
+                from public.spots s
+                join public.parking_lots pl on pl.id = s.parking_lot_id
+                where s.status = 'AVAILABLE'
+                  and pl.status = 'ACTIVE'
+                order by random()
+                limit ?
+                """)) {
+            statement.setInt(1, sampleSize);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    spotIds.add(rs.getLong(1));
+                }
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select id from public.parking_lots where status = 'ACTIVE' order by id");
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                lotIds.add(rs.getLong(1));
+            }
+        }
+
+        if (vehicles.isEmpty() || spotIds.isEmpty() || lotIds.isEmpty()) {
+            throw new IllegalStateException("No vehicles, spots or active lots to drive load against, run the generator first");
+        }
+        log.info("Sampled vehicles = {}, spots = {}, lots = {}", vehicles.size(), spotIds.size(), lotIds.size());
+    }
+
+    void login(String username, String password) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        jsonMapper.writeValueAsString(Map.of("username", username, "password", password))))
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode() + ": " + response.body());
+        }
+        token = String.valueOf(jsonMapper.readValue(response.body(), Map.class).get("token"));
+    }
+
+    void run() throws InterruptedException {
+        log.info("Driving {} rps for {} s after {} s warmup, mix gate/reservation/dashboard = {}/{}/{}",
+                rps, durationSeconds, warmupSeconds, gateWeight, reservationWeight, dashboardWeight);
+
+        long started = System.nanoTime();
+        long measureFrom = started + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureTo = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        for (long k = 0; ; k++) {
+            long intended = started + k * 1_000_000_000L / rps;
+            if (intended >= measureTo) {
+                break;
+            }
+
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            boolean measured = intended >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+
+            Operation operation = nextOperation();
+            EndpointStats endpoint = measured ? stats.get(operation.endpoint()) : null;
+
+            client.sendAsync(operation.request(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        inFlight.release();
+                        if (endpoint != null) {
+                            endpoint.record(System.nanoTime() - intended, response, ex);
+                        }
+                    });
+        }
+
+        if (!inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS)) {
+            log.warn("Requests still in flight after 30 s: {}", maxInFlight - inFlight.availablePermits());
+        }
+    }
+
+    void report() {
+        log.info("Requests not sent because {} were already in flight: {}", maxInFlight, dropped.sum());
+        log.info(String.format("%-34s %9s %8s %9s %9s %9s %9s %7s %7s %7s %7s",
+                "endpoint", "requests", "rps", "p50 ms", "p90 ms", "p99 ms", "max ms",
+                "2xx", "4xx", "5xx", "failed"));
+
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            LatencyHistogram latency = endpoint.latency;
+            log.info(String.format("%-34s %9d %8.1f %9.2f %9.2f %9.2f %9.2f %7d %7d %7d %7d",
+                    entry.getKey(),
+                    latency.count(),
+                    (double) latency.count() / durationSeconds,
+                    millis(latency.percentile(0.50)),
+                    millis(latency.percentile(0.90)),
+                    millis(latency.percentile(0.99)),
+                    millis(latency.max()),
+                    endpoint.success.sum(),
+                    endpoint.clientErrors.sum(),
+                    endpoint.serverErrors.sum(),
+                    endpoint.failures.sum()));
+        }
+    }
+
+    private Operation nextOperation() {
+        int roll = random.nextInt(gateWeight + reservationWeight + dashboardWeight);
+        if (roll < gateWeight) {
+            return gateOperation();
+        }
+        if (roll < gateWeight + reservationWeight) {
+            return reservationOperation();
+        }
+        return dashboardOperation();
+    }
+
+    private Operation gateOperation() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Map<String, Object>> events = new ArrayList<>(gateBatch);
+
+        for (int i = 0; i < gateBatch; i++) {
+            SampledVehicle oldest = parked.peek();
+            boolean exit = oldest != null && (parked.size() * 2 >= vehicles.size()
+                    || oldest.enteredAt().plusSeconds(dwellSeconds).isBefore(now) && random.nextBoolean());
+            if (exit) {
+                SampledVehicle vehicle = parked.poll();
+                parkedIds.remove(vehicle.id());
+                events.add(gateEvent(vehicle.plateNumber(), vehicle.parkingLotId(), "EXIT", now));
+                continue;
+            }
+
+            SampledVehicle vehicle = nextFreeVehicle();
+            SampledVehicle entered = new SampledVehicle(vehicle.id(), vehicle.plateNumber(),
+                    lotIds.get(random.nextInt(lotIds.size())), now);
+            parked.add(entered);
+            parkedIds.add(entered.id());
+            events.add(gateEvent(entered.plateNumber(), entered.parkingLotId(), "ENTRY", now));
+        }
+
+        return new Operation(GATE, post("/gate/events", Map.of("events", events)));
+    }
+
+    private Operation reservationOperation() {
+        SampledVehicle vehicle = vehicles.get(random.nextInt(vehicles.size()));
+        long spotId = spotIds.get(random.nextInt(spotIds.size()));
+
+        LocalDateTime start = LocalDateTime.now()
+                .plusMinutes(60 + random.nextInt(horizonDays * 24 * 60))
+                .truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = start.plusMinutes(60 + 15L * random.nextInt(9));
+
+        Map<String, Object> body = Map.of(
+                "vehicleId", vehicle.id(),
+                "spotId", spotId,
+                "startTime", start.toString(),
+                "endTime", end.toString()
+        );
+        return new Operation(RESERVATION, post("/reservation", body));
+    }
+
+    private Operation dashboardOperation() {
+        if (random.nextBoolean()) {
+            return new Operation(FLEET_DASHBOARD, get("/parkingLot/fleet/dashboard"));
+        }
+        long lotId = lotIds.get(random.nextInt(lotIds.size()));
+        return new Operation(LOT_DASHBOARD, get("/parkingLot/" + lotId + "/dashboard"));
+    }
+
+    private SampledVehicle nextFreeVehicle() {
+        while (true) {
+            SampledVehicle vehicle = vehicles.get(vehicleCursor);
+            vehicleCursor = (vehicleCursor + 1) % vehicles.size();
+            if (!parkedIds.contains(vehicle.id())) {
+                return vehicle;
+            }
+        }
+    }
+
+    private static Map<String, Object> gateEvent(String plateNumber, Long parkingLotId, String direction, LocalDateTime timestamp) {
+        return Map.of(
+                "plateNumber", plateNumber,
+                "parkingLotId", parkingLotId,
+                "direction", direction,
+                "timestamp", timestamp.toString()
+        );
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return authorized(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return authorized(path).GET().build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private record SampledVehicle(Long id, String plateNumber, Long parkingLotId, LocalDateTime enteredAt) {
+    }
+
+    private record Operation(String endpoint, HttpRequest request) {
+    }
+
+    private static final class EndpointStats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder success = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        private void record(long elapsedNanos, HttpResponse<?> response, Throwable ex) {
+            latency.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+            if (ex != null) {
+                failures.increment();
+            } else if (response.statusCode() >= 500) {
+                serverErrors.increment();
+            } else if (response.statusCode() >= 400) {
+                clientErrors.increment();
+            } else {
+                success.increment();
+            }
+        }
+    }
+}
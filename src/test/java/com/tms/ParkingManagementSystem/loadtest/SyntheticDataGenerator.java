@@ -0,0 +1,514 @@
+package com.tms.ParkingManagementSystem.loadtest;
+
+import com.tms.ParkingManagementSystem.service.TariffCostEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+@Slf4j
+public class SyntheticDataGenerator {
+
+    private static final String[] TARIFF_NAMES = {"CITY_CENTER", "SUBURBAN", "AIRPORT", "EV_HUB"};
+    private static final BigDecimal[] TARIFF_PRICES = {
+            new BigDecimal("3.20"), new BigDecimal("1.50"), new BigDecimal("4.80"), new BigDecimal("2.90")
+    };
+    private static final int[] TARIFF_STEPS = {15, 30, 60, 15};
+    private static final int[] TARIFF_FREE_MINUTES = {10, 15, 5, 10};
+
+    private static final double[] HOURLY_ARRIVALS = {
+            0.15, 0.10, 0.08, 0.08, 0.10, 0.25, 0.60, 1.40, 2.20, 1.90, 1.40, 1.30,
+            1.50, 1.40, 1.20, 1.20, 1.50, 1.90, 1.70, 1.20, 0.80, 0.60, 0.40, 0.25
+    };
+    private static final double WEEKEND_ARRIVALS = 0.6;
+    private static final double PEAK_ARRIVALS = Arrays.stream(HOURLY_ARRIVALS).max().orElseThrow();
+    private static final double MEAN_ARRIVALS = Arrays.stream(HOURLY_ARRIVALS).average().orElseThrow() * (5 + 2 * WEEKEND_ARRIVALS) / 7;
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int SPOTS_PER_LEVEL = 500;
+    private static final long MIN_SESSION_SECONDS = 5 * 60;
+    private static final long MAX_SESSION_SECONDS = 72 * 3600;
+    private static final double MEDIAN_SESSION_SECONDS = 90 * 60;
+    private static final double MEAN_SESSION_SECONDS = MEDIAN_SESSION_SECONDS * Math.exp(0.5);
+    private static final long RESERVATION_GAP_SECONDS = 15 * 60;
+
+    private final Connection connection;
+    private final CopyManager copyManager;
+    private final SplittableRandom random;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private final int lots;
+    private final int spotsPerLot;
+    private final int vehicles;
+    private final long sessions;
+    private final long reservations;
+    private final int historyDays;
+    private final int horizonDays;
+    private final double occupancy;
+    private final String loginUsername;
+    private final String loginPassword;
+
+    private final TariffCostEngine costEngine = new TariffCostEngine(null);
+    private final TariffCostEngine.CompiledTariff[] compiledTariffs = new TariffCostEngine.CompiledTariff[TARIFF_NAMES.length];
+
+    private long tariffBase;
+    private long lotBase;
+    private long spotBase;
+    private long userBase;
+    private long vehicleBase;
+    private long sessionBase;
+    private long reservationBase;
+
+    private int[] lotTariff;
+    private boolean[] lotOpen;
+    private int[] spotLot;
+    private boolean[] spotInService;
+    private int users;
+    private long sessionsWritten;
+    private long activeSessions;
+
+    SyntheticDataGenerator(Connection connection, LoadTestOptions options) throws SQLException {
+        this.connection = connection;
+        this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        this.random = new SplittableRandom(options.number("seed", 42));
+        this.lots = options.integer("lots", 200);
+        this.spotsPerLot = options.integer("spots-per-lot", 5_000);
+        this.vehicles = options.integer("vehicles", 1_000_000);
+        this.sessions = options.number("sessions", 5_000_000);
+        this.reservations = options.number("reservations", 1_000_000);
+        this.historyDays = options.integer("history-days", 90);
+        this.horizonDays = options.integer("horizon-days", 30);
+        this.occupancy = options.integer("occupancy-percent", 65) / 100.0;
+        this.loginUsername = options.string("login-username", "loadtest");
+        this.loginPassword = options.string("login-password", "loadtest");
+
+        for (int i = 0; i < TARIFF_NAMES.length; i++) {
+            compiledTariffs[i] = costEngine.compile(TARIFF_PRICES[i], TARIFF_STEPS[i], TARIFF_FREE_MINUTES[i]);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (Connection connection = options.connect()) {
+            new SyntheticDataGenerator(connection, options).generate();
+        }
+    }
+
+    void generate() throws SQLException, IOException {
+        log.info("Generating synthetic data: lots = {}, spotsPerLot = {}, vehicles = {}, sessions = {}, reservations = {}",
+                lots, spotsPerLot, vehicles, sessions, reservations);
+
+        connection.setAutoCommit(false);
+        try {
+            reserveIdBases();
+            ensurePartitions();
+
+            timed("tariffs", this::copyTariffs);
+            timed("parking_lots", this::copyParkingLots);
+            timed("spots", this::copySpots);
+            timed("users", this::copyUsers);
+            timed("vehicles", this::copyVehicles);
+            timed("parking_sessions", this::copySessions);
+            timed("reservations", this::copyReservations);
+
+            markOccupiedSpots();
+            upsertLoadTestLogin();
+            advanceSequences();
+
+            connection.commit();
+        } catch (SQLException | IOException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        }
+
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze public.spots, public.vehicles, public.users, public.parking_sessions, public.reservations");
+        }
+
+        log.info("Synthetic data generated: spots = {}, sessions = {}, activeSessions = {}, login = {}",
+                spotLot.length, sessionsWritten, activeSessions, loginUsername);
+    }
+
+    private void reserveIdBases() throws SQLException {
+        tariffBase = nextIdBase("tariffs", "tariffs_id_seq");
+        lotBase = nextIdBase("parking_lots", "parking_lots_id_seq");
+        spotBase = nextIdBase("spots", "spots_id_seq");
+        userBase = nextIdBase("users", "users_id_seq");
+        vehicleBase = nextIdBase("vehicles", "vehicles_id_seq");
+        sessionBase = nextIdBase("parking_sessions", "parking_sessions_id_seq");
+        reservationBase = nextIdBase("reservations", "reservations_id_seq");
+    }
+
+    private long nextIdBase(String table, String sequence) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "select greatest((select coalesce(max(id), 0) from public." + table + "), "
+                             + "(select last_value from public." + sequence + "))")) {
+            rs.next();
+            return rs.getLong(1) + 1;
+        }
+    }
+
+    private void ensurePartitions() throws SQLException {
+        LocalDate month = now.minusDays(historyDays + 3).toLocalDate().withDayOfMonth(1);
+        LocalDate last = now.plusDays(horizonDays + 1).toLocalDate();
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select public.ensure_monthly_partition(?, ?)")) {
+            for (; !month.isAfter(last); month = month.plusMonths(1)) {
+                for (String parent : new String[]{"reservations", "parking_sessions"}) {
+                    statement.setString(1, parent);
+                    statement.setObject(2, month);
+                    statement.execute();
+                }
+            }
+        }
+    }
+
+    private long copyTariffs() throws SQLException, IOException {
+        try (CopyWriter out = copy("tariffs (id, name, status, billing_step_minutes, free_minutes, hour_price, created, changed)")) {
+            for (int i = 0; i < TARIFF_NAMES.length; i++) {
+                long id = tariffBase + i;
+                out.row(id, TARIFF_NAMES[i] + "_" + id, "ACTIVE", TARIFF_STEPS[i], TARIFF_FREE_MINUTES[i],
+                        TARIFF_PRICES[i].toPlainString(), now.minusDays(historyDays + 30), now.minusDays(historyDays + 30));
+            }
+        }
+        return TARIFF_NAMES.length;
+    }
+
+    private long copyParkingLots() throws SQLException, IOException {
+        lotTariff = new int[lots];
+        lotOpen = new boolean[lots];
+
+        try (CopyWriter out = copy("parking_lots (id, tariff_id, address, name, status, created, changed)")) {
+            for (int i = 0; i < lots; i++) {
+                long id = lotBase + i;
+                double roll = random.nextDouble();
+                String status = roll < 0.95 ? "ACTIVE" : roll < 0.98 ? "MAINTENANCE" : "CLOSED";
+                lotTariff[i] = random.nextInt(TARIFF_NAMES.length);
+                lotOpen[i] = "ACTIVE".equals(status);
+
+                LocalDateTime created = now.minusDays(historyDays + 30L + random.nextInt(365));
+                out.row(id, tariffBase + lotTariff[i], "Load test avenue " + id, "Lot " + id, status, created, created);
+            }
+        }
+        return lots;
+    }
+
+    private long copySpots() throws SQLException, IOException {
+        int[] lotSizes = new int[lots];
+        int totalSpots = 0;
+        for (int i = 0; i < lots; i++) {
+            lotSizes[i] = Math.max(1, (int) (spotsPerLot * (0.5 + random.nextDouble())));
+            totalSpots += lotSizes[i];
+        }
+
+        spotLot = new int[totalSpots];
+        spotInService = new boolean[totalSpots];
+
+        try (CopyWriter out = copy("spots (id, parking_lot_id, number, level, type, status, created, changed)")) {
+            int spot = 0;
+            for (int lot = 0; lot < lots; lot++) {
+                for (int number = 1; number <= lotSizes[lot]; number++, spot++) {
+                    double roll = random.nextDouble();
+                    String type = roll < 0.05 ? "DISABLED" : roll < 0.15 ? "ELECTRIC" : "STANDARD";
+                    spotLot[spot] = lot;
+                    spotInService[spot] = random.nextDouble() >= 0.01;
+
+                    LocalDateTime created = now.minusDays(historyDays + 30);
+                    out.row(spotBase + spot, lotBase + lot, number, (number - 1) / SPOTS_PER_LEVEL, type,
+                            spotInService[spot] ? "AVAILABLE" : "OUT_OF_SERVICE", created, created);
+                }
+            }
+        }
+        return totalSpots;
+    }
+
+    private long copyUsers() throws SQLException, IOException {
+        users = Math.max(1, vehicles * 2 / 3);
+
+        try (CopyWriter out = copy("users (id, first_name, second_name, email, disabled_permit, status, created, changed)")) {
+            for (int i = 0; i < users; i++) {
+                long id = userBase + i;
+                LocalDateTime created = now.minusDays(historyDays + random.nextInt(720));
+                out.row(id, "Driver", "No" + id, "driver" + id + "@loadtest.example", random.nextDouble() < 0.03,
+                        random.nextDouble() < 0.99 ? "ACTIVE" : "BLOCKED", created, created);
+            }
+        }
+        return users;
+    }
+
+    private long copyVehicles() throws SQLException, IOException {
+        try (CopyWriter out = copy("vehicles (id, user_id, plate_number, type, created, changed)")) {
+            for (int i = 0; i < vehicles; i++) {
+                long id = vehicleBase + i;
+                double roll = random.nextDouble();
+                String type = roll < 0.80 ? "CAR" : roll < 0.90 ? "ELECTRIC_CAR" : roll < 0.97 ? "MOTORCYCLE" : "TRUCK";
+                LocalDateTime created = now.minusDays(historyDays + random.nextInt(360));
+                out.row(id, userBase + (long) i * users / vehicles, plateNumber(id), type, created, created);
+            }
+        }
+        return vehicles;
+    }
+
+    private long copySessions() throws SQLException, IOException {
+        long windowStart = epoch(now.minusDays(historyDays));
+        long windowEnd = epoch(now);
+        double perSpot = Math.max(1.0, (double) sessions / spotLot.length);
+        double meanIdle = Math.max(60, (windowEnd - windowStart) / perSpot - MEAN_SESSION_SECONDS);
+
+        try (CopyWriter out = copy("parking_sessions (id, spot_id, vehicle_id, start_time, end_time, status, reservation_id, total_cost)")) {
+            for (int spot = 0; spot < spotLot.length; spot++) {
+                if (!spotInService[spot]) {
+                    continue;
+                }
+                int lot = spotLot[spot];
+                long t = windowStart - (long) (random.nextDouble() * meanIdle);
+
+                while (true) {
+                    long start = nextArrival(t, meanIdle);
+                    long end = start + sessionSeconds();
+                    if (end > windowEnd) {
+                        break;
+                    }
+                    if (start >= windowStart) {
+                        long cents = costEngine.costCents(compiledTariffs[lotTariff[lot]], timestamp(start), timestamp(end));
+                        out.row(sessionBase + sessionsWritten++, spotBase + spot, vehicleBase + regularVehicle(),
+                                timestamp(start), timestamp(end), "FINISHED", null, BigDecimal.valueOf(cents, 2).toPlainString());
+                    }
+                    t = end;
+                }
+
+                if (lotOpen[lot] && activeSessions < vehicles && random.nextDouble() < occupancy) {
+                    long start = Math.max(t + 60, windowEnd - sessionSeconds());
+                    long vehicle = vehicleBase + vehicles - 1 - activeSessions++;
+                    out.row(sessionBase + sessionsWritten++, spotBase + spot, vehicle, timestamp(Math.min(start, windowEnd)),
+                            null, "ACTIVE", null, null);
+                }
+            }
+        }
+        return sessionsWritten;
+    }
+
+    private long copyReservations() throws SQLException, IOException {
+        long nowEpoch = epoch(now);
+        long windowStart = epoch(now.minusDays(historyDays));
+        long horizonEnd = epoch(now.plusDays(horizonDays));
+        long[] nextFree = new long[spotLot.length];
+
+        try (CopyWriter out = copy("reservations (id, spot_id, vehicle_id, start_time, end_time, status, created, changed)")) {
+            for (long i = 0; i < reservations; i++) {
+                int spot = random.nextInt(spotLot.length);
+                long duration = 3600 + 900L * random.nextInt(13);
+                long lead = Math.max(300, (long) exponential(36 * 3600));
+                boolean future = random.nextDouble() < 0.3;
+
+                long start;
+                String status;
+                if (future) {
+                    start = Math.max(nowEpoch + 600 + (long) (random.nextDouble() * (horizonEnd - nowEpoch)), nextFree[spot]);
+                    start += (900 - start % 900) % 900;
+                    boolean fits = start + duration <= horizonEnd && start >= nextFree[spot];
+                    status = fits && spotInService[spot] && random.nextDouble() < 0.85 ? "ACTIVE" : "CANCELLED";
+                    if ("ACTIVE".equals(status)) {
+                        nextFree[spot] = start + duration + RESERVATION_GAP_SECONDS;
+                    }
+                } else {
+                    start = windowStart + (long) (random.nextDouble() * (nowEpoch - duration - windowStart));
+                    start -= start % 900;
+                    status = random.nextDouble() < 0.6 ? "EXPIRED" : "CANCELLED";
+                }
+
+                long end = start + duration;
+                long created = Math.min(start - lead, nowEpoch - random.nextInt(3600));
+                long changed = switch (status) {
+                    case "ACTIVE" -> created;
+                    case "EXPIRED" -> end;
+                    default -> created + (long) (random.nextDouble() * (Math.min(start, nowEpoch) - created));
+                };
+
+                out.row(reservationBase + i, spotBase + spot, vehicleBase + random.nextInt(vehicles),
+                        timestamp(start), timestamp(end), status, timestamp(created), timestamp(changed));
+            }
+        }
+        return reservations;
+    }
+
+    private void markOccupiedSpots() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                update public.spots s
+                set status = 'OCCUPIED'
+                from public.parking_sessions ps
+                where ps.spot_id = s.id
+                  and ps.status = 'ACTIVE'
+                  and ps.id >= ?
+                """)) {
+            statement.setLong(1, sessionBase);
+            log.info("Marked occupied spots: {}", statement.executeUpdate());
+        }
+    }
+
+    private void upsertLoadTestLogin() throws SQLException {
+        String password = new BCryptPasswordEncoder().encode(loginPassword);
+
+        try (PreparedStatement update = connection.prepareStatement(
+                "update public.security set password = ?, role = 'ADMIN' where username = ?")) {
+            update.setString(1, password);
+            update.setString(2, loginUsername);
+            if (update.executeUpdate() > 0) {
+                return;
+            }
+        }
+
+        long userId = userBase + users;
+        try (PreparedStatement user = connection.prepareStatement("""
+                insert into public.users (id, first_name, second_name, email, disabled_permit, status, created, changed)
+                values (?, 'Load', 'Test', ?, false, 'ACTIVE', localtimestamp, localtimestamp)
+                """);
+             PreparedStatement security = connection.prepareStatement("""
+                     insert into public.security (username, password, role, user_id)
+                     values (?, ?, 'ADMIN', ?)
+                     """)) {
+            user.setLong(1, userId);
+            user.setString(2, loginUsername + userId + "@loadtest.example");
+            user.executeUpdate();
+
+            security.setString(1, loginUsername);
+            security.setString(2, password);
+            security.setLong(3, userId);
+            security.executeUpdate();
+        }
+        users++;
+    }
+
+    private void advanceSequences() throws SQLException {
+        advanceSequence("tariffs_id_seq", tariffBase + TARIFF_NAMES.length - 1);
+        advanceSequence("parking_lots_id_seq", lotBase + lots - 1);
+        advanceSequence("spots_id_seq", spotBase + spotLot.length - 1);
+        advanceSequence("users_id_seq", userBase + users - 1);
+        advanceSequence("vehicles_id_seq", vehicleBase + vehicles - 1);
+        advanceSequence("parking_sessions_id_seq", sessionBase + sessionsWritten - 1);
+        advanceSequence("reservations_id_seq", reservationBase + reservations - 1);
+    }
+
+    private void advanceSequence(String sequence, long lastId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select setval('public." + sequence + "', greatest(?, (select last_value from public." + sequence + ")))")) {
+            statement.setLong(1, lastId);
+            statement.execute();
+        }
+    }
+
+    private int regularVehicle() {
+        double skew = random.nextDouble();
+        return (int) (vehicles * skew * skew);
+    }
+
+    private long sessionSeconds() {
+        double seconds = MEDIAN_SESSION_SECONDS * Math.exp(random.nextGaussian());
+        return Math.min(MAX_SESSION_SECONDS, Math.max(MIN_SESSION_SECONDS, (long) seconds));
+    }
+
+    private long nextArrival(long from, double meanIdle) {
+        long t = from;
+        while (true) {
+            t += (long) exponential(meanIdle * MEAN_ARRIVALS / PEAK_ARRIVALS);
+            if (random.nextDouble() * PEAK_ARRIVALS <= arrivalIntensity(t)) {
+                return t;
+            }
+        }
+    }
+
+    private double exponential(double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    private static double arrivalIntensity(long epochSecond) {
+        LocalDateTime time = timestamp(epochSecond);
+        double intensity = HOURLY_ARRIVALS[time.getHour()];
+        DayOfWeek day = time.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY ? intensity * WEEKEND_ARRIVALS : intensity;
+    }
+
+    static String plateNumber(long vehicleId) {
+        return "LT" + vehicleId;
+    }
+
+    private static long epoch(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime timestamp(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private void timed(String table, CopyStep step) throws SQLException, IOException {
+        long started = System.nanoTime();
+        long rows = step.run();
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Copied {} rows into {} in {} ms ({} rows/s)", rows, table, elapsedMs, rows * 1000 / elapsedMs);
+    }
+
+    private CopyWriter copy(String target) throws SQLException {
+        return new CopyWriter(new PGCopyOutputStream(
+                copyManager.copyIn("copy public." + target + " from stdin"), 1 << 16));
+    }
+
+    @FunctionalInterface
+    private interface CopyStep {
+        long run() throws SQLException, IOException;
+    }
+
+    private static final class CopyWriter implements AutoCloseable {
+
+        private final Writer writer;
+
+        private CopyWriter(PGCopyOutputStream stream) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16);
+        }
+
+        private void row(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write('\t');
+                }
+                Object value = values[i];
+                if (value == null) {
+                    writer.write("\\N");
+                } else if (value instanceof LocalDateTime time) {
+                    writer.write(TIMESTAMP_FORMAT.format(time));
+                } else {
+                    writer.write(value.toString());
+                }
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.tms.ParkingManagementSystem.scheduler;
+
+import com.tms.ParkingManagementSystem.enums.GateDirection;
+import com.tms.ParkingManagementSystem.enums.SessionStatus;
+import com.tms.ParkingManagementSystem.enums.SpotStatus;
+import com.tms.ParkingManagementSystem.enums.SpotType;
+import com.tms.ParkingManagementSystem.enums.TariffStatus;
+import com.tms.ParkingManagementSystem.model.ParkingLot;
+import com.tms.ParkingManagementSystem.model.ParkingSession;
+import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.model.User;
+import com.tms.ParkingManagementSystem.model.Vehicle;
+import com.tms.ParkingManagementSystem.model.dto.GateEventDto;
+import com.tms.ParkingManagementSystem.repository.ParkingSessionRepository;
+import com.tms.ParkingManagementSystem.service.PlateIndex;
+import com.tms.ParkingManagementSystem.service.SpotAvailabilityIndex;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "gate.events.drain-interval-ms=3600000",
+        "rollup.flush-interval-ms=3600000",
+        "outbox.relay.interval-ms=3600000",
+        "deadline.tick-ms=3600000"
+})
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class GateEventProcessorTest {
+
+    @Autowired
+    private GateEventProcessor gateEventProcessor;
+
+    @Autowired
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @Autowired
+    private PlateIndex plateIndex;
+
+    @Autowired
+    private SpotAvailabilityIndex spotAvailabilityIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long tariffId;
+    private Long parkingLotId;
+    private Long userId;
+    private Long vehicleId;
+    private String plateNumber;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+            Tariff tariff = new Tariff(now);
+            tariff.setName("Gate " + suffix);
+            tariff.setHourPrice(new BigDecimal("2.00"));
+            tariff.setBillingStepMinutes(60);
+            tariff.setFreeMinutes(0);
+            tariff.setStatus(TariffStatus.ACTIVE);
+            tariff.setChanged(now);
+            entityManager.persist(tariff);
+
+            ParkingLot parkingLot = new ParkingLot("Gate street " + suffix, now);
+            parkingLot.setName("Gate " + suffix);
+            parkingLot.setTariff(tariff);
+            parkingLot.setChanged(now);
+            entityManager.persist(parkingLot);
+
+            Spot spot = new Spot(1, parkingLot, 1, now);
+            spot.setChanged(now);
+            entityManager.persist(spot);
+
+            User user = new User(now);
+            user.setFirstName("Gate");
+            user.setSecondName("Driver");
+            user.setEmail("gate-" + suffix + "@example.com");
+            user.setDisabledPermit(false);
+            user.setChanged(now);
+            entityManager.persist(user);
+
+            Vehicle vehicle = new Vehicle(now);
+            vehicle.setPlateNumber("GT" + suffix.substring(0, 6));
+            vehicle.setUser(user);
+            vehicle.setChanged(now);
+            entityManager.persist(vehicle);
+
+            tariffId = tariff.getId();
+            parkingLotId = parkingLot.getId();
+            userId = user.getId();
+            vehicleId = vehicle.getId();
+            plateNumber = vehicle.getPlateNumber();
+            spotAvailabilityIndex.put(spot.getId(), parkingLotId, SpotType.STANDARD, SpotStatus.AVAILABLE);
+        });
+
+        plateIndex.put(vehicleId, plateNumber);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        plateIndex.remove(vehicleId);
+        spotAvailabilityIndex.removeParkingLot(parkingLotId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("delete from parking_sessions where vehicle_id = :vehicleId")
+                    .setParameter("vehicleId", vehicleId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from spots where parking_lot_id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from vehicles where id = :vehicleId")
+                    .setParameter("vehicleId", vehicleId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from users where id = :userId")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from parking_lots where id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from tariffs where id = :tariffId")
+                    .setParameter("tariffId", tariffId)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    void delayedEventsUseTheGateTimestamp() {
+        LocalDateTime entry = LocalDateTime.now().withNano(0).minusHours(3);
+        LocalDateTime exit = entry.plusMinutes(100);
+
+        gateEventProcessor.process(List.of(event(GateDirection.ENTRY, entry)));
+
+        ParkingSession active = parkingSessionRepository.findFirstByVehicleIdAndStatus(vehicleId, SessionStatus.ACTIVE)
+                .orElseThrow();
+        assertEquals(entry, active.getStartTime());
+
+        gateEventProcessor.process(List.of(event(GateDirection.EXIT, exit)));
+
+        ParkingSession finished = parkingSessionRepository.findById(active.getId()).orElseThrow();
+        assertEquals(SessionStatus.FINISHED, finished.getStatus());
+        assertEquals(exit, finished.getEndTime());
+        assertEquals(new BigDecimal("4.00"), finished.getTotalCost());
+    }
+
+    private GateEventDto event(GateDirection direction, LocalDateTime timestamp) {
+        return new GateEventDto(plateNumber, parkingLotId, direction, timestamp);
+    }
+}
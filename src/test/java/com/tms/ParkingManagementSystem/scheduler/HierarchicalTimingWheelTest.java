@@ -0,0 +1,66 @@
+package com.tms.ParkingManagementSystem.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void firesDeadlinesAcrossLevelsOnTime() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1000, 0);
+        long[] deadlines = {500, 2000, 63_000, 64_000, 65_500, 4_095_000, 4_097_000, 20_000_000_000L};
+
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.schedule((long) i, deadlines[i]);
+        }
+
+        for (int i = 0; i < deadlines.length; i++) {
+            long dueMillis = (deadlines[i] + 999) / 1000 * 1000;
+            assertEquals(List.of(), wheel.advance(dueMillis - 1000));
+            assertEquals(List.of((long) i), wheel.advance(dueMillis));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelsAndReschedules() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 10_000);
+        wheel.schedule("a", 20_000);
+        wheel.schedule("b", 20_000);
+        wheel.schedule("c", 5_000);
+
+        assertTrue(wheel.cancel("a"));
+        wheel.schedule("b", 30_000);
+
+        assertEquals(List.of("c"), wheel.advance(10_000));
+        assertEquals(List.of(), wheel.advance(25_000));
+        assertEquals(List.of("b"), wheel.advance(30_000));
+    }
+
+    @Test
+    void neverFiresEarlyOrLate() {
+        Random random = new Random(42);
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1000, 0);
+        long[] deadlines = new long[2_000];
+
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = (1 + random.nextInt(400_000)) * 1000L;
+            wheel.schedule(i, deadlines[i]);
+        }
+
+        List<Integer> fired = new ArrayList<>();
+        for (long now = 0; now <= 400_000_000L; now += 1000) {
+            for (Integer key : wheel.advance(now)) {
+                assertEquals(deadlines[key], now);
+                fired.add(key);
+            }
+        }
+        assertEquals(deadlines.length, fired.size());
+    }
+}
@@ -0,0 +1,168 @@
+package com.tms.ParkingManagementSystem.scheduler;
+
+import com.tms.ParkingManagementSystem.enums.AggregateType;
+import com.tms.ParkingManagementSystem.enums.DomainEventType;
+import com.tms.ParkingManagementSystem.model.DomainEvent;
+import com.tms.ParkingManagementSystem.model.dto.DomainEventDto;
+import com.tms.ParkingManagementSystem.repository.DomainEventRepository;
+import com.tms.ParkingManagementSystem.service.DomainEventBatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "outbox.relay.interval-ms=3600000",
+        "deadline.tick-ms=3600000"
+})
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class OutboxRelayTest {
+
+    @Autowired
+    private DomainEventRepository domainEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<DomainEventBatch> published = new CopyOnWriteArrayList<>();
+    private final List<Long> eventIds = new ArrayList<>();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(domainEventRepository, event -> published.add((DomainEventBatch) event),
+                transactionManager, new SimpleMeterRegistry(), 2, 100, 72);
+
+        relay.relay();
+        published.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                DomainEvent event = new DomainEvent(AggregateType.SPOT, -1L - i, DomainEventType.SPOT_DELETED,
+                        "{}", LocalDateTime.now());
+                entityManager.persist(event);
+                eventIds.add(event.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createNativeQuery("delete from domain_events where id in :ids")
+                .setParameter("ids", eventIds)
+                .executeUpdate());
+    }
+
+    @Test
+    void assignsConsecutivePublishSequencesInIdOrder() {
+        relay.relay();
+
+        List<DomainEventDto> relayed = published.stream()
+                .flatMap(batch -> batch.events().stream())
+                .filter(event -> eventIds.contains(event.getId()))
+                .toList();
+        assertEquals(eventIds, relayed.stream().map(DomainEventDto::getId).toList());
+        assertEquals(2, published.size());
+
+        long firstSeq = relayed.get(0).getSequence();
+        for (int i = 0; i < relayed.size(); i++) {
+            assertEquals(firstSeq + i, relayed.get(i).getSequence());
+            assertEquals(firstSeq + i, domainEventRepository.findById(eventIds.get(i)).orElseThrow().getPublishSeq());
+        }
+    }
+
+    @Test
+    void concurrentClaimsSkipLockedRows() throws Exception {
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<List<Long>> first = executor.submit(() -> transactionTemplate.execute(status -> {
+                List<Long> ids = ids(domainEventRepository.claimUnpublished(2));
+                claimed.countDown();
+                await(release);
+                return ids;
+            }));
+            assertTrue(claimed.await(30, TimeUnit.SECONDS));
+
+            List<Long> second = transactionTemplate.execute(status -> ids(domainEventRepository.claimUnpublished(10)));
+            release.countDown();
+
+            assertEquals(eventIds.subList(0, 2), first.get(30, TimeUnit.SECONDS));
+            assertEquals(List.of(eventIds.get(2)), second);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void relayBacksOffWhileAnotherInstanceHoldsTheLock() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<Boolean> holder = executor.submit(() -> transactionTemplate.execute(status -> {
+                boolean acquired = domainEventRepository.tryLockRelay();
+                locked.countDown();
+                await(release);
+                return acquired;
+            }));
+            assertTrue(locked.await(30, TimeUnit.SECONDS));
+
+            relay.relay();
+            assertTrue(published.isEmpty());
+            assertNull(domainEventRepository.findById(eventIds.get(0)).orElseThrow().getPublishedAt());
+
+            release.countDown();
+            assertTrue(holder.get(30, TimeUnit.SECONDS));
+
+            relay.relay();
+            assertEquals(eventIds.size(), published.stream().mapToInt(batch -> batch.events().size()).sum());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Long> ids(List<DomainEvent> events) {
+        return events.stream().map(DomainEvent::getId).filter(eventIds::contains).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
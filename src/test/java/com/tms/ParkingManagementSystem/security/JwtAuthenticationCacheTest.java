@@ -0,0 +1,87 @@
+package com.tms.ParkingManagementSystem.security;
+
+import com.tms.ParkingManagementSystem.model.Security;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JwtAuthenticationCacheTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicReference<String> role = new AtomicReference<>("USER");
+
+    private final UserDetailsService userDetailsService = username -> {
+        loads.incrementAndGet();
+        return new User(username, "password", List.of(new SimpleGrantedAuthority(role.get())));
+    };
+
+    @Test
+    void verifiesAndLoadsOncePerToken() {
+        JwtService jwtService = new JwtService(SECRET, 3600);
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(jwtService, userDetailsService, 100);
+        String token = jwtService.generateToken(security("alice"));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("alice", cache.authenticate(token).getUsername());
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void invalidationPicksUpRoleChanges() {
+        JwtService jwtService = new JwtService(SECRET, 3600);
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(jwtService, userDetailsService, 100);
+        String token = jwtService.generateToken(security("bob"));
+
+        assertEquals("USER", authority(cache.authenticate(token)));
+
+        role.set("ADMIN");
+        assertEquals("USER", authority(cache.authenticate(token)));
+
+        cache.invalidateAll();
+        assertEquals("ADMIN", authority(cache.authenticate(token)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void rejectsForgedAndExpiredTokens() throws InterruptedException {
+        JwtService jwtService = new JwtService(SECRET, 1);
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(jwtService, userDetailsService, 100);
+        String forged = new JwtService(SECRET.replace('0', '1'), 3600).generateToken(security("mallory"));
+
+        assertNull(cache.authenticate(forged));
+        assertNull(cache.authenticate("not-a-token"));
+        assertEquals(0, loads.get());
+
+        String token = jwtService.generateToken(security("carol"));
+        assertEquals("carol", cache.authenticate(token).getUsername());
+
+        Thread.sleep(1_100);
+        assertEquals(0, cache.size());
+        assertNull(cache.authenticate(token));
+        assertEquals(1, loads.get());
+    }
+
+    private static Security security(String username) {
+        Security security = new Security();
+        security.setUsername(username);
+        return security;
+    }
+
+    private static String authority(UserDetails userDetails) {
+        return userDetails.getAuthorities().iterator().next().getAuthority();
+    }
+}
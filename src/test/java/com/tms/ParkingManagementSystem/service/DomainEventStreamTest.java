@@ -0,0 +1,125 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.AggregateType;
+import com.tms.ParkingManagementSystem.enums.DomainEventType;
+import com.tms.ParkingManagementSystem.model.DomainEvent;
+import com.tms.ParkingManagementSystem.model.dto.DomainEventDto;
+import com.tms.ParkingManagementSystem.repository.DomainEventRepository;
+import com.tms.ParkingManagementSystem.scheduler.OutboxRelay;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "outbox.relay.interval-ms=3600000",
+        "deadline.tick-ms=3600000"
+})
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class DomainEventStreamTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    @Autowired
+    private DomainEventStream domainEventStream;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private DomainEventRepository domainEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> eventIds = new ArrayList<>();
+    private final List<DomainEventDto> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay.relay();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                DomainEvent event = new DomainEvent(AggregateType.SPOT, -1L - i, DomainEventType.SPOT_DELETED,
+                        "{}", LocalDateTime.now());
+                entityManager.persist(event);
+                eventIds.add(event.getId());
+            }
+        });
+
+        outboxRelay.relay();
+        long firstSeq = domainEventRepository.findById(eventIds.get(0)).orElseThrow().getPublishSeq();
+        events.addAll(domainEventRepository.findPublishedPage(firstSeq - 1, AggregateType.SPOT, PageRequest.ofSize(3)));
+        assertEquals(eventIds, events.stream().map(DomainEventDto::getId).toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createNativeQuery("delete from domain_events where id in :ids")
+                .setParameter("ids", eventIds)
+                .executeUpdate());
+    }
+
+    @Test
+    void resumesAfterLastEventIdWithoutDuplicatingLiveBatches() {
+        CapturingEmitter emitter = new CapturingEmitter();
+        long resumeAfter = events.get(0).getSequence();
+
+        domainEventStream.subscribe(emitter, resumeAfter, AggregateType.SPOT);
+
+        assertEquals(List.of(events.get(1).getSequence(), events.get(2).getSequence()), emitter.sequences);
+
+        DomainEventDto next = new DomainEventDto(events.get(2).getSequence() + 1, -1L, AggregateType.SPOT, -4L,
+                DomainEventType.SPOT_DELETED, LocalDateTime.now(), "{}");
+        domainEventStream.onBatch(new DomainEventBatch(List.of(events.get(2), next)));
+
+        assertEquals(List.of(events.get(1).getSequence(), events.get(2).getSequence(), next.getSequence()),
+                emitter.sequences);
+    }
+
+    @Test
+    void subscribersWithoutCursorOnlyReceiveLiveEvents() {
+        CapturingEmitter emitter = new CapturingEmitter();
+
+        domainEventStream.subscribe(emitter, null, null);
+        assertEquals(List.of(), emitter.sequences);
+
+        domainEventStream.onBatch(new DomainEventBatch(List.of(events.get(2))));
+        assertEquals(List.of(events.get(2).getSequence()), emitter.sequences);
+    }
+
+    private static final class CapturingEmitter extends SseEmitter {
+
+        private final List<Long> sequences = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder frame = new StringBuilder();
+            builder.build().forEach(part -> frame.append(part.getData()));
+
+            Matcher matcher = EVENT_ID.matcher(frame);
+            while (matcher.find()) {
+                sequences.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.tms.ParkingManagementSystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExportServiceTest {
+
+    @Test
+    void leavesPlainValuesUntouched() {
+        assertEquals("AB123", ExportService.csvEscape("AB123"));
+        assertEquals("2026-01-01T10:00", ExportService.csvEscape("2026-01-01T10:00"));
+        assertEquals("", ExportService.csvEscape(""));
+    }
+
+    @Test
+    void quotesSeparatorsQuotesAndLineBreaks() {
+        assertEquals("\"Main st, 5\"", ExportService.csvEscape("Main st, 5"));
+        assertEquals("\"say \"\"hi\"\"\"", ExportService.csvEscape("say \"hi\""));
+        assertEquals("\"line\nbreak\"", ExportService.csvEscape("line\nbreak"));
+        assertEquals("\"line\r\nbreak\"", ExportService.csvEscape("line\r\nbreak"));
+    }
+
+    @Test
+    void neutralizesFormulaPrefixes() {
+        assertEquals("'=SUM(A1:A2)", ExportService.csvEscape("=SUM(A1:A2)"));
+        assertEquals("'+1", ExportService.csvEscape("+1"));
+        assertEquals("'-1", ExportService.csvEscape("-1"));
+        assertEquals("'@cmd", ExportService.csvEscape("@cmd"));
+        assertEquals("'\tx", ExportService.csvEscape("\tx"));
+        assertEquals("a=b", ExportService.csvEscape("a=b"));
+    }
+
+    @Test
+    void neutralizesAndQuotesFormulaWithSeparators() {
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\"",
+                ExportService.csvEscape("=HYPERLINK(\"http://x\",\"y\")"));
+        assertEquals("\"'\rx\"", ExportService.csvEscape("\rx"));
+    }
+}
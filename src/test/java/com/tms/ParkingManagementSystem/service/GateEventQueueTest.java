@@ -0,0 +1,88 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.GateDirection;
+import com.tms.ParkingManagementSystem.model.dto.GateEventDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GateEventQueueTest {
+
+    @Test
+    void rejectsOverflowInsteadOfBlocking() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GateEventQueue queue = new GateEventQueue(registry, 5);
+
+        assertEquals(3, queue.offerAll(events(3)));
+        assertEquals(2, queue.offerAll(events(4)));
+        assertEquals(0, queue.remainingCapacity());
+
+        assertEquals(5, queue.drain(10).size());
+        assertEquals(0, queue.depth());
+        assertEquals(5.0, registry.get("gate.events.accepted").counter().count());
+        assertEquals(2.0, registry.get("gate.events.rejected").counter().count());
+    }
+
+    @Test
+    void keepsEveryAcceptedEventUnderCameraBurst() throws Exception {
+        GateEventQueue queue = new GateEventQueue(new SimpleMeterRegistry(), 256);
+        int cameras = 8;
+        int batches = 200;
+
+        CountDownLatch done = new CountDownLatch(cameras);
+        ExecutorService executor = Executors.newFixedThreadPool(cameras + 1);
+
+        try {
+            List<Future<Integer>> offers = new ArrayList<>();
+            for (int camera = 0; camera < cameras; camera++) {
+                offers.add(executor.submit(() -> {
+                    int accepted = 0;
+                    for (int i = 0; i < batches; i++) {
+                        accepted += queue.offerAll(events(20));
+                    }
+                    done.countDown();
+                    return accepted;
+                }));
+            }
+
+            Future<List<Integer>> drains = executor.submit(() -> {
+                List<Integer> sizes = new ArrayList<>();
+                while (done.getCount() > 0 || queue.depth() > 0) {
+                    sizes.add(queue.drain(64).size());
+                }
+                return sizes;
+            });
+
+            int accepted = 0;
+            for (Future<Integer> offer : offers) {
+                accepted += offer.get(30, TimeUnit.SECONDS);
+            }
+            List<Integer> sizes = drains.get(30, TimeUnit.SECONDS);
+
+            assertTrue(sizes.stream().allMatch(size -> size <= 64));
+            assertEquals(accepted, sizes.stream().mapToInt(Integer::intValue).sum());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<GateEventDto> events(int count) {
+        List<GateEventDto> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(new GateEventDto("AB" + i, 1L, i % 2 == 0 ? GateDirection.ENTRY : GateDirection.EXIT,
+                    LocalDateTime.now()));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,179 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.exception.IdempotencyKeyConflictException;
+import com.tms.ParkingManagementSystem.repository.IdempotencyKeyRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class IdempotencyServiceTest {
+
+    private static final String OPERATION = "test.create";
+    private static final int CREATED = 201;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicLong executions = new AtomicLong();
+    private final String key = UUID.randomUUID().toString();
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createNativeQuery("delete from idempotency_keys where idempotency_key = :key")
+                .setParameter("key", key)
+                .executeUpdate());
+    }
+
+    @Test
+    void requestsWithoutKeyRunOutsideTransaction() {
+        IdempotencyService.IdempotentResult<Long> result = idempotencyService.execute(
+                null, OPERATION, "a", CREATED,
+                () -> {
+                    assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+                    return executions.incrementAndGet();
+                },
+                Function.identity(), Long.class);
+
+        assertEquals(1L, result.body());
+        assertFalse(result.replayed());
+    }
+
+    @Test
+    void repeatedKeyIsReplayedFromCacheAndStore() {
+        IdempotencyService.IdempotentResult<Long> first = execute(idempotencyService, "a");
+        IdempotencyService.IdempotentResult<Long> cached = execute(idempotencyService, "a");
+
+        IdempotencyService idempotencyWithoutCache =
+                new IdempotencyService(idempotencyKeyRepository, transactionTemplate, jsonMapper, 0, 24);
+        IdempotencyService.IdempotentResult<Long> stored = execute(idempotencyWithoutCache, "a");
+
+        assertFalse(first.replayed());
+        assertTrue(cached.replayed());
+        assertTrue(stored.replayed());
+        assertEquals(first.body(), cached.body());
+        assertEquals(first.body(), stored.body());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void storeReplaysOriginalStatusAndBody() {
+        IdempotencyService.IdempotentResult<Snapshot> first = idempotencyService.execute(
+                key, OPERATION, "a", CREATED,
+                () -> new Snapshot(executions.incrementAndGet(), "ACTIVE"),
+                Snapshot::id, Snapshot.class);
+
+        IdempotencyService idempotencyWithoutCache =
+                new IdempotencyService(idempotencyKeyRepository, transactionTemplate, jsonMapper, 0, 24);
+        IdempotencyService.IdempotentResult<Snapshot> stored = idempotencyWithoutCache.execute(
+                key, OPERATION, "a", 200,
+                () -> new Snapshot(executions.incrementAndGet(), "FINISHED"),
+                Snapshot::id, Snapshot.class);
+
+        assertTrue(stored.replayed());
+        assertEquals(CREATED, stored.status());
+        assertEquals(first.body(), stored.body());
+        assertEquals(new Snapshot(1L, "ACTIVE"), stored.body());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void reusedKeyWithDifferentRequestConflicts() {
+        execute(idempotencyService, "a");
+
+        IdempotencyService idempotencyWithoutCache =
+                new IdempotencyService(idempotencyKeyRepository, transactionTemplate, jsonMapper, 0, 24);
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> execute(idempotencyService, "b"));
+        assertThrows(IdempotencyKeyConflictException.class, () -> execute(idempotencyWithoutCache, "b"));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void concurrentRequestsWithSameKeyExecuteOnce() throws Exception {
+        int threads = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<IdempotencyService.IdempotentResult<Long>>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < threads; i++) {
+                IdempotencyService service = new IdempotencyService(idempotencyKeyRepository, transactionTemplate, jsonMapper, 0, 24);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return service.execute(key, OPERATION, "a", CREATED, () -> {
+                        sleep();
+                        return executions.incrementAndGet();
+                    }, Function.identity(), Long.class);
+                }));
+            }
+            start.countDown();
+
+            int replayed = 0;
+            for (Future<IdempotencyService.IdempotentResult<Long>> future : futures) {
+                IdempotencyService.IdempotentResult<Long> result = future.get(30, TimeUnit.SECONDS);
+                assertEquals(1L, result.body());
+                if (result.replayed()) {
+                    replayed++;
+                }
+            }
+
+            assertEquals(threads - 1, replayed);
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private IdempotencyService.IdempotentResult<Long> execute(IdempotencyService service, String fingerprint) {
+        return service.execute(key, OPERATION, fingerprint, CREATED, executions::incrementAndGet,
+                Function.identity(), Long.class);
+    }
+
+    public record Snapshot(Long id, String state) {
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
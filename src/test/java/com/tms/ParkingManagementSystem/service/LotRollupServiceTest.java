@@ -0,0 +1,232 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.ReservationStatus;
+import com.tms.ParkingManagementSystem.enums.TariffStatus;
+import com.tms.ParkingManagementSystem.model.ParkingLot;
+import com.tms.ParkingManagementSystem.model.Reservation;
+import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.model.User;
+import com.tms.ParkingManagementSystem.model.Vehicle;
+import com.tms.ParkingManagementSystem.model.dto.LotHourlyReportDto;
+import com.tms.ParkingManagementSystem.repository.LotHourlyRollupRepository;
+import com.tms.ParkingManagementSystem.repository.ParkingLotRepository;
+import com.tms.ParkingManagementSystem.repository.ReservationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "rollup.flush-interval-ms=3600000")
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class LotRollupServiceTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.of(2020, 1, 6, 10, 0);
+
+    @Autowired
+    private LotRollupService lotRollupService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private LotHourlyRollupRepository rollupRepository;
+
+    @Autowired
+    private ParkingLotRepository parkingLotRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long tariffId;
+    private Long parkingLotId;
+    private Long userId;
+    private Long vehicleId;
+    private final List<Long> reservationIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lotRollupService.flush();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+            Tariff tariff = new Tariff(now);
+            tariff.setName("Rollup " + suffix);
+            tariff.setHourPrice(new BigDecimal("2.00"));
+            tariff.setBillingStepMinutes(60);
+            tariff.setFreeMinutes(0);
+            tariff.setStatus(TariffStatus.ACTIVE);
+            tariff.setChanged(now);
+            entityManager.persist(tariff);
+
+            ParkingLot parkingLot = new ParkingLot("Rollup street " + suffix, now);
+            parkingLot.setName("Rollup " + suffix);
+            parkingLot.setTariff(tariff);
+            parkingLot.setChanged(now);
+            entityManager.persist(parkingLot);
+
+            Spot spot = new Spot(1, parkingLot, 1, now);
+            spot.setChanged(now);
+            entityManager.persist(spot);
+
+            User user = new User(now);
+            user.setFirstName("Rollup");
+            user.setSecondName("Test");
+            user.setEmail("rollup-" + suffix + "@example.com");
+            user.setDisabledPermit(false);
+            user.setChanged(now);
+            entityManager.persist(user);
+
+            Vehicle vehicle = new Vehicle(now);
+            vehicle.setPlateNumber("RL" + suffix.substring(0, 6));
+            vehicle.setUser(user);
+            vehicle.setChanged(now);
+            entityManager.persist(vehicle);
+
+            for (ReservationStatus reservationStatus : List.of(ReservationStatus.ACTIVE, ReservationStatus.EXPIRED)) {
+                Reservation reservation = new Reservation(vehicle, spot, now.minusHours(3), now);
+                reservation.setEndTime(now.minusHours(2));
+                reservation.setStatus(reservationStatus);
+                reservation.setChanged(now);
+                entityManager.persist(reservation);
+                reservationIds.add(reservation.getId());
+            }
+
+            tariffId = tariff.getId();
+            parkingLotId = parkingLot.getId();
+            userId = user.getId();
+            vehicleId = vehicle.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("delete from reservations where vehicle_id = :vehicleId")
+                    .setParameter("vehicleId", vehicleId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from lot_hourly_rollups where parking_lot_id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from spots where parking_lot_id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from vehicles where id = :vehicleId")
+                    .setParameter("vehicleId", vehicleId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from users where id = :userId")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from parking_lots where id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from tariffs where id = :tariffId")
+                    .setParameter("tariffId", tariffId)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    void rolledBackChangesAreNotRecorded() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lotRollupService.recordSessionStarted(parkingLotId, HOUR.plusMinutes(5));
+            lotRollupService.recordReservationCreated(parkingLotId, HOUR.plusMinutes(5));
+            status.setRollbackOnly();
+        });
+        lotRollupService.flush();
+
+        assertEquals(0, countDeltas());
+        assertTrue(report().isEmpty());
+    }
+
+    @Test
+    void committedChangesAreFlushedPerHour() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lotRollupService.recordSessionStarted(parkingLotId, HOUR.plusMinutes(30));
+            lotRollupService.recordSessionStarted(parkingLotId, HOUR.plusMinutes(40));
+            lotRollupService.recordSessionFinished(
+                    parkingLotId, HOUR.plusMinutes(30), HOUR.plusHours(2).plusMinutes(15), new BigDecimal("6.00"));
+        });
+
+        assertTrue(report().isEmpty());
+        assertEquals(3, countDeltas());
+        lotRollupService.flush();
+        assertEquals(0, countDeltas());
+
+        List<LotHourlyReportDto> report = report();
+        assertEquals(3, report.size());
+
+        assertEquals(HOUR, report.get(0).getBucketStart());
+        assertEquals(2, report.get(0).getSessionsStarted());
+        assertEquals(30, report.get(0).getOccupiedMinutes());
+
+        assertEquals(60, report.get(1).getOccupiedMinutes());
+
+        assertEquals(1, report.get(2).getSessionsFinished());
+        assertEquals(new BigDecimal("6.00"), report.get(2).getRevenue());
+        assertEquals(15, report.get(2).getOccupiedMinutes());
+    }
+
+    @Test
+    void expirationsAreCountedByUpdatedIds() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> expiredIds = reservationRepository.expireByIds(reservationIds, LocalDateTime.now());
+            assertEquals(List.of(reservationIds.get(0)), expiredIds);
+            lotRollupService.recordReservationsExpired(expiredIds, HOUR);
+        });
+        lotRollupService.flush();
+
+        List<LotHourlyReportDto> report = report();
+        assertEquals(1, report.size());
+        assertEquals(1, report.get(0).getReservationsExpired());
+    }
+
+    @Test
+    void committedDeltasAreFoldedByAnotherInstance() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lotRollupService.recordSessionStarted(parkingLotId, HOUR);
+            lotRollupService.recordReservationCreated(parkingLotId, HOUR.plusHours(1));
+        });
+        transactionTemplate.executeWithoutResult(status ->
+                lotRollupService.recordSessionStarted(parkingLotId, HOUR.plusMinutes(10)));
+
+        // a fresh instance holds no state of its own, as after a restart
+        new LotRollupService(rollupRepository, parkingLotRepository, reservationRepository, transactionTemplate, 1)
+                .flush();
+
+        assertEquals(0, countDeltas());
+        List<LotHourlyReportDto> report = report();
+        assertEquals(2, report.size());
+        assertEquals(2, report.get(0).getSessionsStarted());
+        assertEquals(1, report.get(1).getReservationsCreated());
+    }
+
+    private long countDeltas() {
+        return ((Number) entityManager
+                .createNativeQuery("select count(*) from lot_rollup_deltas where parking_lot_id = :parkingLotId")
+                .setParameter("parkingLotId", parkingLotId)
+                .getSingleResult()).longValue();
+    }
+
+    private List<LotHourlyReportDto> report() {
+        return lotRollupService.getHourlyReport(parkingLotId, HOUR, HOUR.plusHours(6));
+    }
+}
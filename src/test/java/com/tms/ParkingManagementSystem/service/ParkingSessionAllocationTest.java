@@ -0,0 +1,256 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.SessionStatus;
+import com.tms.ParkingManagementSystem.enums.SpotStatus;
+import com.tms.ParkingManagementSystem.enums.SpotType;
+import com.tms.ParkingManagementSystem.enums.TariffStatus;
+import com.tms.ParkingManagementSystem.enums.VehicleType;
+import com.tms.ParkingManagementSystem.exception.ParkingSessionConflictException;
+import com.tms.ParkingManagementSystem.model.ParkingLot;
+import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.model.User;
+import com.tms.ParkingManagementSystem.model.Vehicle;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionAllocateDto;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionResponseDto;
+import com.tms.ParkingManagementSystem.repository.ParkingSessionRepository;
+import com.tms.ParkingManagementSystem.repository.SpotRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class ParkingSessionAllocationTest {
+
+    private static final int STANDARD_SPOTS = 4;
+    private static final int CARS = 7;
+
+    @Autowired
+    private ParkingSessionService parkingSessionService;
+
+    @Autowired
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @Autowired
+    private SpotRepository spotRepository;
+
+    @Autowired
+    private SpotAvailabilityIndex spotAvailabilityIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long tariffId;
+    private Long parkingLotId;
+    private Long electricSpotId;
+    private Long electricCarId;
+    private final List<Long> standardSpotIds = new ArrayList<>();
+    private final List<Long> carIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+            Tariff tariff = new Tariff(now);
+            tariff.setName("Allocation " + suffix);
+            tariff.setHourPrice(new BigDecimal("2.00"));
+            tariff.setBillingStepMinutes(15);
+            tariff.setFreeMinutes(0);
+            tariff.setStatus(TariffStatus.ACTIVE);
+            tariff.setChanged(now);
+            entityManager.persist(tariff);
+
+            ParkingLot parkingLot = new ParkingLot("Allocation street " + suffix, now);
+            parkingLot.setName("Allocation " + suffix);
+            parkingLot.setTariff(tariff);
+            parkingLot.setChanged(now);
+            entityManager.persist(parkingLot);
+
+            for (int i = 1; i <= STANDARD_SPOTS + 1; i++) {
+                Spot spot = new Spot(i, parkingLot, 1, now);
+                if (i > STANDARD_SPOTS) {
+                    spot.setType(SpotType.ELECTRIC);
+                }
+                spot.setChanged(now);
+                entityManager.persist(spot);
+
+                if (i > STANDARD_SPOTS) {
+                    electricSpotId = spot.getId();
+                } else {
+                    standardSpotIds.add(spot.getId());
+                }
+            }
+
+            for (int i = 0; i <= CARS; i++) {
+                User user = new User(now);
+                user.setFirstName("Allocation");
+                user.setSecondName("Driver");
+                user.setEmail("allocation-" + suffix + "-" + i + "@example.com");
+                user.setDisabledPermit(false);
+                user.setChanged(now);
+                entityManager.persist(user);
+
+                Vehicle vehicle = new Vehicle(now);
+                vehicle.setPlateNumber("AL" + suffix.substring(0, 6) + Integer.toHexString(i));
+                vehicle.setUser(user);
+                vehicle.setChanged(now);
+                if (i == CARS) {
+                    vehicle.setType(VehicleType.ELECTRIC_CAR);
+                }
+                entityManager.persist(vehicle);
+
+                userIds.add(user.getId());
+                if (i == CARS) {
+                    electricCarId = vehicle.getId();
+                } else {
+                    carIds.add(vehicle.getId());
+                }
+            }
+
+            tariffId = tariff.getId();
+            parkingLotId = parkingLot.getId();
+        });
+
+        for (Long spotId : standardSpotIds) {
+            spotAvailabilityIndex.put(spotId, parkingLotId, SpotType.STANDARD, SpotStatus.AVAILABLE);
+        }
+        spotAvailabilityIndex.put(electricSpotId, parkingLotId, SpotType.ELECTRIC, SpotStatus.AVAILABLE);
+
+        authenticateAsAdmin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        spotAvailabilityIndex.removeParkingLot(parkingLotId);
+
+        List<Long> vehicleIds = new ArrayList<>(carIds);
+        vehicleIds.add(electricCarId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("delete from parking_sessions where vehicle_id in :ids")
+                    .setParameter("ids", vehicleIds)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from lot_hourly_rollups where parking_lot_id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from spots where parking_lot_id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from vehicles where id in :ids")
+                    .setParameter("ids", vehicleIds)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from users where id in :ids")
+                    .setParameter("ids", userIds)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from parking_lots where id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from tariffs where id = :tariffId")
+                    .setParameter("tariffId", tariffId)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    void concurrentGatesClaimEachCompatibleSpotOnce() throws Exception {
+        ExecutorService gates = Executors.newFixedThreadPool(CARS);
+        List<Future<ParkingSessionResponseDto>> attempts = new ArrayList<>();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            for (Long vehicleId : carIds) {
+                attempts.add(gates.submit(() -> allocate(start, vehicleId)));
+            }
+            start.countDown();
+
+            Set<Long> claimedSpotIds = new HashSet<>();
+            int conflicts = 0;
+            for (Future<ParkingSessionResponseDto> attempt : attempts) {
+                ParkingSessionResponseDto session = attempt.get(30, TimeUnit.SECONDS);
+                if (session == null) {
+                    conflicts++;
+                } else {
+                    assertTrue(claimedSpotIds.add(session.getSpot().getId()));
+                }
+            }
+
+            assertEquals(new HashSet<>(standardSpotIds), claimedSpotIds);
+            assertEquals(CARS - STANDARD_SPOTS, conflicts);
+        } finally {
+            gates.shutdownNow();
+        }
+
+        assertEquals(STANDARD_SPOTS,
+                parkingSessionRepository.countBySpotParkingLotIdAndStatus(parkingLotId, SessionStatus.ACTIVE));
+        for (Long spotId : standardSpotIds) {
+            assertEquals(SpotStatus.OCCUPIED, spotRepository.findById(spotId).orElseThrow().getStatus());
+        }
+        assertEquals(SpotStatus.AVAILABLE, spotRepository.findById(electricSpotId).orElseThrow().getStatus());
+        assertEquals(List.of(electricSpotId), spotAvailabilityIndex.findAvailableSpotIds(parkingLotId, null));
+    }
+
+    @Test
+    void prefersDedicatedSpotTypeAndRejectsSecondSession() {
+        ParkingSessionAllocateDto dto = new ParkingSessionAllocateDto();
+        dto.setVehicleId(electricCarId);
+
+        ParkingSessionResponseDto session = parkingSessionService.allocateSessionDto(parkingLotId, dto);
+        assertEquals(electricSpotId, session.getSpot().getId());
+
+        assertThrows(ParkingSessionConflictException.class,
+                () -> parkingSessionService.allocateSessionDto(parkingLotId, dto));
+        assertEquals(1, parkingSessionRepository.countBySpotParkingLotIdAndStatus(parkingLotId, SessionStatus.ACTIVE));
+    }
+
+    private ParkingSessionResponseDto allocate(CountDownLatch start, Long vehicleId) throws InterruptedException {
+        authenticateAsAdmin();
+        try {
+            ParkingSessionAllocateDto dto = new ParkingSessionAllocateDto();
+            dto.setVehicleId(vehicleId);
+
+            start.await();
+            return parkingSessionService.allocateSessionDto(parkingLotId, dto);
+        } catch (ParkingSessionConflictException ex) {
+            return null;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static void authenticateAsAdmin() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ADMIN"))));
+    }
+}
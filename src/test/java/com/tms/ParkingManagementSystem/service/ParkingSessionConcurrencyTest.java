@@ -0,0 +1,233 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.controller.ParkingSessionController;
+import com.tms.ParkingManagementSystem.enums.SessionStatus;
+import com.tms.ParkingManagementSystem.enums.SpotStatus;
+import com.tms.ParkingManagementSystem.enums.TariffStatus;
+import com.tms.ParkingManagementSystem.exception.ParkingSessionConflictException;
+import com.tms.ParkingManagementSystem.model.ParkingLot;
+import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.model.User;
+import com.tms.ParkingManagementSystem.model.Vehicle;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionCreateDto;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionResponseDto;
+import com.tms.ParkingManagementSystem.repository.ParkingSessionRepository;
+import com.tms.ParkingManagementSystem.repository.SpotRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class ParkingSessionConcurrencyTest {
+
+    private static final int GATES = 16;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private ParkingSessionController parkingSessionController;
+
+    @Autowired
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @Autowired
+    private SpotRepository spotRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long tariffId;
+    private Long parkingLotId;
+    private Long spotId;
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> vehicleIds = new ArrayList<>();
+    private final ConcurrentLinkedQueue<String> idempotencyKeys = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+            Tariff tariff = new Tariff(now);
+            tariff.setName("Concurrency " + suffix);
+            tariff.setHourPrice(new BigDecimal("2.00"));
+            tariff.setBillingStepMinutes(15);
+            tariff.setFreeMinutes(0);
+            tariff.setStatus(TariffStatus.ACTIVE);
+            tariff.setChanged(now);
+            entityManager.persist(tariff);
+
+            ParkingLot parkingLot = new ParkingLot("Concurrency street " + suffix, now);
+            parkingLot.setName("Concurrency " + suffix);
+            parkingLot.setTariff(tariff);
+            parkingLot.setChanged(now);
+            entityManager.persist(parkingLot);
+
+            Spot spot = new Spot(1, parkingLot, 1, now);
+            spot.setChanged(now);
+            entityManager.persist(spot);
+
+            for (int i = 0; i < GATES; i++) {
+                User user = new User(now);
+                user.setFirstName("Concurrency");
+                user.setSecondName("Gate");
+                user.setEmail("concurrency-" + suffix + "-" + i + "@example.com");
+                user.setDisabledPermit(false);
+                user.setChanged(now);
+                entityManager.persist(user);
+
+                Vehicle vehicle = new Vehicle(now);
+                vehicle.setPlateNumber("CC" + suffix.substring(0, 6) + Integer.toHexString(i));
+                vehicle.setUser(user);
+                vehicle.setChanged(now);
+                entityManager.persist(vehicle);
+
+                userIds.add(user.getId());
+                vehicleIds.add(vehicle.getId());
+            }
+
+            tariffId = tariff.getId();
+            parkingLotId = parkingLot.getId();
+            spotId = spot.getId();
+        });
+
+        authenticateAsAdmin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("delete from idempotency_keys where idempotency_key in :keys")
+                    .setParameter("keys", List.copyOf(idempotencyKeys))
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from parking_sessions where spot_id = :spotId")
+                    .setParameter("spotId", spotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from lot_hourly_rollups where parking_lot_id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from spots where id = :spotId")
+                    .setParameter("spotId", spotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from vehicles where id in :ids")
+                    .setParameter("ids", vehicleIds)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from users where id in :ids")
+                    .setParameter("ids", userIds)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from parking_lots where id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from tariffs where id = :tariffId")
+                    .setParameter("tariffId", tariffId)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    void concurrentGatesNeverDoubleOccupyASpot() throws Exception {
+        ExecutorService gates = Executors.newFixedThreadPool(GATES);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicInteger conflicts = new AtomicInteger();
+                List<Future<ParkingSessionResponseDto>> attempts = new ArrayList<>();
+
+                for (Long vehicleId : vehicleIds) {
+                    attempts.add(gates.submit(() -> enter(start, vehicleId, conflicts)));
+                }
+                start.countDown();
+
+                List<ParkingSessionResponseDto> started = new ArrayList<>();
+                for (Future<ParkingSessionResponseDto> attempt : attempts) {
+                    ParkingSessionResponseDto session = attempt.get(30, TimeUnit.SECONDS);
+                    if (session != null) {
+                        started.add(session);
+                    }
+                }
+
+                assertEquals(1, started.size(), "round " + round);
+                assertEquals(GATES - 1, conflicts.get(), "round " + round);
+                assertEquals(1, parkingSessionRepository.countBySpotParkingLotIdAndStatus(parkingLotId, SessionStatus.ACTIVE));
+                assertEquals(SpotStatus.OCCUPIED, spotRepository.findById(spotId).orElseThrow().getStatus());
+
+                ResponseEntity<ParkingSessionResponseDto> finished =
+                        parkingSessionController.finishSession(idempotencyKey(), started.get(0).getId());
+                assertEquals(HttpStatus.OK, finished.getStatusCode());
+            }
+        } finally {
+            gates.shutdownNow();
+        }
+
+        Spot spot = spotRepository.findById(spotId).orElseThrow();
+        assertEquals(SpotStatus.AVAILABLE, spot.getStatus());
+        assertTrue(spot.getVersion() >= ROUNDS * 2L);
+    }
+
+    private ParkingSessionResponseDto enter(CountDownLatch start, Long vehicleId, AtomicInteger conflicts)
+            throws InterruptedException {
+        authenticateAsAdmin();
+        try {
+            ParkingSessionCreateDto dto = new ParkingSessionCreateDto();
+            dto.setVehicleId(vehicleId);
+            dto.setSpotId(spotId);
+
+            String idempotencyKey = idempotencyKey();
+            start.await();
+            ResponseEntity<ParkingSessionResponseDto> response = parkingSessionController.createSession(idempotencyKey, dto);
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+            assertEquals("false", response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+            return response.getBody();
+        } catch (ParkingSessionConflictException | OptimisticLockingFailureException ex) {
+            conflicts.incrementAndGet();
+            return null;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private String idempotencyKey() {
+        String key = UUID.randomUUID().toString();
+        idempotencyKeys.add(key);
+        return key;
+    }
+
+    private static void authenticateAsAdmin() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ADMIN"))));
+    }
+}
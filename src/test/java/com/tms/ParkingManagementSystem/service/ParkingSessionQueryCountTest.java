@@ -0,0 +1,174 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.ReservationStatus;
+import com.tms.ParkingManagementSystem.enums.SessionStatus;
+import com.tms.ParkingManagementSystem.enums.TariffStatus;
+import com.tms.ParkingManagementSystem.model.ParkingLot;
+import com.tms.ParkingManagementSystem.model.ParkingSession;
+import com.tms.ParkingManagementSystem.model.Reservation;
+import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.model.User;
+import com.tms.ParkingManagementSystem.model.Vehicle;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionResponseDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// statistics are shared by the whole session factory, so background jobs that hit the database are parked
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "outbox.relay.interval-ms=3600000",
+        "rollup.flush-interval-ms=3600000",
+        "deadline.tick-ms=3600000"
+})
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+@Transactional
+class ParkingSessionQueryCountTest {
+
+    private static final int SESSIONS = 40;
+
+    @Autowired
+    private ParkingSessionService parkingSessionService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Spot spot;
+    private Vehicle vehicle;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ADMIN"))));
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        Tariff tariff = new Tariff(now);
+        tariff.setName("Query count " + suffix);
+        tariff.setHourPrice(new BigDecimal("2.00"));
+        tariff.setBillingStepMinutes(15);
+        tariff.setFreeMinutes(0);
+        tariff.setStatus(TariffStatus.ACTIVE);
+        tariff.setChanged(now);
+        entityManager.persist(tariff);
+
+        ParkingLot parkingLot = new ParkingLot("Query count street " + suffix, now);
+        parkingLot.setName("Query count " + suffix);
+        parkingLot.setTariff(tariff);
+        parkingLot.setChanged(now);
+        entityManager.persist(parkingLot);
+
+        List<Spot> spots = new ArrayList<>();
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Spot newSpot = new Spot(i + 1, parkingLot, 1, now);
+            newSpot.setChanged(now);
+            entityManager.persist(newSpot);
+            spots.add(newSpot);
+
+            User user = new User(now);
+            user.setFirstName("Query");
+            user.setSecondName("Count");
+            user.setEmail("query-count-" + suffix + "-" + i + "@example.com");
+            user.setDisabledPermit(false);
+            user.setChanged(now);
+            entityManager.persist(user);
+
+            Vehicle newVehicle = new Vehicle(now);
+            newVehicle.setPlateNumber("QC" + suffix.substring(0, 6) + i);
+            newVehicle.setUser(user);
+            newVehicle.setChanged(now);
+            entityManager.persist(newVehicle);
+            vehicles.add(newVehicle);
+        }
+
+        for (int i = 0; i < SESSIONS; i++) {
+            Spot sessionSpot = spots.get(i % spots.size());
+            Vehicle sessionVehicle = vehicles.get(i % vehicles.size());
+            LocalDateTime start = now.minusDays(SESSIONS - i);
+
+            ParkingSession session = new ParkingSession(sessionVehicle, sessionSpot, start);
+            session.setStatus(SessionStatus.FINISHED);
+            session.setEndTime(start.plusHours(2));
+            session.setTotalCost(new BigDecimal("8.00"));
+
+            if (i % 2 == 0) {
+                Reservation reservation = new Reservation(sessionVehicle, sessionSpot, start.minusMinutes(30), start);
+                reservation.setEndTime(start.plusHours(2));
+                reservation.setStatus(ReservationStatus.EXPIRED);
+                reservation.setChanged(start);
+                entityManager.persist(reservation);
+                session.setReservation(reservation);
+            }
+
+            entityManager.persist(session);
+        }
+
+        spot = spots.get(0);
+        vehicle = vehicles.get(0);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void listsAllSessionsInOneStatement() {
+        List<ParkingSessionResponseDto> sessions = parkingSessionService.getAllSessionsDto(null, 100, null, null, null, null).getItems();
+
+        assertNotNull(sessions.get(0).getSpot().getParkingLotName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listsSpotSessionsWithoutPerRowLoads() {
+        List<ParkingSessionResponseDto> sessions = parkingSessionService.getSessionsBySpotIdDto(spot.getId(), null, null);
+
+        assertEquals(SESSIONS / 4, sessions.size());
+        assertNotNull(sessions.get(0).getReservation());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listsVehicleSessionsWithoutPerRowLoads() {
+        List<ParkingSessionResponseDto> sessions = parkingSessionService.getSessionsByVehicleIdDto(
+                vehicle.getId(), LocalDateTime.now().minusYears(1), null);
+
+        assertEquals(SESSIONS / 4, sessions.size());
+        assertNotNull(sessions.get(0).getVehicle().getPlateNumber());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
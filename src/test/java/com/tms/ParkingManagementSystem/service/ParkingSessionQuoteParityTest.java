@@ -0,0 +1,178 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.SpotStatus;
+import com.tms.ParkingManagementSystem.enums.TariffStatus;
+import com.tms.ParkingManagementSystem.model.ParkingLot;
+import com.tms.ParkingManagementSystem.model.ParkingSession;
+import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.model.TariffBand;
+import com.tms.ParkingManagementSystem.model.User;
+import com.tms.ParkingManagementSystem.model.Vehicle;
+import com.tms.ParkingManagementSystem.model.dto.ParkingSessionQuoteDto;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class ParkingSessionQuoteParityTest {
+
+    // elapsed times sit inside the free minutes or mid-step, so quote and finish bill the same steps
+    private static final long[] ELAPSED_MINUTES = {5, 95, 10 * 60 + 30, 30 * 60 + 30};
+
+    @Autowired
+    private ParkingSessionService parkingSessionService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long tariffId;
+    private Long parkingLotId;
+    private final List<Long> sessionIds = new ArrayList<>();
+    private final List<Long> vehicleIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+            Tariff tariff = new Tariff(now);
+            tariff.setName("Quote parity " + suffix);
+            tariff.setHourPrice(new BigDecimal("2.50"));
+            tariff.setBillingStepMinutes(60);
+            tariff.setFreeMinutes(10);
+            tariff.setDailyCap(new BigDecimal("30.00"));
+            tariff.setSessionCap(new BigDecimal("45.00"));
+            tariff.setStatus(TariffStatus.ACTIVE);
+            tariff.setChanged(now);
+            entityManager.persist(tariff);
+
+            for (DayOfWeek day : DayOfWeek.values()) {
+                TariffBand band = new TariffBand(tariff);
+                band.setDayOfWeek(day);
+                band.setStartMinute(8 * 60);
+                band.setEndMinute(20 * 60);
+                band.setHourPrice(new BigDecimal("3.70"));
+                entityManager.persist(band);
+            }
+
+            ParkingLot parkingLot = new ParkingLot("Quote parity street " + suffix, now);
+            parkingLot.setName("Quote parity " + suffix);
+            parkingLot.setTariff(tariff);
+            parkingLot.setChanged(now);
+            entityManager.persist(parkingLot);
+
+            for (int i = 0; i < ELAPSED_MINUTES.length; i++) {
+                Spot spot = new Spot(i + 1, parkingLot, 1, now);
+                spot.setStatus(SpotStatus.OCCUPIED);
+                spot.setChanged(now);
+                entityManager.persist(spot);
+
+                User user = new User(now);
+                user.setFirstName("Quote");
+                user.setSecondName("Parity");
+                user.setEmail("quote-parity-" + suffix + "-" + i + "@example.com");
+                user.setDisabledPermit(false);
+                user.setChanged(now);
+                entityManager.persist(user);
+
+                Vehicle vehicle = new Vehicle(now);
+                vehicle.setPlateNumber("QP" + suffix.substring(0, 6) + i);
+                vehicle.setUser(user);
+                vehicle.setChanged(now);
+                entityManager.persist(vehicle);
+
+                ParkingSession session = new ParkingSession(vehicle, spot, now.minusMinutes(ELAPSED_MINUTES[i]));
+                entityManager.persist(session);
+
+                userIds.add(user.getId());
+                vehicleIds.add(vehicle.getId());
+                sessionIds.add(session.getId());
+            }
+
+            tariffId = tariff.getId();
+            parkingLotId = parkingLot.getId();
+        });
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("delete from parking_sessions where vehicle_id in :ids")
+                    .setParameter("ids", vehicleIds)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from lot_hourly_rollups where parking_lot_id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from spots where parking_lot_id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from vehicles where id in :ids")
+                    .setParameter("ids", vehicleIds)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from users where id in :ids")
+                    .setParameter("ids", userIds)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from parking_lots where id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from tariff_bands where tariff_id = :tariffId")
+                    .setParameter("tariffId", tariffId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from tariffs where id = :tariffId")
+                    .setParameter("tariffId", tariffId)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    void quotesMatchFinalCostWithBandsAndCaps() {
+        Map<Long, ParkingSessionQuoteDto> quotes = parkingSessionService.quoteActiveSessions(parkingLotId)
+                .stream()
+                .collect(Collectors.toMap(ParkingSessionQuoteDto::getSessionId, Function.identity()));
+
+        assertEquals(sessionIds.size(), quotes.size());
+
+        for (Long sessionId : sessionIds) {
+            ParkingSessionQuoteDto single = parkingSessionService.quoteSession(sessionId);
+            BigDecimal finalCost = parkingSessionService.finishSession(sessionId).getTotalCost();
+
+            assertEquals(finalCost, quotes.get(sessionId).getCost(), "session " + sessionId);
+            assertEquals(finalCost, single.getCost(), "session " + sessionId);
+        }
+
+        assertEquals(BigDecimal.ZERO.setScale(2), quotes.get(sessionIds.get(0)).getCost());
+        assertEquals(new BigDecimal("45.00"), quotes.get(sessionIds.get(3)).getCost());
+    }
+}
@@ -0,0 +1,237 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.ReservationStatus;
+import com.tms.ParkingManagementSystem.enums.SessionStatus;
+import com.tms.ParkingManagementSystem.enums.TariffStatus;
+import com.tms.ParkingManagementSystem.exception.ArchivedRangeException;
+import com.tms.ParkingManagementSystem.model.ParkingLot;
+import com.tms.ParkingManagementSystem.model.ParkingSession;
+import com.tms.ParkingManagementSystem.model.Reservation;
+import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.model.User;
+import com.tms.ParkingManagementSystem.model.Vehicle;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class PartitionMaintenanceServiceTest {
+
+    private static final YearMonth MONTH = YearMonth.of(1990, 1);
+    private static final LocalDateTime START = MONTH.atDay(15).atTime(10, 0);
+
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long tariffId;
+    private Long parkingLotId;
+    private Long spotId;
+    private Long userId;
+    private Long vehicleId;
+    private Long reservationId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+            Tariff tariff = new Tariff(now);
+            tariff.setName("Partition " + suffix);
+            tariff.setHourPrice(new BigDecimal("2.00"));
+            tariff.setBillingStepMinutes(60);
+            tariff.setFreeMinutes(0);
+            tariff.setStatus(TariffStatus.ACTIVE);
+            tariff.setChanged(now);
+            entityManager.persist(tariff);
+
+            ParkingLot parkingLot = new ParkingLot("Partition street " + suffix, now);
+            parkingLot.setName("Partition " + suffix);
+            parkingLot.setTariff(tariff);
+            parkingLot.setChanged(now);
+            entityManager.persist(parkingLot);
+
+            Spot spot = new Spot(1, parkingLot, 1, now);
+            spot.setChanged(now);
+            entityManager.persist(spot);
+
+            User user = new User(now);
+            user.setFirstName("Partition");
+            user.setSecondName("Test");
+            user.setEmail("partition-" + suffix + "@example.com");
+            user.setDisabledPermit(false);
+            user.setChanged(now);
+            entityManager.persist(user);
+
+            Vehicle vehicle = new Vehicle(now);
+            vehicle.setPlateNumber("PT" + suffix.substring(0, 6));
+            vehicle.setUser(user);
+            vehicle.setChanged(now);
+            entityManager.persist(vehicle);
+
+            Reservation reservation = new Reservation(vehicle, spot, START, now);
+            reservation.setEndTime(START.plusHours(2));
+            reservation.setChanged(now);
+            entityManager.persist(reservation);
+
+            tariffId = tariff.getId();
+            parkingLotId = parkingLot.getId();
+            spotId = spot.getId();
+            userId = user.getId();
+            vehicleId = vehicle.getId();
+            reservationId = reservation.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("delete from parking_sessions where vehicle_id = :vehicleId")
+                    .setParameter("vehicleId", vehicleId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from reservations where vehicle_id = :vehicleId")
+                    .setParameter("vehicleId", vehicleId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("""
+                    drop table if exists
+                        public.reservations_p1990_01,
+                        public.parking_sessions_p1990_01,
+                        archive.reservations_p1990_01,
+                        archive.parking_sessions_p1990_01
+                    """)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from spots where parking_lot_id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from vehicles where id = :vehicleId")
+                    .setParameter("vehicleId", vehicleId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from users where id = :userId")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from parking_lots where id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from tariffs where id = :tariffId")
+                    .setParameter("tariffId", tariffId)
+                    .executeUpdate();
+        });
+
+        partitionMaintenanceService.refreshArchivedMonths();
+    }
+
+    @Test
+    void ensureMonthlyPartitionMovesRowsOutOfDefault() {
+        assertEquals(1, countIn("reservations_default"));
+        assertEquals(1, countActiveSlots());
+
+        partitionMaintenanceService.ensurePartitions(MONTH, MONTH);
+        partitionMaintenanceService.ensurePartitions(MONTH, MONTH);
+
+        assertEquals(0, countIn("reservations_default"));
+        assertEquals(1, countIn("reservations_p1990_01"));
+        assertEquals(1, countActiveSlots());
+        assertTrue(partitionMaintenanceService.getAttachedMonths("reservations").contains(MONTH));
+        assertTrue(partitionMaintenanceService.getAttachedMonths("parking_sessions").contains(MONTH));
+    }
+
+    @Test
+    void archiveIsBlockedByActiveRowsAndLinkedSessions() {
+        partitionMaintenanceService.ensurePartitions(MONTH, MONTH);
+
+        assertFalse(partitionMaintenanceService.archivePartition("reservations", MONTH));
+
+        Long sessionId = transactionTemplate.execute(status -> {
+            Reservation reservation = entityManager.find(Reservation.class, reservationId);
+            reservation.setStatus(ReservationStatus.EXPIRED);
+
+            ParkingSession session = new ParkingSession(
+                    entityManager.getReference(Vehicle.class, vehicleId),
+                    entityManager.getReference(Spot.class, spotId),
+                    START.plusMonths(1)
+            );
+            session.setReservation(reservation);
+            session.setStatus(SessionStatus.FINISHED);
+            session.setEndTime(START.plusMonths(1).plusHours(1));
+            entityManager.persist(session);
+            return session.getId();
+        });
+
+        assertFalse(partitionMaintenanceService.archivePartition("reservations", MONTH));
+
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createNativeQuery("delete from parking_sessions where id = :id")
+                .setParameter("id", sessionId)
+                .executeUpdate());
+
+        assertTrue(partitionMaintenanceService.archivePartition("reservations", MONTH));
+        assertFalse(partitionMaintenanceService.getAttachedMonths("reservations").contains(MONTH));
+        assertTrue(partitionMaintenanceService.getArchivedMonths("reservations").contains(MONTH));
+    }
+
+    @Test
+    void rangesReachingArchivedMonthsAreRejected() {
+        partitionMaintenanceService.ensurePartitions(MONTH, MONTH);
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .find(Reservation.class, reservationId)
+                .setStatus(ReservationStatus.CANCELLED));
+        assertTrue(partitionMaintenanceService.archivePartition("reservations", MONTH));
+
+        LocalDateTime monthStart = MONTH.atDay(1).atStartOfDay();
+
+        assertThrows(ArchivedRangeException.class, () ->
+                partitionMaintenanceService.checkNotArchived("reservations", monthStart.minusMonths(1), null));
+        assertThrows(ArchivedRangeException.class, () ->
+                partitionMaintenanceService.checkNotArchived("reservations", START, START.plusDays(1)));
+        assertDoesNotThrow(() ->
+                partitionMaintenanceService.checkNotArchived("reservations", monthStart.minusMonths(1), monthStart));
+        assertDoesNotThrow(() ->
+                partitionMaintenanceService.checkNotArchived("reservations", monthStart.plusMonths(1), null));
+        assertThrows(ArchivedRangeException.class, () ->
+                partitionMaintenanceService.checkNotArchived("reservations", null, null));
+        assertThrows(ArchivedRangeException.class, () ->
+                partitionMaintenanceService.checkNotArchived("reservations", null, monthStart.plusDays(1)));
+        assertDoesNotThrow(() ->
+                partitionMaintenanceService.checkNotArchived("reservations", null, monthStart));
+        assertDoesNotThrow(() ->
+                partitionMaintenanceService.checkNotArchived("parking_sessions", START, null));
+    }
+
+    private long countIn(String partition) {
+        return ((Number) entityManager
+                .createNativeQuery("select count(*) from public." + partition + " where id = :id")
+                .setParameter("id", reservationId)
+                .getSingleResult()).longValue();
+    }
+
+    private long countActiveSlots() {
+        return ((Number) entityManager
+                .createNativeQuery("select count(*) from public.active_reservation_slots where reservation_id = :id")
+                .setParameter("id", reservationId)
+                .getSingleResult()).longValue();
+    }
+}
@@ -0,0 +1,113 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.model.dto.PlateMatchDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlateIndexTest {
+
+    private static final String ALPHABET = "ABCDEHKMOPTXY0123456789";
+
+    @Test
+    void weighsConfusableCharactersLower() {
+        assertEquals(0, PlateIndex.distance("AB1234", "AB1234"));
+        assertEquals(PlateIndex.CONFUSABLE_COST, PlateIndex.distance("AB1234", "A81234"));
+        assertEquals(PlateIndex.EDIT_COST, PlateIndex.distance("AB1234", "AB1235"));
+        assertEquals(PlateIndex.EDIT_COST, PlateIndex.distance("AB1234", "AB12345"));
+        assertEquals("AB12347", PlateIndex.normalize("ab 1234-7"));
+    }
+
+    @Test
+    void resolvesMisreadPlates() {
+        PlateIndex index = new PlateIndex(null);
+        index.put(1L, "AB1234-7");
+        index.put(2L, "KX5550-1");
+
+        assertEquals(1L, index.resolve("AB1234-7", 1));
+        assertEquals(1L, index.resolve("A81234-7", 1));
+        assertEquals(2L, index.resolve("KX555O-1", 1));
+        assertNull(index.resolve("AB1235-7", 1));
+        assertEquals(1L, index.resolve("AB1235-7", 2));
+    }
+
+    @Test
+    void rejectsAmbiguousReads() {
+        PlateIndex index = new PlateIndex(null);
+        index.put(1L, "AB1234-7");
+        index.put(2L, "A81234-7");
+
+        assertEquals(1L, index.resolve("AB1234-7", 1));
+        assertNull(index.resolve("AE1234-7", 2));
+        assertEquals(2, index.findSimilar("AE1234-7", 2, 10).size());
+    }
+
+    @Test
+    void tracksUpdatesAndRemovals() {
+        PlateIndex index = new PlateIndex(null);
+        index.put(1L, "AB1234-7");
+        index.put(1L, "CE9876-5");
+
+        assertFalse(index.containsPlate("AB1234-7"));
+        assertTrue(index.containsPlate("CE9876-5"));
+        assertTrue(index.findSimilar("AB1234-7", 2, 10).isEmpty());
+
+        index.remove(1L);
+
+        assertEquals(0, index.size());
+        assertTrue(index.findSimilar("CE9876-5", 4, 10).isEmpty());
+    }
+
+    @Test
+    void matchesBruteForceSearch() {
+        Random random = new Random(11);
+        PlateIndex index = new PlateIndex(null);
+        Map<Long, String> plates = new HashMap<>();
+
+        for (long id = 1; id <= 3_000; id++) {
+            String plate = randomPlate(random);
+            index.put(id, plate);
+            plates.put(id, plate);
+        }
+        for (long id = 1; id <= 3_000; id += 3) {
+            index.remove(id);
+            plates.remove(id);
+        }
+
+        for (int i = 0; i < 300; i++) {
+            String query = randomPlate(random);
+            int maxDistance = random.nextInt(5);
+
+            List<Long> expected = new ArrayList<>();
+            plates.forEach((id, plate) -> {
+                if (PlateIndex.distance(PlateIndex.normalize(query), PlateIndex.normalize(plate)) <= maxDistance) {
+                    expected.add(id);
+                }
+            });
+
+            List<Long> actual = index.findSimilar(query, maxDistance, Integer.MAX_VALUE).stream()
+                    .map(PlateMatchDto::getVehicleId)
+                    .sorted()
+                    .toList();
+
+            assertEquals(expected.stream().sorted().toList(), actual);
+        }
+    }
+
+    private static String randomPlate(Random random) {
+        StringBuilder plate = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            plate.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return plate.append('-').append(random.nextInt(8)).toString();
+    }
+}
@@ -0,0 +1,104 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.TariffStatus;
+import com.tms.ParkingManagementSystem.model.Tariff;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "outbox.relay.interval-ms=3600000",
+        "deadline.tick-ms=3600000"
+})
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long tariffId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Tariff tariff = new Tariff(now);
+            tariff.setName("Cache " + UUID.randomUUID().toString().substring(0, 8));
+            tariff.setHourPrice(new BigDecimal("2.00"));
+            tariff.setBillingStepMinutes(60);
+            tariff.setFreeMinutes(0);
+            tariff.setStatus(TariffStatus.ACTIVE);
+            tariff.setChanged(now);
+            entityManager.persist(tariff);
+            tariffId = tariff.getId();
+        });
+        referenceDataCache.evictTariff(tariffId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createNativeQuery("delete from tariffs where id = :tariffId")
+                .setParameter("tariffId", tariffId)
+                .executeUpdate());
+        referenceDataCache.evictTariff(tariffId);
+    }
+
+    @Test
+    void metersAreRegisteredWithoutHibernateStatistics() {
+        for (String region : new String[]{ReferenceDataCache.TARIFF_REGION, ReferenceDataCache.PARKING_LOT_REGION}) {
+            assertNotNull(meterRegistry.find("cache.gets").tags("cache", region, "result", "hit").functionCounter());
+            assertNotNull(meterRegistry.find("cache.gets").tags("cache", region, "result", "miss").functionCounter());
+            assertNotNull(meterRegistry.find("cache.puts").tags("cache", region).functionCounter());
+            assertNotNull(meterRegistry.find("cache.hit.ratio").tags("cache", region).gauge());
+        }
+    }
+
+    @Test
+    void countsTariffLookups() {
+        double hits = count("hit");
+        double misses = count("miss");
+
+        loadTariff();
+        assertTrue(count("miss") > misses);
+        assertEquals(hits, count("hit"));
+
+        loadTariff();
+        assertEquals(hits + 1, count("hit"));
+    }
+
+    private void loadTariff() {
+        transactionTemplate.executeWithoutResult(status -> assertNotNull(entityManager.find(Tariff.class, tariffId)));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", ReferenceDataCache.TARIFF_REGION, "result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,167 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.TariffStatus;
+import com.tms.ParkingManagementSystem.exception.ReservationConflictException;
+import com.tms.ParkingManagementSystem.model.ParkingLot;
+import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.model.User;
+import com.tms.ParkingManagementSystem.model.Vehicle;
+import com.tms.ParkingManagementSystem.model.dto.ReservationCreateDto;
+import com.tms.ParkingManagementSystem.model.dto.ReservationResponseDto;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class ReservationServiceTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private LotRollupService lotRollupService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private Long tariffId;
+    private Long parkingLotId;
+    private Long spotId;
+    private Long userId;
+    private Long vehicleId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+            Tariff tariff = new Tariff(now);
+            tariff.setName("Reservation " + suffix);
+            tariff.setHourPrice(new BigDecimal("2.00"));
+            tariff.setBillingStepMinutes(60);
+            tariff.setFreeMinutes(0);
+            tariff.setStatus(TariffStatus.ACTIVE);
+            tariff.setChanged(now);
+            entityManager.persist(tariff);
+
+            ParkingLot parkingLot = new ParkingLot("Reservation street " + suffix, now);
+            parkingLot.setName("Reservation " + suffix);
+            parkingLot.setTariff(tariff);
+            parkingLot.setChanged(now);
+            entityManager.persist(parkingLot);
+
+            Spot spot = new Spot(1, parkingLot, 1, now);
+            spot.setChanged(now);
+            entityManager.persist(spot);
+
+            User user = new User(now);
+            user.setFirstName("Reservation");
+            user.setSecondName("Test");
+            user.setEmail("reservation-" + suffix + "@example.com");
+            user.setDisabledPermit(false);
+            user.setChanged(now);
+            entityManager.persist(user);
+
+            Vehicle vehicle = new Vehicle(now);
+            vehicle.setPlateNumber("RS" + suffix.substring(0, 6));
+            vehicle.setUser(user);
+            vehicle.setChanged(now);
+            entityManager.persist(vehicle);
+
+            tariffId = tariff.getId();
+            parkingLotId = parkingLot.getId();
+            spotId = spot.getId();
+            userId = user.getId();
+            vehicleId = vehicle.getId();
+        });
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        lotRollupService.flush();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("delete from reservations where vehicle_id = :vehicleId")
+                    .setParameter("vehicleId", vehicleId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from lot_hourly_rollups where parking_lot_id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from spots where id = :spotId")
+                    .setParameter("spotId", spotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from vehicles where id = :vehicleId")
+                    .setParameter("vehicleId", vehicleId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from users where id = :userId")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from parking_lots where id = :parkingLotId")
+                    .setParameter("parkingLotId", parkingLotId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("delete from tariffs where id = :tariffId")
+                    .setParameter("tariffId", tariffId)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    void overlappingReservationIsRejectedByExclusionConstraint() {
+        ReservationResponseDto first = reservationService.createReservation(create(start, start.plusHours(2)));
+        assertNotNull(first.getId());
+
+        ReservationConflictException ex = assertThrows(ReservationConflictException.class, () ->
+                reservationService.createReservation(create(start.plusHours(1), start.plusHours(3))));
+        assertTrue(ex.getMessage().contains("already has an active reservation"));
+
+        ReservationResponseDto adjacent = reservationService.createReservation(create(start.plusHours(2), start.plusHours(4)));
+        assertNotNull(adjacent.getId());
+        assertEquals(2, countActiveSlots());
+    }
+
+    private ReservationCreateDto create(LocalDateTime from, LocalDateTime to) {
+        ReservationCreateDto dto = new ReservationCreateDto();
+        dto.setVehicleId(vehicleId);
+        dto.setSpotId(spotId);
+        dto.setStartTime(from);
+        dto.setEndTime(to);
+        return dto;
+    }
+
+    private long countActiveSlots() {
+        return ((Number) entityManager
+                .createNativeQuery("select count(*) from public.active_reservation_slots where spot_id = :spotId")
+                .setParameter("spotId", spotId)
+                .getSingleResult()).longValue();
+    }
+}
@@ -0,0 +1,94 @@
+package com.tms.ParkingManagementSystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightCacheTest {
+
+    @Test
+    void servesCachedValueUntilTtlExpires() {
+        AtomicLong clock = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        SingleFlightCache<Integer> cache = new SingleFlightCache<>(loads::incrementAndGet, Duration.ofSeconds(2), clock::get);
+
+        assertEquals(1, cache.get());
+        clock.addAndGet(Duration.ofMillis(1_999).toNanos());
+        assertEquals(1, cache.get());
+
+        clock.addAndGet(Duration.ofMillis(1).toNanos());
+        assertEquals(2, cache.get());
+
+        cache.invalidate();
+        assertEquals(3, cache.get());
+    }
+
+    @Test
+    void coalescesConcurrentLoads() throws Exception {
+        int viewers = 32;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        SingleFlightCache<Integer> cache = new SingleFlightCache<>(() -> {
+            loading.countDown();
+            await(release);
+            return loads.incrementAndGet();
+        }, Duration.ofSeconds(2));
+
+        ExecutorService executor = Executors.newFixedThreadPool(viewers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(executor.submit(cache::get));
+            loading.await(5, TimeUnit.SECONDS);
+            for (int i = 1; i < viewers; i++) {
+                results.add(executor.submit(cache::get));
+            }
+
+            Thread.sleep(50);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void doesNotCacheFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+        SingleFlightCache<Integer> cache = new SingleFlightCache<>(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return attempts.get();
+        }, Duration.ofSeconds(2));
+
+        assertThrows(IllegalStateException.class, cache::get);
+        assertEquals(2, cache.get());
+        assertEquals(2, cache.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
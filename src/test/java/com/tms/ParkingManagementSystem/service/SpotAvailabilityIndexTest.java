@@ -0,0 +1,67 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.SpotStatus;
+import com.tms.ParkingManagementSystem.enums.SpotType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpotAvailabilityIndexTest {
+
+    private SpotAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SpotAvailabilityIndex(null, null);
+        index.put(1L, 10L, SpotType.STANDARD, SpotStatus.AVAILABLE);
+        index.put(2L, 10L, SpotType.ELECTRIC, SpotStatus.AVAILABLE);
+        index.put(3L, 10L, SpotType.STANDARD, SpotStatus.OUT_OF_SERVICE);
+        index.put(4L, 20L, SpotType.STANDARD, SpotStatus.AVAILABLE);
+    }
+
+    @Test
+    void findsAvailableSpotsByLotAndType() {
+        assertEquals(List.of(1L, 2L), index.findAvailableSpotIds(10L, null));
+        assertEquals(List.of(2L), index.findAvailableSpotIds(10L, SpotType.ELECTRIC));
+        assertEquals(List.of(4L), index.findAvailableSpotIds(20L, SpotType.STANDARD));
+        assertEquals(List.of(), index.findAvailableSpotIds(30L, null));
+    }
+
+    @Test
+    void tracksSessionsAndStatusChanges() {
+        index.occupy(1L);
+        index.updateStatus(3L, SpotStatus.AVAILABLE);
+        assertEquals(List.of(2L, 3L), index.findAvailableSpotIds(10L, null));
+
+        index.release(1L);
+        index.updateType(2L, SpotType.STANDARD);
+        assertEquals(List.of(1L, 2L, 3L), index.findAvailableSpotIds(10L, SpotType.STANDARD));
+    }
+
+    @Test
+    void reusesSlotsOfRemovedSpots() {
+        index.remove(1L);
+        index.put(5L, 10L, SpotType.STANDARD, SpotStatus.AVAILABLE);
+        assertEquals(List.of(5L, 2L), index.findAvailableSpotIds(10L, null));
+
+        index.removeParkingLot(10L);
+        assertEquals(List.of(), index.findAvailableSpotIds(10L, null));
+    }
+
+    @Test
+    void claimsEachAvailableSpotOnlyOnce() {
+        assertTrue(index.tryClaim(1L));
+        assertFalse(index.tryClaim(1L));
+        assertFalse(index.tryClaim(3L));
+        assertFalse(index.tryClaim(99L));
+        assertEquals(List.of(2L), index.findAvailableSpotIds(10L, null));
+
+        index.setActiveSession(1L, false);
+        assertEquals(List.of(1L, 2L), index.findAvailableSpotIds(10L, null));
+    }
+}
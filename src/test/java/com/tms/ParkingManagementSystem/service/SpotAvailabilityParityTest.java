@@ -0,0 +1,112 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.enums.SessionStatus;
+import com.tms.ParkingManagementSystem.enums.SpotStatus;
+import com.tms.ParkingManagementSystem.enums.SpotType;
+import com.tms.ParkingManagementSystem.enums.TariffStatus;
+import com.tms.ParkingManagementSystem.model.ParkingLot;
+import com.tms.ParkingManagementSystem.model.Spot;
+import com.tms.ParkingManagementSystem.model.Tariff;
+import com.tms.ParkingManagementSystem.repository.ParkingLotRepository;
+import com.tms.ParkingManagementSystem.repository.SpotRepository;
+import com.tms.ParkingManagementSystem.repository.TariffRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class SpotAvailabilityParityTest {
+
+    private static final int SPOTS = 2_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TariffRepository tariffRepository;
+
+    @Autowired
+    private ParkingLotRepository parkingLotRepository;
+
+    @Autowired
+    private SpotRepository spotRepository;
+
+    @Autowired
+    private SpotAvailabilityIndex spotAvailabilityIndex;
+
+    @Test
+    void indexMatchesQueryForEveryTypeFilter() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        LocalDateTime now = LocalDateTime.now();
+
+        Tariff tariff = new Tariff(now);
+        tariff.setName("parity-" + suffix);
+        tariff.setHourPrice(new BigDecimal("2.50"));
+        tariff.setBillingStepMinutes(15);
+        tariff.setFreeMinutes(0);
+        tariff.setStatus(TariffStatus.ACTIVE);
+        tariff.setChanged(now);
+        tariff = tariffRepository.save(tariff);
+
+        ParkingLot lot = new ParkingLot("parity-" + suffix, now);
+        lot.setName("Parity Lot");
+        lot.setTariff(tariff);
+        lot.setChanged(now);
+        lot = parkingLotRepository.save(lot);
+
+        Long lotId = lot.getId();
+
+        try {
+            List<Object[]> rows = new ArrayList<>(SPOTS);
+            SpotType[] types = {SpotType.STANDARD, SpotType.STANDARD, SpotType.ELECTRIC, SpotType.DISABLED};
+            SpotStatus[] statuses = {SpotStatus.AVAILABLE, SpotStatus.AVAILABLE, SpotStatus.OCCUPIED, SpotStatus.OUT_OF_SERVICE};
+            for (int i = 1; i <= SPOTS; i++) {
+                rows.add(new Object[]{lotId, i, i % 5, types[i % types.length].name(), statuses[i % 7 % statuses.length].name()});
+            }
+            jdbcTemplate.batchUpdate(
+                    "insert into spots (parking_lot_id, number, level, type, status, created, changed) "
+                            + "values (?, ?, ?, ?, ?, now(), now())",
+                    rows
+            );
+
+            spotAvailabilityIndex.load();
+
+            List<SpotType> filters = new ArrayList<>(Arrays.asList(SpotType.values()));
+            filters.add(null);
+
+            for (SpotType type : filters) {
+                List<Long> fromQuery = spotRepository.findAvailableSpots(lotId, type, now, now, SessionStatus.ACTIVE)
+                        .stream()
+                        .map(Spot::getId)
+                        .sorted()
+                        .toList();
+                List<Long> fromIndex = spotAvailabilityIndex.findAvailableSpotIds(lotId, type)
+                        .stream()
+                        .sorted()
+                        .toList();
+
+                assertEquals(fromQuery, fromIndex, "type filter " + type);
+            }
+
+            assertFalse(spotAvailabilityIndex.findAvailableSpotIds(lotId, SpotType.ELECTRIC).isEmpty());
+        } finally {
+            jdbcTemplate.update("delete from spots where parking_lot_id = ?", lotId);
+            parkingLotRepository.deleteById(lotId);
+            tariffRepository.deleteById(tariff.getId());
+            spotAvailabilityIndex.removeParkingLot(lotId);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.tms.ParkingManagementSystem.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpotReservationIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 10, 0);
+
+    private SpotReservationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SpotReservationIndex(null);
+        index.put(1L, 100L, BASE, BASE.plusHours(1));
+        index.put(2L, 100L, BASE.plusHours(2), BASE.plusHours(3));
+        index.put(3L, 200L, BASE, BASE.plusHours(3));
+    }
+
+    @Test
+    void detectsOverlapsWithHalfOpenBounds() {
+        assertTrue(index.hasOverlap(100L, BASE.plusMinutes(30), BASE.plusMinutes(45)));
+        assertTrue(index.hasOverlap(100L, BASE.plusMinutes(90), BASE.plusMinutes(150)));
+        assertTrue(index.hasOverlap(100L, BASE.plusMinutes(30), BASE.plusMinutes(30)));
+
+        assertFalse(index.hasOverlap(100L, BASE.plusHours(1), BASE.plusHours(2)));
+        assertFalse(index.hasOverlap(100L, BASE.minusHours(1), BASE));
+        assertFalse(index.hasOverlap(100L, BASE, BASE));
+        assertFalse(index.hasOverlap(300L, BASE, BASE.plusHours(5)));
+    }
+
+    @Test
+    void skipsExcludedReservation() {
+        assertFalse(index.hasOverlap(100L, BASE.plusHours(2), BASE.plusHours(4), 2L));
+        assertTrue(index.hasOverlap(100L, BASE.plusMinutes(30), BASE.plusHours(4), 2L));
+    }
+
+    @Test
+    void tracksUpdatesAndRemovals() {
+        index.put(2L, 100L, BASE.plusHours(4), BASE.plusHours(5));
+        assertFalse(index.hasOverlap(100L, BASE.plusHours(2), BASE.plusHours(3)));
+        assertTrue(index.hasOverlap(100L, BASE.plusHours(4), BASE.plusHours(5)));
+
+        index.remove(1L);
+        index.removeAll(List.of(3L));
+        assertFalse(index.hasOverlap(100L, BASE, BASE.plusHours(1)));
+        assertFalse(index.hasOverlap(200L, BASE, BASE.plusHours(3)));
+    }
+
+    @Test
+    void keepsWindowsSharingStartTime() {
+        index.put(4L, 300L, BASE, BASE.plusMinutes(10));
+        index.put(5L, 300L, BASE, BASE.plusHours(2));
+
+        assertTrue(index.hasOverlap(300L, BASE.plusHours(1), BASE.plusMinutes(90)));
+        assertTrue(index.hasOverlap(300L, BASE.plusMinutes(5), BASE.plusMinutes(6), 5L));
+
+        index.remove(5L);
+        assertFalse(index.hasOverlap(300L, BASE.plusHours(1), BASE.plusMinutes(90)));
+        assertTrue(index.hasOverlap(300L, BASE.plusMinutes(5), BASE.plusMinutes(6)));
+    }
+}
@@ -0,0 +1,101 @@
+package com.tms.ParkingManagementSystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TariffCostEngineTest {
+
+    private final TariffCostEngine engine = new TariffCostEngine(null);
+
+    @Test
+    void matchesBigDecimalCostExactly() {
+        Random random = new Random(11);
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+        for (int i = 0; i < 200_000; i++) {
+            BigDecimal hourPrice = BigDecimal.valueOf(random.nextInt(100_000), 2);
+            int step = 1 + random.nextInt(120);
+            int free = random.nextInt(40) - 5;
+
+            LocalDateTime start = base.plusSeconds(random.nextInt(1_000_000)).withNano(random.nextInt(1_000_000_000));
+            LocalDateTime end = start.plusSeconds(random.nextInt(10 * 86_400) - 60).withNano(random.nextInt(1_000_000_000));
+
+            BigDecimal expected = originalCost(start, end, hourPrice, step, free);
+            BigDecimal actual = engine.calculateCost(engine.compile(hourPrice, step, free), start, end);
+
+            assertEquals(expected, actual, () -> hourPrice + " / " + step + " / " + free + " / " + start + " -> " + end);
+            assertEquals(expected, TariffCostEngine.referenceCost(start, end, hourPrice, step, free));
+        }
+    }
+
+    @Test
+    void roundsStepPriceBeforeMultiplyingBySteps() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 10, 0);
+        LocalDateTime end = start.plusMinutes(3);
+        BigDecimal hourPrice = new BigDecimal("0.50");
+
+        assertEquals(new BigDecimal("0.02"), originalCost(start, end, hourPrice, 1, 0));
+        assertEquals(new BigDecimal("0.02"), engine.calculateCost(engine.compile(hourPrice, 1, 0), start, end));
+        assertEquals(new BigDecimal("0.02"), TariffCostEngine.referenceCost(start, end, hourPrice, 1, 0));
+    }
+
+    @Test
+    void fallsBackForUnusualPrices() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 10, 0);
+        LocalDateTime end = start.plusMinutes(95);
+
+        for (String price : new String[]{"2.505", "-3.00", "99999999.99", "0", "0.01"}) {
+            BigDecimal hourPrice = new BigDecimal(price);
+            assertEquals(
+                    originalCost(start, end, hourPrice, 7, 3),
+                    engine.calculateCost(engine.compile(hourPrice, 7, 3), start, end)
+            );
+        }
+
+        assertEquals(
+                originalCost(start, end, null, 15, 0),
+                engine.calculateCost(engine.compile(null, 15, 0), start, end)
+        );
+    }
+
+    // frozen copy of the pre-engine ParkingSessionService.calculateCost; the flat path must match it bit for bit
+    private static BigDecimal originalCost(LocalDateTime start,
+                                           LocalDateTime end,
+                                           BigDecimal hourPrice,
+                                           Integer billingStepMinutes,
+                                           Integer freeMinutes) {
+
+        if (start == null || end == null || !end.isAfter(start)) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+        if (hourPrice == null || billingStepMinutes == null || billingStepMinutes <= 0) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        long totalMinutes = Duration.between(start, end).toMinutes();
+        int free = (freeMinutes == null) ? 0 : Math.max(0, freeMinutes);
+
+        long billableMinutes = totalMinutes - free;
+        if (billableMinutes <= 0) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        long step = billingStepMinutes;
+        long steps = (billableMinutes + step - 1) / step;
+
+        BigDecimal stepPrice = hourPrice
+                .multiply(BigDecimal.valueOf(step))
+                .divide(BigDecimal.valueOf(60), 10, RoundingMode.HALF_UP);
+
+        BigDecimal total = stepPrice.multiply(BigDecimal.valueOf(steps));
+
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+}
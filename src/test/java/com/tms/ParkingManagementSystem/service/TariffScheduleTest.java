@@ -0,0 +1,153 @@
+package com.tms.ParkingManagementSystem.service;
+
+import com.tms.ParkingManagementSystem.model.TariffBand;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TariffScheduleTest {
+
+    private final TariffCostEngine engine = new TariffCostEngine(null);
+
+    @Test
+    void pricesBandsAcrossBoundary() {
+        List<TariffBand> bands = List.of(band(DayOfWeek.MONDAY, 8 * 60, 18 * 60, "6.00"));
+        TariffCostEngine.CompiledTariff tariff = engine.compile(new BigDecimal("3.00"), 1, 0, bands, null, null);
+
+        LocalDateTime start = LocalDateTime.of(2026, 3, 2, 7, 0);
+        assertEquals(DayOfWeek.MONDAY, start.getDayOfWeek());
+
+        assertEquals(new BigDecimal("9.00"), engine.calculateCost(tariff, start, start.plusHours(2)));
+        assertEquals(new BigDecimal("3.00"), engine.calculateCost(tariff, start.plusDays(1), start.plusDays(1).plusHours(1)));
+    }
+
+    @Test
+    void matchesMinuteByMinuteWithDailyCap() {
+        Random random = new Random(7);
+        long[] minutePrices = new long[TariffSchedule.MINUTES_PER_WEEK];
+        for (int i = 0; i < minutePrices.length; i++) {
+            minutePrices[i] = random.nextInt(1_000_000);
+        }
+        long dailyCap = 400_000_000L;
+        TariffSchedule schedule = new TariffSchedule(minutePrices, dailyCap);
+
+        for (int i = 0; i < 2_000; i++) {
+            long from = 29_000_000L + random.nextInt(200_000);
+            long to = from + random.nextInt(30 * TariffSchedule.MINUTES_PER_DAY);
+
+            assertEquals(bruteForce(minutePrices, dailyCap, from, to), schedule.price(from, to));
+        }
+    }
+
+    @Test
+    void limitsBySessionCap() {
+        TariffCostEngine.CompiledTariff tariff = engine.compile(
+                new BigDecimal("2.00"), 15, 10, List.of(), new BigDecimal("20.00"), new BigDecimal("50.00"));
+        LocalDateTime start = LocalDateTime.of(2026, 3, 4, 9, 0);
+
+        assertEquals(new BigDecimal("0.00"), engine.calculateCost(tariff, start, start.plusMinutes(10)));
+        assertEquals(new BigDecimal("0.50"), engine.calculateCost(tariff, start, start.plusMinutes(11)));
+        assertEquals(new BigDecimal("20.00"), engine.calculateCost(tariff, start, start.plusHours(14)));
+        assertEquals(new BigDecimal("50.00"), engine.calculateCost(tariff, start, start.plusDays(5)));
+    }
+
+    @Test
+    void nonBindingBandsAndCapsRoundOnce() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 4, 9, 0);
+        TariffCostEngine.CompiledTariff capped = engine.compile(
+                new BigDecimal("0.50"), 15, 0, List.of(), new BigDecimal("1000.00"), null);
+        assertEquals(new BigDecimal("0.13"), engine.calculateCost(capped, start, start.plusMinutes(15)));
+
+        Random random = new Random(23);
+        for (int i = 0; i < 20_000; i++) {
+            BigDecimal hourPrice = BigDecimal.valueOf(random.nextInt(4_000), 2);
+            int step = 1 + random.nextInt(60);
+            int free = random.nextInt(30);
+
+            DayOfWeek day = DayOfWeek.of(1 + random.nextInt(7));
+            int bandStart = random.nextInt(TariffSchedule.MINUTES_PER_DAY);
+            int bandEnd = bandStart + 1 + random.nextInt(TariffSchedule.MINUTES_PER_DAY - bandStart);
+            List<TariffBand> bands = List.of(band(day, bandStart, bandEnd, hourPrice.toPlainString()));
+
+            TariffCostEngine.CompiledTariff tariff = engine.compile(
+                    hourPrice, step, free, bands, new BigDecimal("1000.00"), new BigDecimal("1000000.00"));
+
+            LocalDateTime from = start.plusMinutes(random.nextInt(20_000));
+            LocalDateTime to = from.plusMinutes(random.nextInt(10 * TariffSchedule.MINUTES_PER_DAY));
+
+            long billedMinutes = (Math.max(0, TariffCostEngine.minutesBetween(from, to) - free) + step - 1) / step * step;
+            BigDecimal roundedOnce = hourPrice.multiply(BigDecimal.valueOf(billedMinutes))
+                    .divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+
+            assertEquals(roundedOnce, engine.calculateCost(tariff, from, to),
+                    () -> hourPrice + " / " + step + " / " + free + " / " + from + " -> " + to);
+        }
+    }
+
+    @Test
+    void bandedCostRoundsOnceAtTheEnd() {
+        Random random = new Random(29);
+        for (int i = 0; i < 2_000; i++) {
+            BigDecimal hourPrice = BigDecimal.valueOf(random.nextInt(1_000), 2);
+            BigDecimal bandPrice = BigDecimal.valueOf(random.nextInt(1_000), 2);
+            int step = 1 + random.nextInt(30);
+
+            DayOfWeek day = DayOfWeek.of(1 + random.nextInt(7));
+            int bandStart = random.nextInt(TariffSchedule.MINUTES_PER_DAY);
+            int bandEnd = bandStart + 1 + random.nextInt(TariffSchedule.MINUTES_PER_DAY - bandStart);
+            TariffBand band = band(day, bandStart, bandEnd, bandPrice.toPlainString());
+
+            TariffCostEngine.CompiledTariff tariff = engine.compile(hourPrice, step, 0, List.of(band), null, null);
+
+            LocalDateTime from = LocalDateTime.of(2026, 3, 2, 0, 0).plusMinutes(random.nextInt(20_000));
+            LocalDateTime to = from.plusMinutes(random.nextInt(3 * TariffSchedule.MINUTES_PER_DAY));
+
+            long billedMinutes = (TariffCostEngine.minutesBetween(from, to) + step - 1) / step * step;
+            BigDecimal hourMinutes = BigDecimal.ZERO;
+            for (long minute = 0; minute < billedMinutes; minute++) {
+                LocalDateTime at = from.plusMinutes(minute);
+                int minuteOfDay = at.getHour() * 60 + at.getMinute();
+                boolean inBand = at.getDayOfWeek() == day && minuteOfDay >= bandStart && minuteOfDay < bandEnd;
+                hourMinutes = hourMinutes.add(inBand ? bandPrice : hourPrice);
+            }
+
+            assertEquals(hourMinutes.divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP),
+                    engine.calculateCost(tariff, from, to));
+        }
+    }
+
+    private static long bruteForce(long[] minutePrices, long dailyCap, long from, long to) {
+        long total = 0;
+        long day = Long.MIN_VALUE;
+        long daySum = 0;
+
+        for (long minute = from; minute < to; minute++) {
+            long aligned = minute + 3L * TariffSchedule.MINUTES_PER_DAY;
+            long minuteDay = Math.floorDiv(aligned, TariffSchedule.MINUTES_PER_DAY);
+            if (minuteDay != day) {
+                total += Math.min(dailyCap, daySum);
+                day = minuteDay;
+                daySum = 0;
+            }
+            daySum += minutePrices[(int) Math.floorMod(aligned, TariffSchedule.MINUTES_PER_WEEK)];
+        }
+
+        return total + Math.min(dailyCap, daySum);
+    }
+
+    private static TariffBand band(DayOfWeek day, int startMinute, int endMinute, String hourPrice) {
+        TariffBand band = new TariffBand(null);
+        band.setDayOfWeek(day);
+        band.setStartMinute(startMinute);
+        band.setEndMinute(endMinute);
+        band.setHourPrice(new BigDecimal(hourPrice));
+        return band;
+    }
+}